@@ -0,0 +1,45 @@
+package com.demo.dddspringbootmybatispuls.benchmark;
+
+import com.demo.dddspringbootmybatispuls.test.mapper.AddressDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.AddressEntity;
+import com.demo.dddspringbootmybatispuls.test.mapper.OrderDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.OrderEntity;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserEntity;
+import java.util.List;
+import org.mapstruct.IterableMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * MapStruct基准实现：与{@link MapperFixtures}中的规则语义一致
+ *
+ * @author zhangshaolong
+ */
+@Mapper
+public interface BenchmarkMapStructMapper {
+  BenchmarkMapStructMapper INSTANCE = Mappers.getMapper(BenchmarkMapStructMapper.class);
+
+  OrderDTO toOrderDTO(OrderEntity source);
+
+  List<OrderDTO> toOrderDTOs(List<OrderEntity> sources);
+
+  @Mapping(
+      target = "fullAddress",
+      expression = "java(source.getProvince() + \"-\" + source.getCity())")
+  AddressDTO toAddressDTO(AddressEntity source);
+
+  @Mapping(source = "userName", target = "name")
+  UserDTO toUserDTO(UserEntity source);
+
+  List<UserDTO> toUserDTOs(List<UserEntity> sources);
+
+  @Named("upperName")
+  @Mapping(target = "name", expression = "java(source.getUserName().toUpperCase())")
+  UserDTO toUpperNameUserDTO(UserEntity source);
+
+  @IterableMapping(qualifiedByName = "upperName")
+  List<UserDTO> toUpperNameUserDTOs(List<UserEntity> sources);
+}
@@ -0,0 +1,70 @@
+package com.demo.dddspringbootmybatispuls.benchmark;
+
+import com.demo.dddspringbootmybatispuls.test.mapper.AddressDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.AddressEntity;
+import com.demo.dddspringbootmybatispuls.test.mapper.OrderDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.OrderEntity;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserEntity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 手写基准实现：直接调用getter/setter，作为性能上限参照
+ *
+ * @author zhangshaolong
+ */
+public final class HandWrittenMappers {
+  private HandWrittenMappers() {}
+
+  public static OrderDTO toOrderDTO(OrderEntity source) {
+    if (source == null) {
+      return null;
+    }
+    OrderDTO target = new OrderDTO();
+    target.setOrderId(source.getOrderId());
+    target.setOrderName(source.getOrderName());
+    return target;
+  }
+
+  public static AddressDTO toAddressDTO(AddressEntity source) {
+    if (source == null) {
+      return null;
+    }
+    AddressDTO target = new AddressDTO();
+    target.setProvince(source.getProvince());
+    target.setCity(source.getCity());
+    target.setFullAddress(source.getProvince() + "-" + source.getCity());
+    return target;
+  }
+
+  public static UserDTO toUserDTO(UserEntity source) {
+    if (source == null) {
+      return null;
+    }
+    UserDTO target = new UserDTO();
+    target.setId(source.getId());
+    target.setName(source.getUserName());
+    target.setAddress(toAddressDTO(source.getAddress()));
+    target.setOrders(toList(source.getOrders(), HandWrittenMappers::toOrderDTO));
+    return target;
+  }
+
+  public static UserDTO toUpperNameUserDTO(UserEntity source) {
+    UserDTO target = toUserDTO(source);
+    target.setName(source.getUserName().toUpperCase());
+    return target;
+  }
+
+  public static <S, T> List<T> toList(List<S> sources, Function<S, T> mapper) {
+    if (sources == null) {
+      return null;
+    }
+    List<T> targets = new ArrayList<>(sources.size());
+    for (S source : sources) {
+      targets.add(mapper.apply(source));
+    }
+    return targets;
+  }
+}
@@ -0,0 +1,70 @@
+package com.demo.dddspringbootmybatispuls.benchmark;
+
+import com.demo.dddspringbootmybatispuls.common.mapper.MappingRule;
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import com.demo.dddspringbootmybatispuls.test.mapper.AddressDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.AddressEntity;
+import com.demo.dddspringbootmybatispuls.test.mapper.OrderEntity;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserEntity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * 基准测试数据与映射规则：各实现（StructMapper/MapStruct/手写）使用相同的源对象与映射语义
+ *
+ * @author zhangshaolong
+ */
+public final class MapperFixtures {
+  /** 字段重命名：userName → name */
+  public static final List<MappingRule<UserEntity, UserDTO>> RENAME_RULES =
+      List.of(MappingRule.of("userName", "name"));
+
+  /** 自定义转换器：name = userName转大写 */
+  public static final List<MappingRule<UserEntity, UserDTO>> CONVERTER_RULES =
+      List.of(MappingRule.custom("userName", "name", value -> ((String) value).toUpperCase()));
+
+  /** 嵌套用户的订单数 */
+  private static final int ORDERS_PER_USER = 3;
+
+  private MapperFixtures() {}
+
+  /** 注册嵌套对象的默认规则（fullAddress = 省-市），需在首次映射前调用 */
+  public static void registerDefaults() {
+    StructMapper.register(
+        AddressEntity.class,
+        AddressDTO.class,
+        List.of(
+            MappingRule.custom(
+                "province",
+                "fullAddress",
+                (value, address) -> address.getProvince() + "-" + address.getCity())));
+  }
+
+  public static OrderEntity order(int i) {
+    return new OrderEntity((long) i, "订单-" + i);
+  }
+
+  /** 无嵌套字段的用户（重命名/转换器场景） */
+  public static UserEntity flatUser(int i) {
+    return new UserEntity((long) i, "user-" + i, null, null);
+  }
+
+  /** 含嵌套地址与订单集合的用户 */
+  public static UserEntity nestedUser(int i) {
+    List<OrderEntity> orders = new ArrayList<>(ORDERS_PER_USER);
+    for (int j = 0; j < ORDERS_PER_USER; j++) {
+      orders.add(order(i * ORDERS_PER_USER + j));
+    }
+    return new UserEntity((long) i, "user-" + i, new AddressEntity("广东省", "深圳市"), orders);
+  }
+
+  public static <T> List<T> listOf(int size, IntFunction<T> factory) {
+    List<T> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(factory.apply(i));
+    }
+    return list;
+  }
+}
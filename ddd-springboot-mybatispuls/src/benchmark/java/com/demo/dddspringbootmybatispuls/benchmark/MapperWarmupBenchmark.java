@@ -0,0 +1,54 @@
+package com.demo.dddspringbootmybatispuls.benchmark;
+
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserEntity;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 预热成本：每个fork（全新JVM）只测首次映射的耗时
+ *
+ * <p>StructMapper包含计划编译与隐藏类生成，MapStruct/手写仅包含类加载与解释执行
+ *
+ * @author zhangshaolong
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class MapperWarmupBenchmark {
+  private UserEntity nestedUser;
+
+  @Setup
+  public void setup() {
+    MapperFixtures.registerDefaults();
+    nestedUser = MapperFixtures.nestedUser(1);
+  }
+
+  @Benchmark
+  public UserDTO nestedStructMapper() {
+    return StructMapper.to(nestedUser, UserDTO.class, MapperFixtures.RENAME_RULES);
+  }
+
+  @Benchmark
+  public UserDTO nestedMapStruct() {
+    return BenchmarkMapStructMapper.INSTANCE.toUserDTO(nestedUser);
+  }
+
+  @Benchmark
+  public UserDTO nestedHandWritten() {
+    return HandWrittenMappers.toUserDTO(nestedUser);
+  }
+}
@@ -0,0 +1,118 @@
+package com.demo.dddspringbootmybatispuls.benchmark;
+
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import com.demo.dddspringbootmybatispuls.test.mapper.OrderDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.OrderEntity;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserEntity;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 单对象映射吞吐量：StructMapper.to vs MapStruct vs 手写
+ *
+ * <p>场景：plain（同名字段）、renamed（字段重命名）、converter（自定义转换器）、nested（嵌套对象+集合）
+ *
+ * <p>运行：mvn -Pbenchmark compile exec:exec（默认附带-prof
+ * gc输出分配速率），指定场景：-Djmh.args="StructMapperBenchmark.nested -prof gc"
+ *
+ * @author zhangshaolong
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class StructMapperBenchmark {
+  private static final BenchmarkMapStructMapper MAP_STRUCT = BenchmarkMapStructMapper.INSTANCE;
+
+  private OrderEntity order;
+  private UserEntity flatUser;
+  private UserEntity nestedUser;
+
+  @Setup
+  public void setup() {
+    MapperFixtures.registerDefaults();
+    order = MapperFixtures.order(1);
+    flatUser = MapperFixtures.flatUser(1);
+    nestedUser = MapperFixtures.nestedUser(1);
+  }
+
+  // ========== plain ==========
+
+  @Benchmark
+  public OrderDTO plainStructMapper() {
+    return StructMapper.to(order, OrderDTO.class);
+  }
+
+  @Benchmark
+  public OrderDTO plainMapStruct() {
+    return MAP_STRUCT.toOrderDTO(order);
+  }
+
+  @Benchmark
+  public OrderDTO plainHandWritten() {
+    return HandWrittenMappers.toOrderDTO(order);
+  }
+
+  // ========== renamed ==========
+
+  @Benchmark
+  public UserDTO renamedStructMapper() {
+    return StructMapper.to(flatUser, UserDTO.class, MapperFixtures.RENAME_RULES);
+  }
+
+  @Benchmark
+  public UserDTO renamedMapStruct() {
+    return MAP_STRUCT.toUserDTO(flatUser);
+  }
+
+  @Benchmark
+  public UserDTO renamedHandWritten() {
+    return HandWrittenMappers.toUserDTO(flatUser);
+  }
+
+  // ========== converter ==========
+
+  @Benchmark
+  public UserDTO converterStructMapper() {
+    return StructMapper.to(flatUser, UserDTO.class, MapperFixtures.CONVERTER_RULES);
+  }
+
+  @Benchmark
+  public UserDTO converterMapStruct() {
+    return MAP_STRUCT.toUpperNameUserDTO(flatUser);
+  }
+
+  @Benchmark
+  public UserDTO converterHandWritten() {
+    return HandWrittenMappers.toUpperNameUserDTO(flatUser);
+  }
+
+  // ========== nested ==========
+
+  @Benchmark
+  public UserDTO nestedStructMapper() {
+    return StructMapper.to(nestedUser, UserDTO.class, MapperFixtures.RENAME_RULES);
+  }
+
+  @Benchmark
+  public UserDTO nestedMapStruct() {
+    return MAP_STRUCT.toUserDTO(nestedUser);
+  }
+
+  @Benchmark
+  public UserDTO nestedHandWritten() {
+    return HandWrittenMappers.toUserDTO(nestedUser);
+  }
+}
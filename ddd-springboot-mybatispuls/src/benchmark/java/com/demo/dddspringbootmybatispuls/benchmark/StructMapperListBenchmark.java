@@ -0,0 +1,119 @@
+package com.demo.dddspringbootmybatispuls.benchmark;
+
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import com.demo.dddspringbootmybatispuls.test.mapper.OrderDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.OrderEntity;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserDTO;
+import com.demo.dddspringbootmybatispuls.test.mapper.UserEntity;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 批量映射吞吐量：StructMapper.toList vs MapStruct vs 手写，场景同{@link StructMapperBenchmark}
+ *
+ * @author zhangshaolong
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class StructMapperListBenchmark {
+  private static final BenchmarkMapStructMapper MAP_STRUCT = BenchmarkMapStructMapper.INSTANCE;
+
+  /** 列表大小 */
+  @Param({"100", "10000"})
+  private int size;
+
+  private List<OrderEntity> orders;
+  private List<UserEntity> flatUsers;
+  private List<UserEntity> nestedUsers;
+
+  @Setup
+  public void setup() {
+    MapperFixtures.registerDefaults();
+    orders = MapperFixtures.listOf(size, MapperFixtures::order);
+    flatUsers = MapperFixtures.listOf(size, MapperFixtures::flatUser);
+    nestedUsers = MapperFixtures.listOf(size, MapperFixtures::nestedUser);
+  }
+
+  // ========== plain ==========
+
+  @Benchmark
+  public List<OrderDTO> plainStructMapper() {
+    return StructMapper.toList(orders, OrderDTO.class);
+  }
+
+  @Benchmark
+  public List<OrderDTO> plainMapStruct() {
+    return MAP_STRUCT.toOrderDTOs(orders);
+  }
+
+  @Benchmark
+  public List<OrderDTO> plainHandWritten() {
+    return HandWrittenMappers.toList(orders, HandWrittenMappers::toOrderDTO);
+  }
+
+  // ========== renamed ==========
+
+  @Benchmark
+  public List<UserDTO> renamedStructMapper() {
+    return StructMapper.toList(flatUsers, UserDTO.class, MapperFixtures.RENAME_RULES);
+  }
+
+  @Benchmark
+  public List<UserDTO> renamedMapStruct() {
+    return MAP_STRUCT.toUserDTOs(flatUsers);
+  }
+
+  @Benchmark
+  public List<UserDTO> renamedHandWritten() {
+    return HandWrittenMappers.toList(flatUsers, HandWrittenMappers::toUserDTO);
+  }
+
+  // ========== converter ==========
+
+  @Benchmark
+  public List<UserDTO> converterStructMapper() {
+    return StructMapper.toList(flatUsers, UserDTO.class, MapperFixtures.CONVERTER_RULES);
+  }
+
+  @Benchmark
+  public List<UserDTO> converterMapStruct() {
+    return MAP_STRUCT.toUpperNameUserDTOs(flatUsers);
+  }
+
+  @Benchmark
+  public List<UserDTO> converterHandWritten() {
+    return HandWrittenMappers.toList(flatUsers, HandWrittenMappers::toUpperNameUserDTO);
+  }
+
+  // ========== nested ==========
+
+  @Benchmark
+  public List<UserDTO> nestedStructMapper() {
+    return StructMapper.toList(nestedUsers, UserDTO.class, MapperFixtures.RENAME_RULES);
+  }
+
+  @Benchmark
+  public List<UserDTO> nestedMapStruct() {
+    return MAP_STRUCT.toUserDTOs(nestedUsers);
+  }
+
+  @Benchmark
+  public List<UserDTO> nestedHandWritten() {
+    return HandWrittenMappers.toList(nestedUsers, HandWrittenMappers::toUserDTO);
+  }
+}
@@ -4,6 +4,7 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.Data;
 
 @Data
@@ -16,12 +17,34 @@ public class AggregateChanges implements Serializable {
   /** 聚合根最新版本号 */
   private Long aggregateVersion;
 
+  /** 聚合根DO类型（需按版本号条件更新根表时非空） */
+  private Class<?> rootDoClass;
+
+  /** 聚合根主键 */
+  private Long rootId;
+
+  /** 聚合根加载时的版本号（根表更新条件：WHERE id=? AND version=?） */
+  private Long expectedVersion;
+
+  /** 是否需要按版本号条件更新聚合根 */
+  public boolean isVersionChecked() {
+    return rootDoClass != null;
+  }
+
   /** 单表的增删改列表 */
   @Data
   public static class TableChanges<DO> implements Serializable {
     @Serial private static final long serialVersionUID = 1L;
     private List<DO> insertList;
+
+    /** 与insertList按下标一一对应：新增的领域实体（插入后回填主键） */
+    private transient List<BaseDomainEntity> insertEntityList;
+
     private List<DO> updateList;
+
+    /** 与updateList按下标一一对应：各行变更的字段名（DO属性名），为null时按整行更新 */
+    private List<Set<String>> updateFieldsList;
+
     private List<DO> deleteList;
   }
 }
@@ -0,0 +1,202 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 聚合命令执行器：加载→快照→修改→对比→单事务持久化，乐观锁冲突时自动重试
+ *
+ * <p>每次尝试均在独立的{@link UnitOfWork}中执行，冲突后按指数退避+随机抖动（full jitter）等待再重新加载
+ *
+ * <p>已加载的聚合按类型+主键缓存其拷贝，版本号未变化时直接复用，仅需一次版本号查询即可跳过整聚合加载
+ *
+ * <p>缓存按聚合内实体数计权，实体总数超出上限时按W-TinyLFU淘汰；缓存有效的前提：聚合内任一实体的修改均经由聚合持久化（版本号随之自增）
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class AggregateCommandExecutor {
+  @Autowired private UnitOfWorkManager unitOfWorkManager;
+  @Autowired private List<AggregateRepository<?>> aggregateRepositories;
+
+  /** 最大尝试次数（含首次） */
+  @Value("${aggregate.command.max-attempts:3}")
+  private int maxAttempts;
+
+  /** 退避基准时间（毫秒），第n次重试的等待上限为base*2^(n-1) */
+  @Value("${aggregate.command.backoff-base-ms:10}")
+  private long backoffBaseMillis;
+
+  /** 退避最大等待时间（毫秒） */
+  @Value("${aggregate.command.backoff-max-ms:200}")
+  private long backoffMaxMillis;
+
+  /** 已加载聚合缓存的实体总数上限（按聚合内实体数计权，0表示不缓存） */
+  @Value("${aggregate.command.cache-max-entities:100000}")
+  private long cacheMaxEntities;
+
+  /** 聚合根类型→仓储 */
+  private Map<Class<?>, AggregateRepository<?>> repositoryMap;
+
+  /** 已加载聚合的拷贝（只读，取用时再拷贝一份；关闭时为null） */
+  private Cache<CacheKey, AggregateRoot> loadedCache;
+
+  @PostConstruct
+  public void init() {
+    Map<Class<?>, AggregateRepository<?>> repositories = new HashMap<>();
+    for (AggregateRepository<?> repository : aggregateRepositories) {
+      if (repositories.put(repository.aggregateType(), repository) != null) {
+        throw new IllegalStateException("聚合[" + repository.aggregateType() + "]存在多个仓储");
+      }
+    }
+    this.repositoryMap = Map.copyOf(repositories);
+    this.loadedCache =
+        cacheMaxEntities <= 0
+            ? null
+            : Caffeine.newBuilder()
+                .maximumWeight(cacheMaxEntities)
+                .<CacheKey, AggregateRoot>weigher(
+                    (key, aggregate) -> AggregateCopier.countEntities(aggregate))
+                .build();
+  }
+
+  /**
+   * 执行聚合命令
+   *
+   * @param aggregateType 聚合根类型
+   * @param id 聚合根主键
+   * @param command 命令逻辑（仅修改聚合，不做持久化）
+   * @return 持久化后的聚合根
+   * @throws AggregateNotFoundException 聚合根不存在
+   */
+  public <A extends AggregateRoot> A execute(Class<A> aggregateType, Long id, Consumer<A> command) {
+    AggregateRepository<A> repository = getRepository(aggregateType);
+    CacheKey cacheKey = new CacheKey(aggregateType, id);
+    // 已处于外层事务中时，冲突会将外层事务标记为回滚，重试无意义
+    int attempts =
+        TransactionSynchronizationManager.isActualTransactionActive()
+            ? 1
+            : Math.max(1, maxAttempts);
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return executeOnce(repository, cacheKey, id, command);
+      } catch (OptimisticLockConflictException e) {
+        evict(cacheKey);
+        if (attempt >= attempts) {
+          throw e;
+        }
+        backoff(attempt, e);
+      }
+    }
+  }
+
+  private <A extends AggregateRoot> A executeOnce(
+      AggregateRepository<A> repository, CacheKey cacheKey, Long id, Consumer<A> command) {
+    A aggregate = loadAggregate(repository, cacheKey, id);
+    unitOfWorkManager.execute(
+        unitOfWork -> {
+          unitOfWork.track(aggregate, repository.entityDoMapping());
+          command.accept(aggregate);
+        });
+    // 已持久化：新增实体已回填主键、版本号已自增；提交后与库中状态一致，可供下次命令直接复用
+    cacheAfterCommit(cacheKey, aggregate);
+    return aggregate;
+  }
+
+  /** 处于外层事务中时，提交后才写入缓存（回滚时不缓存，避免复用未落库的状态）；否则立即写入 */
+  private void cacheAfterCommit(CacheKey cacheKey, AggregateRoot aggregate) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      cache(cacheKey, aggregate);
+      return;
+    }
+    // 外层事务内可能继续修改聚合：立即拷贝当前状态，提交后再放入缓存
+    evict(cacheKey);
+    if (loadedCache == null || aggregate.getVersion() == null) {
+      return;
+    }
+    AggregateRoot copy = AggregateCopier.deepCopy(aggregate);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            cache(cacheKey, copy);
+          }
+        });
+  }
+
+  /** 版本号未变化时复用缓存的聚合拷贝，否则完整加载 */
+  @SuppressWarnings("unchecked")
+  private <A extends AggregateRoot> A loadAggregate(
+      AggregateRepository<A> repository, CacheKey cacheKey, Long id) {
+    AggregateRoot cached = loadedCache == null ? null : loadedCache.getIfPresent(cacheKey);
+    if (cached != null) {
+      Long currentVersion = repository.currentVersion(id);
+      if (currentVersion != null && currentVersion.equals(cached.getVersion())) {
+        return (A) AggregateCopier.deepCopy(cached);
+      }
+    }
+
+    // 未命中时不写入缓存：命令执行并提交后再缓存（见executeOnce）
+    A aggregate = repository.load(id);
+    if (aggregate == null) {
+      evict(cacheKey);
+      throw new AggregateNotFoundException(repository.aggregateType(), id);
+    }
+    return aggregate;
+  }
+
+  private void cache(CacheKey cacheKey, AggregateRoot aggregate) {
+    if (loadedCache == null || aggregate.getVersion() == null) {
+      return;
+    }
+    loadedCache.put(cacheKey, AggregateCopier.deepCopy(aggregate));
+  }
+
+  private void evict(CacheKey cacheKey) {
+    if (loadedCache != null) {
+      loadedCache.invalidate(cacheKey);
+    }
+  }
+
+  /** 指数退避 + full jitter：等待[0, min(max, base*2^(attempt-1))]毫秒 */
+  private void backoff(int attempt, OptimisticLockConflictException conflict) {
+    long ceiling = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(attempt - 1, 20));
+    if (ceiling <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw conflict;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <A extends AggregateRoot> AggregateRepository<A> getRepository(Class<A> aggregateType) {
+    AggregateRepository<?> repository = repositoryMap.get(aggregateType);
+    if (repository == null) {
+      throw new IllegalStateException("未找到聚合[" + aggregateType + "]对应的仓储");
+    }
+    return (AggregateRepository<A>) repository;
+  }
+
+  private record CacheKey(Class<?> aggregateType, Long id) {
+    CacheKey {
+      Objects.requireNonNull(id, "聚合根主键不能为空");
+    }
+  }
+}
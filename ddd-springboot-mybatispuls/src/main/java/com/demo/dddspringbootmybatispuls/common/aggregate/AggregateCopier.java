@@ -0,0 +1,80 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 聚合深拷贝：基于{@link EntityMetadata}递归拷贝聚合根及全部子实体（实体自身字段为浅拷贝）
+ *
+ * @author zhangshaolong
+ */
+public final class AggregateCopier {
+
+  // 私有构造器：禁止实例化
+  private AggregateCopier() {}
+
+  /**
+   * 深拷贝聚合（拷贝后与原聚合不共享任何实体实例）
+   *
+   * @param entity 聚合根或实体
+   * @return 拷贝
+   */
+  @SuppressWarnings("unchecked")
+  public static <T extends BaseDomainEntity> T deepCopy(T entity) {
+    if (entity == null) {
+      return null;
+    }
+    T copy = (T) entity.clone();
+    EntityMetadata metadata = EntityMetadataRegistry.get(entity.getClass());
+    for (EntityMetadata.ChildAccessor child : metadata.getChildren()) {
+      Object fieldValue = child.accessor().get(entity);
+      if (fieldValue == null) {
+        continue;
+      }
+      if (child.collection()) {
+        child.accessor().set(copy, copyCollection((Collection<?>) fieldValue));
+      } else {
+        child.accessor().set(copy, deepCopy((BaseDomainEntity) fieldValue));
+      }
+    }
+    return copy;
+  }
+
+  /**
+   * 统计聚合内实体数（含聚合根）
+   *
+   * @param entity 聚合根或实体
+   * @return 实体数
+   */
+  public static int countEntities(BaseDomainEntity entity) {
+    if (entity == null) {
+      return 0;
+    }
+    int count = 1;
+    EntityMetadata metadata = EntityMetadataRegistry.get(entity.getClass());
+    for (EntityMetadata.ChildAccessor child : metadata.getChildren()) {
+      Object fieldValue = child.accessor().get(entity);
+      if (fieldValue instanceof Collection<?> collection) {
+        for (Object item : collection) {
+          count += item instanceof BaseDomainEntity childEntity ? countEntities(childEntity) : 0;
+        }
+      } else if (fieldValue instanceof BaseDomainEntity childEntity) {
+        count += countEntities(childEntity);
+      }
+    }
+    return count;
+  }
+
+  private static Collection<Object> copyCollection(Collection<?> source) {
+    Collection<Object> target =
+        source instanceof Set<?>
+            ? new LinkedHashSet<>(source.size() * 2)
+            : new ArrayList<>(source.size());
+    for (Object item : source) {
+      target.add(item instanceof BaseDomainEntity entity ? deepCopy(entity) : item);
+    }
+    return target;
+  }
+}
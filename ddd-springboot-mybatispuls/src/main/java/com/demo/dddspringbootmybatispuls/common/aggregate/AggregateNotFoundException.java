@@ -0,0 +1,26 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.io.Serial;
+import lombok.Getter;
+
+/**
+ * 聚合不存在：按主键加载聚合根时未找到对应的行
+ *
+ * @author zhangshaolong
+ */
+@Getter
+public class AggregateNotFoundException extends RuntimeException {
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 聚合根类型 */
+  private final Class<?> aggregateType;
+
+  /** 聚合根主键 */
+  private final Object id;
+
+  public AggregateNotFoundException(Class<?> aggregateType, Object id) {
+    super("聚合[" + aggregateType.getSimpleName() + "]不存在：" + id);
+    this.aggregateType = aggregateType;
+    this.id = id;
+  }
+}
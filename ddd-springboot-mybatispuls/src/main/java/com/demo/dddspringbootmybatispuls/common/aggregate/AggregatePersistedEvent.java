@@ -0,0 +1,14 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 聚合持久化事件：{@link AggregatePersistenceManager#persist}写入行后在事务内发布
+ *
+ * <p>监听方使用{@code @TransactionalEventListener}在事务提交后处理（如失效读缓存），回滚时不处理
+ *
+ * @param writtenIds 各DO类型本次新增/更新/删除的行主键
+ * @author zhangshaolong
+ */
+public record AggregatePersistedEvent(Map<Class<?>, Set<Object>> writtenIds) {}
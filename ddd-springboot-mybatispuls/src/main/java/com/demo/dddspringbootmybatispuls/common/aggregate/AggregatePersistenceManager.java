@@ -0,0 +1,292 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Data
+@Component
+public class AggregatePersistenceManager {
+  @Autowired private DoMapperRegistry doMapperRegistry;
+  @Autowired private DoCommonFieldHandler commonFieldHandler;
+  @Autowired private BatchSqlExecutor batchSqlExecutor;
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
+  /** 调试模式：只输出将执行的SQL（info级别日志），不访问数据库 */
+  private boolean debug = false;
+
+  @SuppressWarnings({"unchecked"})
+  public void persist(AggregateChanges changes) {
+    Map<Class<?>, AggregateChanges.TableChanges<?>> tableMap = changes.getTableChangesMap();
+    if (tableMap == null || tableMap.isEmpty()) {
+      return;
+    }
+
+    // 聚合根先按版本号条件更新：版本过期时立即失败，成功后持有根行锁，串行化同一聚合的并发写
+    Object rootDo = updateAggregateRoot(changes);
+
+    for (Map.Entry<Class<?>, AggregateChanges.TableChanges<?>> entry : tableMap.entrySet()) {
+      // 启动期构建的注册表，直接按DO类型取用
+      DoMapperOperations<Object> operations = doMapperRegistry.get((Class<Object>) entry.getKey());
+
+      AggregateChanges.TableChanges<Object> typedTable =
+          (AggregateChanges.TableChanges<Object>) entry.getValue();
+
+      if (typedTable.getInsertList() != null && !typedTable.getInsertList().isEmpty()) {
+        List<Object> insertList = typedTable.getInsertList();
+        insertList.forEach(
+            doObj -> commonFieldHandler.fillCommonFields(doObj, EntityChangeType.NEW));
+
+        insertRows(operations, insertList, typedTable.getInsertEntityList());
+      }
+
+      if (typedTable.getUpdateList() != null && !typedTable.getUpdateList().isEmpty()) {
+        List<Object> updateList = typedTable.getUpdateList();
+        updateList.forEach(
+            doObj -> {
+              if (doObj != rootDo) {
+                commonFieldHandler.fillCommonFields(doObj, EntityChangeType.MODIFIED);
+              }
+            });
+
+        updateChangedColumns(operations, updateList, typedTable.getUpdateFieldsList(), rootDo);
+      }
+
+      if (typedTable.getDeleteList() != null && !typedTable.getDeleteList().isEmpty()) {
+        deleteRows(operations, typedTable.getDeleteList());
+      }
+    }
+
+    if (!debug) {
+      eventPublisher.publishEvent(new AggregatePersistedEvent(writtenIds(tableMap)));
+    }
+  }
+
+  /** 本次写入的行主键（新增行取插入后回填的主键） */
+  @SuppressWarnings({"unchecked"})
+  private Map<Class<?>, Set<Object>> writtenIds(
+      Map<Class<?>, AggregateChanges.TableChanges<?>> tableMap) {
+    Map<Class<?>, Set<Object>> writtenIds = new HashMap<>();
+    for (Map.Entry<Class<?>, AggregateChanges.TableChanges<?>> entry : tableMap.entrySet()) {
+      DoMapperOperations<Object> operations = doMapperRegistry.get((Class<Object>) entry.getKey());
+      AggregateChanges.TableChanges<Object> typedTable =
+          (AggregateChanges.TableChanges<Object>) entry.getValue();
+      Set<Object> ids = new HashSet<>();
+      for (List<Object> rows :
+          List.of(
+              nullToEmpty(typedTable.getInsertList()),
+              nullToEmpty(typedTable.getUpdateList()),
+              nullToEmpty(typedTable.getDeleteList()))) {
+        for (Object doObj : rows) {
+          Object id = doObj == null ? null : operations.getId(doObj);
+          if (id != null) {
+            ids.add(id);
+          }
+        }
+      }
+      if (!ids.isEmpty()) {
+        writtenIds.put(entry.getKey(), ids);
+      }
+    }
+    return writtenIds;
+  }
+
+  private static List<Object> nullToEmpty(List<Object> rows) {
+    return rows == null ? List.of() : rows;
+  }
+
+  /**
+   * 聚合根版本号条件更新：UPDATE ... SET ..., version=新版本 WHERE id=? AND version=旧版本
+   *
+   * @param changes 聚合根变更结果
+   * @return 已写入的聚合根DO（无需条件更新时返回null）
+   */
+  @SuppressWarnings({"unchecked"})
+  private Object updateAggregateRoot(AggregateChanges changes) {
+    if (!changes.isVersionChecked()) {
+      return null;
+    }
+    Class<Object> rootDoClass = (Class<Object>) changes.getRootDoClass();
+    AggregateChanges.TableChanges<Object> rootTable =
+        (AggregateChanges.TableChanges<Object>) changes.getTableChangesMap().get(rootDoClass);
+    if (rootTable == null || rootTable.getUpdateList() == null) {
+      return null;
+    }
+
+    DoMapperOperations<Object> operations = doMapperRegistry.get(rootDoClass);
+    List<Object> updateList = rootTable.getUpdateList();
+    for (int i = 0; i < updateList.size(); i++) {
+      Object doObj = updateList.get(i);
+      if (!Objects.equals(operations.getId(doObj), changes.getRootId())) {
+        continue;
+      }
+      commonFieldHandler.fillCommonFields(doObj, EntityChangeType.MODIFIED);
+      Set<String> changedFields =
+          rootTable.getUpdateFieldsList() == null ? null : rootTable.getUpdateFieldsList().get(i);
+      List<DoMapperOperations.Column> columns = resolveUpdateColumns(operations, changedFields);
+      if (debug) {
+        log.info(
+            "method：{}，columns：{}，expectedVersion：{}",
+            operations.getUpdateStatement(),
+            columns.stream().map(column -> column.fieldInfo().getColumn()).toList(),
+            changes.getExpectedVersion());
+      } else if (operations.updateIfVersion(columns, doObj, changes.getExpectedVersion()) != 1) {
+        throw new OptimisticLockConflictException(
+            rootDoClass, changes.getRootId(), changes.getExpectedVersion());
+      }
+      return doObj;
+    }
+    return null;
+  }
+
+  /**
+   * 批量插入：同一DO的全部行合并为JDBC batch，按分片每片一次往返
+   *
+   * @param operations DO的Mapper操作集
+   * @param insertList 待插入DO
+   * @param insertEntityList 与insertList一一对应的领域实体（插入后回填主键，可为null）
+   */
+  private void insertRows(
+      DoMapperOperations<Object> operations,
+      List<Object> insertList,
+      List<BaseDomainEntity> insertEntityList) {
+    if (debug) {
+      log.info("method：{}，rows：{}", operations.getInsertStatement(), insertList.size());
+      return;
+    }
+    batchSqlExecutor.insert(operations.getInsertStatement(), insertList);
+    if (insertEntityList == null) {
+      return;
+    }
+    // 回填主键：聚合提交后与库中状态一致，可直接用于下一次命令
+    for (int i = 0; i < insertEntityList.size(); i++) {
+      BaseDomainEntity entity = insertEntityList.get(i);
+      if (entity.getId() == null && operations.getId(insertList.get(i)) instanceof Long id) {
+        entity.setId(id);
+      }
+    }
+  }
+
+  /**
+   * 部分列更新：仅SET变更字段（及修改时自动填充的字段），变更列集合相同的行合并为一个JDBC batch
+   *
+   * @param operations DO的Mapper操作集
+   * @param updateList 待更新DO
+   * @param updateFieldsList 与updateList一一对应的变更字段（为null时整行更新）
+   * @param rootDo 已按版本号条件更新的聚合根DO（跳过）
+   */
+  private void updateChangedColumns(
+      DoMapperOperations<Object> operations,
+      List<Object> updateList,
+      List<Set<String>> updateFieldsList,
+      Object rootDo) {
+    // 按变更列集合分组（保持首次出现顺序），同组SQL文本一致，可合并为一个batch
+    Map<List<DoMapperOperations.Column>, List<Object>> rowsByColumns = new LinkedHashMap<>();
+    for (int i = 0; i < updateList.size(); i++) {
+      if (updateList.get(i) == rootDo) {
+        continue;
+      }
+      Set<String> changedFields = updateFieldsList == null ? null : updateFieldsList.get(i);
+      List<DoMapperOperations.Column> columns = resolveUpdateColumns(operations, changedFields);
+      if (columns.isEmpty()) {
+        // 变更字段均不落库（如领域实体独有字段），无需更新
+        continue;
+      }
+      rowsByColumns.computeIfAbsent(columns, k -> new ArrayList<>()).add(updateList.get(i));
+    }
+
+    String statement = operations.getUpdateStatement();
+    for (Map.Entry<List<DoMapperOperations.Column>, List<Object>> group :
+        rowsByColumns.entrySet()) {
+      List<Map<String, Object>> parameters = new ArrayList<>(group.getValue().size());
+      for (Object doObj : group.getValue()) {
+        parameters.add(operations.updateParameter(group.getKey(), doObj));
+      }
+      if (debug) {
+        log.info(
+            "method：{}，columns：{}，rows：{}",
+            statement,
+            group.getKey().stream().map(column -> column.fieldInfo().getColumn()).toList(),
+            group.getValue().size());
+      } else {
+        int[] updateCounts = batchSqlExecutor.update(statement, parameters);
+        // 影响行数为0：行已被并发删除（驱动返回SUCCESS_NO_INFO时无法判定，视为成功）
+        for (int i = 0; i < updateCounts.length; i++) {
+          if (updateCounts[i] == 0) {
+            Object doObj = group.getValue().get(i);
+            throw new OptimisticLockConflictException(
+                operations.getDoClass(), operations.getId(doObj), null);
+          }
+        }
+      }
+    }
+  }
+
+  /** 解析需更新的列（按表字段声明顺序，保证同一列集合生成相同SQL） */
+  private List<DoMapperOperations.Column> resolveUpdateColumns(
+      DoMapperOperations<Object> operations, Set<String> changedFields) {
+    if (changedFields == null) {
+      return operations.getColumns();
+    }
+    Set<String> autoFilledFields = commonFieldHandler.modifiedFieldNames();
+    List<DoMapperOperations.Column> columns =
+        new ArrayList<>(changedFields.size() + autoFilledFields.size());
+    boolean businessChanged = false;
+    for (DoMapperOperations.Column column : operations.getColumns()) {
+      String property = column.fieldInfo().getProperty();
+      if (changedFields.contains(property)) {
+        columns.add(column);
+        businessChanged = true;
+      } else if (autoFilledFields.contains(property)) {
+        columns.add(column);
+      }
+    }
+    return businessChanged ? columns : List.of();
+  }
+
+  /** 批量删除：DELETE ... WHERE id IN (...)，按分片每片一条语句 */
+  private void deleteRows(DoMapperOperations<Object> operations, List<Object> deleteList) {
+    List<Object> deleteIds = new ArrayList<>(deleteList.size());
+    for (Object doObj : deleteList) {
+      if (doObj == null) {
+        log.warn("删除列表中存在null的DO对象，跳过");
+        continue;
+      }
+
+      Object id = operations.getId(doObj);
+      if (id == null) {
+        log.warn("DO[{}]的id为null，跳过删除", doObj.getClass().getName());
+        continue;
+      }
+      deleteIds.add(id);
+    }
+
+    if (deleteIds.isEmpty()) {
+      log.warn("无有效删除ID，跳过批量删除");
+      return;
+    }
+    if (debug) {
+      log.info(
+          "method：deleteBatchIds，param：{}，mapper：{}", deleteIds, operations.getDoClass().getName());
+    } else {
+      int[] deletedRows = {0};
+      batchSqlExecutor.forEachChunk(
+          deleteIds, chunk -> deletedRows[0] += operations.deleteByIds(chunk));
+      if (deletedRows[0] < deleteIds.size()) {
+        // 部分行已不存在：已被并发删除
+        throw new OptimisticLockConflictException(operations.getDoClass(), deleteIds, null);
+      }
+    }
+  }
+}
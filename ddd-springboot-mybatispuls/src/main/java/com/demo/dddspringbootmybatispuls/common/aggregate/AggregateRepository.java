@@ -0,0 +1,34 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.Map;
+
+/**
+ * 聚合仓储：按聚合根主键加载完整聚合，供{@link AggregateCommandExecutor}统一执行命令
+ *
+ * @param <A> 聚合根类型
+ * @author zhangshaolong
+ */
+public interface AggregateRepository<A extends AggregateRoot> {
+
+  /** 聚合根类型 */
+  Class<A> aggregateType();
+
+  /**
+   * 加载完整聚合（聚合根及全部子实体）
+   *
+   * @param id 聚合根主键
+   * @return 聚合根（不存在时返回null）
+   */
+  A load(Long id);
+
+  /**
+   * 查询聚合根当前版本号（单列单行查询，用于判断缓存的聚合是否仍然有效）
+   *
+   * @param id 聚合根主键
+   * @return 当前版本号（不存在或未设置版本号时返回null）
+   */
+  Long currentVersion(Long id);
+
+  /** 实体→DO类型映射 */
+  Map<Class<?>, Class<?>> entityDoMapping();
+}
@@ -0,0 +1,41 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+/**
+ * 聚合根快照：构建后只读，可被多次对比复用
+ *
+ * <p>已持久化实体按(实体类型, long主键)存入开放寻址表，查找不装箱；未持久化实体（id为null）没有对应的行，提交时总是插入，不进入快照
+ *
+ * @author zhangshaolong
+ */
+public final class AggregateSnapshot {
+  private final EntityIdMap persistedEntities;
+
+  AggregateSnapshot(int expectedSize) {
+    this.persistedEntities = new EntityIdMap(expectedSize);
+  }
+
+  void add(BaseDomainEntity entity) {
+    Long id = entity.getId();
+    if (id != null) {
+      persistedEntities.put(entity.getClass(), id, entity.clone());
+    }
+  }
+
+  /** 按类型和主键查找快照槽位（不存在返回-1） */
+  int indexOf(Class<?> entityClass, long id) {
+    return persistedEntities.indexOf(entityClass, id);
+  }
+
+  BaseDomainEntity persistedAt(int slot) {
+    return persistedEntities.valueAt(slot);
+  }
+
+  int slotCapacity() {
+    return persistedEntities.capacity();
+  }
+
+  /** 快照内已持久化实体数 */
+  public int size() {
+    return persistedEntities.size();
+  }
+}
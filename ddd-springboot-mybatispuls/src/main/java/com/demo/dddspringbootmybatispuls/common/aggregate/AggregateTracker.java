@@ -0,0 +1,259 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessor;
+import java.util.*;
+import org.springframework.stereotype.Component;
+
+/** 聚合变更追踪器：无状态单例，快照由调用方或{@link UnitOfWork}持有，可被多线程并发使用 */
+@Component
+public class AggregateTracker {
+  /** 聚合根版本号字段（DO属性名） */
+  private static final String VERSION_FIELD = "version";
+
+  /**
+   * 生成聚合根快照（拷贝所有实体）
+   *
+   * @param aggregateRoot 聚合根实例
+   * @return 快照（已持久化实体按类型+主键索引；未持久化实体不进入快照）
+   */
+  public AggregateSnapshot buildSnapshot(AggregateRoot aggregateRoot) {
+    // 递归收集聚合根下所有实体
+    List<BaseDomainEntity> allEntities = collectAllEntities(aggregateRoot);
+    AggregateSnapshot snapshot = new AggregateSnapshot(allEntities.size());
+    for (BaseDomainEntity entity : allEntities) {
+      snapshot.add(entity);
+    }
+    return snapshot;
+  }
+
+  /**
+   * 对比快照与当前聚合根，生成变更结果
+   *
+   * @param snapshot 历史快照（只读，可重复对比）
+   * @param aggregateRoot 当前聚合根
+   * @param entityDoMapping 实体→DO类型映射
+   * @return 聚合根变更结果
+   */
+  public <T extends AggregateRoot> AggregateChanges compareChanges(
+      AggregateSnapshot snapshot, T aggregateRoot, Map<Class<?>, Class<?>> entityDoMapping) {
+    AggregateChanges result = new AggregateChanges();
+    Map<Class<?>, AggregateChanges.TableChanges<?>> tableMap = new HashMap<>();
+    // 已匹配的快照槽位（与快照索引同尺寸，单次对比私有，快照本身保持只读）
+    boolean[] processedSlots = new boolean[snapshot.slotCapacity()];
+    // 已持久化聚合根：加载时的版本号与自身变更字段（聚合内任一实体变更后统一处理）
+    AggregateRoot snapshotRoot = null;
+    Set<String> rootChangedFields = Set.of();
+    // 本次对比已插入的未持久化实体（按实例身份，不依赖equals）
+    Set<BaseDomainEntity> insertedEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // 1. 收集当前所有实体
+    List<BaseDomainEntity> currentEntities = collectAllEntities(aggregateRoot);
+
+    // 2. 处理新增/修改的实体
+    for (BaseDomainEntity currentEntity : currentEntities) {
+      Long currentId = getEntityId(currentEntity);
+      if (currentId == null) {
+        // 未持久化实体：没有对应的行，总是插入；按实例身份去重，同一实例在聚合中出现多次时只插入一次
+        if (insertedEntities.add(currentEntity)) {
+          addNewEntityChange(tableMap, currentEntity, entityDoMapping);
+        }
+        continue;
+      }
+
+      int slot = snapshot.indexOf(currentEntity.getClass(), currentId);
+      // 新增实体（快照中无对应主键）
+      if (slot < 0) {
+        addNewEntityChange(tableMap, currentEntity, entityDoMapping);
+        continue;
+      }
+
+      // 修改实体（快照中有对应主键，且字段有变更）
+      BaseDomainEntity snapshotEntity = snapshot.persistedAt(slot);
+      Set<String> changedFields = compareEntityFields(snapshotEntity, currentEntity);
+      if (currentEntity == aggregateRoot) {
+        // 聚合根延后处理：需先确定聚合内是否存在任何变更
+        snapshotRoot = (AggregateRoot) snapshotEntity;
+        rootChangedFields = changedFields;
+      } else if (!changedFields.isEmpty()) {
+        addModifiedEntityChange(tableMap, snapshotEntity, currentEntity, entityDoMapping, Set.of());
+      }
+      processedSlots[slot] = true;
+    }
+
+    // 3. 处理删除的实体（快照中有，当前无；未持久化实体无需删除）
+    for (int slot = 0; slot < processedSlots.length; slot++) {
+      BaseDomainEntity snapshotEntity = snapshot.persistedAt(slot);
+      if (snapshotEntity != null && !processedSlots[slot]) {
+        addDeletedEntityChange(tableMap, snapshotEntity, entityDoMapping);
+      }
+    }
+
+    // 4. 聚合内任一实体变更时，聚合根版本号自增，根表按加载时的版本号条件更新
+    if (snapshotRoot != null && (!rootChangedFields.isEmpty() || !tableMap.isEmpty())) {
+      aggregateRoot.incrVersion();
+      addModifiedEntityChange(
+          tableMap, snapshotRoot, aggregateRoot, entityDoMapping, Set.of(VERSION_FIELD));
+      result.setRootDoClass(entityDoMapping.get(aggregateRoot.getClass()));
+      result.setRootId(aggregateRoot.getId());
+      result.setExpectedVersion(snapshotRoot.getVersion());
+      result.setAggregateVersion(aggregateRoot.getVersion());
+    }
+
+    result.setTableChangesMap(tableMap);
+    return result;
+  }
+
+  /**
+   * 对比快照与当前聚合根，生成变更结果（快照取自当前线程绑定的工作单元）
+   *
+   * @param aggregateRoot 当前聚合根（需已通过{@link UnitOfWork#track}跟踪）
+   * @param entityDoMapping 实体→DO类型映射
+   * @return 聚合根变更结果
+   */
+  public <T extends AggregateRoot> AggregateChanges compareChanges(
+      T aggregateRoot, Map<Class<?>, Class<?>> entityDoMapping) {
+    UnitOfWork unitOfWork = UnitOfWork.current();
+    if (unitOfWork == null) {
+      throw new IllegalStateException("当前线程未开启UnitOfWork，请使用compareChanges(snapshot, ...)");
+    }
+    return compareChanges(unitOfWork.getSnapshot(aggregateRoot), aggregateRoot, entityDoMapping);
+  }
+
+  private List<BaseDomainEntity> collectAllEntities(BaseDomainEntity root) {
+    List<BaseDomainEntity> entities = new ArrayList<>();
+    collectAllEntities(root, entities);
+    return entities;
+  }
+
+  /** 基于预编译元数据递归收集子实体 */
+  private void collectAllEntities(BaseDomainEntity entity, List<BaseDomainEntity> entities) {
+    entities.add(entity);
+
+    EntityMetadata metadata = EntityMetadataRegistry.get(entity.getClass());
+    for (EntityMetadata.ChildAccessor child : metadata.getChildren()) {
+      Object fieldValue = child.accessor().get(entity);
+      if (fieldValue == null) {
+        continue;
+      }
+      if (child.collection()) {
+        // 处理Collection<BaseDomainEntity>类型子实体
+        for (Object item : (Collection<?>) fieldValue) {
+          if (item instanceof BaseDomainEntity baseDomainEntity) {
+            collectAllEntities(baseDomainEntity, entities);
+          }
+        }
+      } else {
+        // 处理单个BaseDomainEntity类型子实体
+        collectAllEntities((BaseDomainEntity) fieldValue, entities);
+      }
+    }
+  }
+
+  /** 获取实体的主键值 */
+  private Long getEntityId(BaseDomainEntity entity) {
+    return entity.getId();
+  }
+
+  /** 对比两个实体的字段差异 */
+  private Set<String> compareEntityFields(BaseDomainEntity snapshot, BaseDomainEntity current) {
+    Set<String> changedFields = null;
+    EntityMetadata metadata = EntityMetadataRegistry.get(current.getClass());
+    for (PropertyAccessor accessor : metadata.getComparableProperties()) {
+      Object snapshotValue = accessor.get(snapshot);
+      Object currentValue = accessor.get(current);
+      if (!Objects.equals(snapshotValue, currentValue)) {
+        if (changedFields == null) {
+          changedFields = new HashSet<>();
+        }
+        changedFields.add(accessor.getName());
+      }
+    }
+    return changedFields == null ? Set.of() : changedFields;
+  }
+
+  /** 新增实体→DO的insertList */
+  private void addNewEntityChange(
+      Map<Class<?>, AggregateChanges.TableChanges<?>> tableMap,
+      BaseDomainEntity entity,
+      Map<Class<?>, Class<?>> entityDoMapping) {
+    Class<?> doClass = entityDoMapping.get(entity.getClass());
+    if (doClass == null) {
+      throw new RuntimeException("未配置实体[" + entity.getClass() + "]的DO映射");
+    }
+    Object doObj = StructMapper.to(entity, doClass);
+    AggregateChanges.TableChanges<?> tableChanges =
+        tableMap.computeIfAbsent(doClass, k -> new AggregateChanges.TableChanges<>());
+
+    @SuppressWarnings("unchecked")
+    AggregateChanges.TableChanges<Object> typedTable =
+        (AggregateChanges.TableChanges<Object>) tableChanges;
+    if (typedTable.getInsertList() == null) {
+      typedTable.setInsertList(new ArrayList<>());
+      typedTable.setInsertEntityList(new ArrayList<>());
+    }
+    typedTable.getInsertList().add(doObj);
+    typedTable.getInsertEntityList().add(entity);
+  }
+
+  /**
+   * 修改实体→DO的updateList：以快照实体对应的DO为基准，仅写入与当前实体不同的属性
+   *
+   * <p>变更字段取自差异补丁的结果（DO属性名），实体与DO字段名不一致或经转换器映射时同样准确
+   *
+   * @param forcedFields 无论是否变化都需更新的DO属性（如聚合根版本号）
+   */
+  private void addModifiedEntityChange(
+      Map<Class<?>, AggregateChanges.TableChanges<?>> tableMap,
+      BaseDomainEntity snapshotEntity,
+      BaseDomainEntity currentEntity,
+      Map<Class<?>, Class<?>> entityDoMapping,
+      Set<String> forcedFields) {
+    Class<?> doClass = entityDoMapping.get(currentEntity.getClass());
+    if (doClass == null) {
+      throw new RuntimeException("未配置实体[" + currentEntity.getClass() + "]的DO映射");
+    }
+    Object doObj = StructMapper.to(snapshotEntity, doClass);
+    Set<String> changedFields = StructMapper.patch(currentEntity, doObj);
+    if (!forcedFields.isEmpty()) {
+      // 不修改patch返回的集合（可能不可变或被映射器复用）
+      changedFields = new LinkedHashSet<>(changedFields);
+      changedFields.addAll(forcedFields);
+    }
+    AggregateChanges.TableChanges<?> tableChanges =
+        tableMap.computeIfAbsent(doClass, k -> new AggregateChanges.TableChanges<>());
+
+    @SuppressWarnings("unchecked")
+    AggregateChanges.TableChanges<Object> typedTable =
+        (AggregateChanges.TableChanges<Object>) tableChanges;
+    if (typedTable.getUpdateList() == null) {
+      typedTable.setUpdateList(new ArrayList<>());
+      typedTable.setUpdateFieldsList(new ArrayList<>());
+    }
+    typedTable.getUpdateList().add(doObj);
+    // 记录变更字段，持久化时仅更新这些列
+    typedTable.getUpdateFieldsList().add(changedFields);
+  }
+
+  /** 删除实体→DO的deleteList */
+  private void addDeletedEntityChange(
+      Map<Class<?>, AggregateChanges.TableChanges<?>> tableMap,
+      BaseDomainEntity entity,
+      Map<Class<?>, Class<?>> entityDoMapping) {
+    Class<?> doClass = entityDoMapping.get(entity.getClass());
+    if (doClass == null) {
+      throw new RuntimeException("未配置实体[" + entity.getClass() + "]的DO映射");
+    }
+    Object doObj = StructMapper.to(entity, doClass);
+    AggregateChanges.TableChanges<?> tableChanges =
+        tableMap.computeIfAbsent(doClass, k -> new AggregateChanges.TableChanges<>());
+
+    @SuppressWarnings("unchecked")
+    AggregateChanges.TableChanges<Object> typedTable =
+        (AggregateChanges.TableChanges<Object>) tableChanges;
+    if (typedTable.getDeleteList() == null) {
+      typedTable.setDeleteList(new ArrayList<>());
+    }
+    typedTable.getDeleteList().add(doObj);
+  }
+}
@@ -0,0 +1,101 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.Getter;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * JDBC批处理执行器：基于ExecutorType.BATCH的SqlSession，同一语句的多行参数合并为一个JDBC batch
+ *
+ * <p>按batchSize分片，每片flush一次（配合MySQL驱动rewriteBatchedStatements=true，每片一次往返）；
+ * SqlSession由Spring托管事务的连接创建，存在外层事务时自动加入
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class BatchSqlExecutor {
+  @Autowired private SqlSessionFactory sqlSessionFactory;
+
+  /** 分片大小：每片一次JDBC往返 */
+  @Getter
+  @Value("${aggregate.persistence.batch-size:500}")
+  private int batchSize;
+
+  /**
+   * 批量执行同一条插入语句
+   *
+   * @param statement MappedStatement ID（mapper命名空间.方法名）
+   * @param parameters 每行的参数对象
+   * @return 每行的影响行数
+   */
+  public int[] insert(String statement, List<?> parameters) {
+    return execute(parameters, (sqlSession, parameter) -> sqlSession.insert(statement, parameter));
+  }
+
+  /**
+   * 批量执行同一条更新语句
+   *
+   * @param statement MappedStatement ID（mapper命名空间.方法名）
+   * @param parameters 每行的参数对象
+   * @return 每行的影响行数
+   */
+  public int[] update(String statement, List<?> parameters) {
+    return execute(parameters, (sqlSession, parameter) -> sqlSession.update(statement, parameter));
+  }
+
+  /**
+   * 按分片遍历列表（用于IN条件等单语句批量操作）
+   *
+   * @param list 全部元素
+   * @param chunkConsumer 分片处理函数（每片一条语句）
+   */
+  public <E> void forEachChunk(List<E> list, Consumer<List<E>> chunkConsumer) {
+    int chunkSize = Math.max(1, batchSize);
+    for (int from = 0; from < list.size(); from += chunkSize) {
+      chunkConsumer.accept(list.subList(from, Math.min(from + chunkSize, list.size())));
+    }
+  }
+
+  private int[] execute(List<?> parameters, StatementCall call) {
+    int[] updateCounts = new int[parameters.size()];
+    if (parameters.isEmpty()) {
+      return updateCounts;
+    }
+    int chunkSize = Math.max(1, batchSize);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      int index = 0;
+      for (int from = 0; from < parameters.size(); from += chunkSize) {
+        int to = Math.min(from + chunkSize, parameters.size());
+        for (int i = from; i < to; i++) {
+          call.execute(sqlSession, parameters.get(i));
+        }
+        index = collectUpdateCounts(sqlSession.flushStatements(), updateCounts, index);
+      }
+    }
+    return updateCounts;
+  }
+
+  private static int collectUpdateCounts(
+      List<BatchResult> batchResults, int[] updateCounts, int index) {
+    for (BatchResult batchResult : batchResults) {
+      for (int count : batchResult.getUpdateCounts()) {
+        if (index < updateCounts.length) {
+          updateCounts[index++] = count;
+        }
+      }
+    }
+    return index;
+  }
+
+  @FunctionalInterface
+  private interface StatementCall {
+    void execute(SqlSession sqlSession, Object parameter);
+  }
+}
@@ -0,0 +1,75 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessor;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessors;
+import java.time.LocalDateTime;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DefaultDoCommonFieldHandler implements DoCommonFieldHandler {
+  /** 默认操作人（可替换为当前登录用户） */
+  private static final String DEFAULT_OPERATOR = "system";
+
+  /** 修改时填充的字段 */
+  private static final Set<String> MODIFIED_FIELD_NAMES = Set.of("updateTime", "updateBy");
+
+  /** DO类型→公共字段访问器（按类缓存，逐行填充时不再查找字段） */
+  private static final ClassValue<CommonFields> COMMON_FIELDS_CACHE =
+      new ClassValue<>() {
+        @Override
+        protected CommonFields computeValue(Class<?> doClass) {
+          return new CommonFields(
+              writable(doClass, "createTime", LocalDateTime.class),
+              writable(doClass, "createBy", String.class),
+              writable(doClass, "updateTime", LocalDateTime.class),
+              writable(doClass, "updateBy", String.class));
+        }
+      };
+
+  @Override
+  public void fillCommonFields(Object doObj, EntityChangeType changeType) {
+    if (doObj == null) {
+      return;
+    }
+
+    CommonFields fields = COMMON_FIELDS_CACHE.get(doObj.getClass());
+    LocalDateTime now = LocalDateTime.now();
+    // 填充创建信息（新增）
+    if (EntityChangeType.NEW.equals(changeType)) {
+      setFieldValue(fields.createTime(), doObj, now);
+      setFieldValue(fields.createBy(), doObj, DEFAULT_OPERATOR);
+    }
+    // 填充更新信息（新增/修改）
+    setFieldValue(fields.updateTime(), doObj, now);
+    setFieldValue(fields.updateBy(), doObj, DEFAULT_OPERATOR);
+  }
+
+  @Override
+  public Set<String> modifiedFieldNames() {
+    return MODIFIED_FIELD_NAMES;
+  }
+
+  /** 设置字段值（DO无该字段时跳过，兼容不同DO的字段名） */
+  private static void setFieldValue(PropertyAccessor accessor, Object target, Object value) {
+    if (accessor != null) {
+      accessor.set(target, value);
+    }
+  }
+
+  /** 查找可写且类型兼容的属性访问器（不存在时返回null） */
+  private static PropertyAccessor writable(Class<?> doClass, String fieldName, Class<?> valueType) {
+    PropertyAccessor accessor = PropertyAccessors.find(doClass, fieldName);
+    return accessor != null
+            && accessor.isWritable()
+            && accessor.getType().isAssignableFrom(valueType)
+        ? accessor
+        : null;
+  }
+
+  private record CommonFields(
+      PropertyAccessor createTime,
+      PropertyAccessor createBy,
+      PropertyAccessor updateTime,
+      PropertyAccessor updateBy) {}
+}
@@ -0,0 +1,12 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.Set;
+
+public interface DoCommonFieldHandler {
+  void fillCommonFields(Object doObj, EntityChangeType changeType);
+
+  /** 修改时自动填充的字段名（DO属性名），部分列更新时与变更字段一并写入 */
+  default Set<String> modifiedFieldNames() {
+    return Set.of();
+  }
+}
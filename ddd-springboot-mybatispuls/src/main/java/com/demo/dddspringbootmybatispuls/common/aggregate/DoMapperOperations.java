@@ -0,0 +1,168 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessor;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单个DO的Mapper操作集：启动期解析好的Mapper、表元数据、语句ID与列访问器 不可变设计，线程安全
+ *
+ * @author zhangshaolong
+ */
+public final class DoMapperOperations<DO> {
+  private static final String VERSION_PROPERTY = "version";
+
+  private final Class<DO> doClass;
+  private final BaseMapper<DO> mapper;
+  private final TableInfo tableInfo;
+  private final String insertStatement;
+  private final String updateStatement;
+  private final PropertyAccessor keyAccessor;
+
+  /** 版本列（@Version字段，未声明时按属性名version匹配；无版本列时为null） */
+  private final Column versionColumn;
+
+  /** 全部列（按表字段声明顺序） */
+  private final List<Column> columns;
+
+  DoMapperOperations(Class<DO> doClass, BaseMapper<DO> mapper, TableInfo tableInfo) {
+    this.doClass = doClass;
+    this.mapper = mapper;
+    this.tableInfo = tableInfo;
+    String namespace = tableInfo.getCurrentNamespace() + StringPool.DOT;
+    this.insertStatement = namespace + SqlMethod.INSERT_ONE.getMethod();
+    this.updateStatement = namespace + SqlMethod.UPDATE.getMethod();
+    this.keyAccessor = requireAccessor(tableInfo.getKeyProperty());
+    List<Column> columnList = new ArrayList<>(tableInfo.getFieldList().size());
+    for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+      columnList.add(new Column(fieldInfo, requireAccessor(fieldInfo.getProperty())));
+    }
+    this.columns = List.copyOf(columnList);
+    this.versionColumn = resolveVersionColumn(tableInfo, columns);
+  }
+
+  /** 读取DO主键 */
+  public Object getId(Object doObj) {
+    return keyAccessor.get(doObj);
+  }
+
+  /** DELETE ... WHERE id IN (...) */
+  public int deleteByIds(Collection<?> ids) {
+    return mapper.deleteBatchIds(ids);
+  }
+
+  /**
+   * 构建UPDATE ... SET col=? ... WHERE id=? 的参数（与BaseMapper.update(entity, wrapper)一致）
+   *
+   * @param updateColumns 需更新的列
+   * @param doObj DO实例
+   * @return updateStatement的参数
+   */
+  public Map<String, Object> updateParameter(List<Column> updateColumns, Object doObj) {
+    Map<String, Object> parameter = new HashMap<>(4);
+    parameter.put(Constants.ENTITY, null);
+    parameter.put(Constants.WRAPPER, updateWrapper(updateColumns, doObj));
+    return parameter;
+  }
+
+  /**
+   * 版本号条件更新：UPDATE ... SET col=? ... WHERE id=? AND version=?
+   *
+   * @param updateColumns 需更新的列（应包含版本列）
+   * @param doObj DO实例（版本列为新版本号）
+   * @param expectedVersion 期望的旧版本号
+   * @return 影响行数（0表示版本已被其他事务修改）
+   */
+  public int updateIfVersion(List<Column> updateColumns, Object doObj, Long expectedVersion) {
+    if (versionColumn == null) {
+      throw new IllegalStateException("DO[" + doClass + "]未定义版本列，无法按版本号更新");
+    }
+    UpdateWrapper<DO> wrapper = updateWrapper(updateColumns, doObj);
+    String column = versionColumn.fieldInfo().getColumn();
+    if (expectedVersion == null) {
+      wrapper.isNull(column);
+    } else {
+      wrapper.eq(column, expectedVersion);
+    }
+    return mapper.update(null, wrapper);
+  }
+
+  private UpdateWrapper<DO> updateWrapper(List<Column> updateColumns, Object doObj) {
+    UpdateWrapper<DO> wrapper = new UpdateWrapper<>();
+    for (Column column : updateColumns) {
+      wrapper.set(column.fieldInfo().getColumn(), column.accessor().get(doObj));
+    }
+    Object id = getId(doObj);
+    if (id == null) {
+      throw new RuntimeException("DO[" + doClass + "]的id为null，无法更新");
+    }
+    wrapper.eq(tableInfo.getKeyColumn(), id);
+    return wrapper;
+  }
+
+  private static Column resolveVersionColumn(TableInfo tableInfo, List<Column> columns) {
+    for (Column column : columns) {
+      if (tableInfo.isWithVersion()
+          ? column.fieldInfo() == tableInfo.getVersionFieldInfo()
+          : VERSION_PROPERTY.equals(column.fieldInfo().getProperty())) {
+        return column;
+      }
+    }
+    return null;
+  }
+
+  private PropertyAccessor requireAccessor(String property) {
+    PropertyAccessor accessor = PropertyAccessors.find(doClass, property);
+    if (accessor == null) {
+      throw new IllegalStateException("DO[" + doClass + "]未找到属性：" + property);
+    }
+    return accessor;
+  }
+
+  public Class<DO> getDoClass() {
+    return doClass;
+  }
+
+  public BaseMapper<DO> getMapper() {
+    return mapper;
+  }
+
+  public TableInfo getTableInfo() {
+    return tableInfo;
+  }
+
+  public String getInsertStatement() {
+    return insertStatement;
+  }
+
+  public String getUpdateStatement() {
+    return updateStatement;
+  }
+
+  public List<Column> getColumns() {
+    return columns;
+  }
+
+  public Column getVersionColumn() {
+    return versionColumn;
+  }
+
+  /**
+   * 表列：MyBatis-Plus字段元数据 + 预编译属性访问器
+   *
+   * @param fieldInfo 字段元数据
+   * @param accessor 属性访问器
+   */
+  public record Column(TableFieldInfo fieldInfo, PropertyAccessor accessor) {}
+}
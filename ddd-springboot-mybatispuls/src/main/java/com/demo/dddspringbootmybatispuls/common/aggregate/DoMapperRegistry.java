@@ -0,0 +1,82 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+
+/**
+ * DO→Mapper注册表：容器刷新完成时一次性扫描全部BaseMapper，构建不可变的DO类型→{@link DoMapperOperations}映射
+ *
+ * <p>持久化时直接按DO类型取用，不再访问BeanFactory，也不再逐次解析Mapper泛型
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class DoMapperRegistry implements ApplicationListener<ContextRefreshedEvent> {
+  private volatile Map<Class<?>, DoMapperOperations<?>> operationsMap;
+
+  @Override
+  public void onApplicationEvent(ContextRefreshedEvent event) {
+    ApplicationContext applicationContext = event.getApplicationContext();
+    Map<Class<?>, DoMapperOperations<?>> registry = new HashMap<>();
+    for (BaseMapper<?> mapper : applicationContext.getBeansOfType(BaseMapper.class).values()) {
+      Class<?> doClass = resolveDoClass(mapper);
+      if (doClass == null) {
+        continue;
+      }
+      TableInfo tableInfo = TableInfoHelper.getTableInfo(doClass);
+      if (tableInfo == null) {
+        throw new IllegalStateException("未找到DO[" + doClass + "]对应的表元数据");
+      }
+      registry.put(doClass, createOperations(doClass, mapper, tableInfo));
+    }
+    this.operationsMap = Map.copyOf(registry);
+  }
+
+  /**
+   * 获取DO对应的Mapper操作集
+   *
+   * @param doClass DO类型
+   * @return Mapper操作集（未注册时抛出异常）
+   */
+  @SuppressWarnings("unchecked")
+  public <DO> DoMapperOperations<DO> get(Class<DO> doClass) {
+    Map<Class<?>, DoMapperOperations<?>> registry = operationsMap;
+    if (registry == null) {
+      throw new IllegalStateException("DO→Mapper注册表尚未初始化（容器未完成刷新）");
+    }
+    DoMapperOperations<?> operations = registry.get(doClass);
+    if (operations == null) {
+      throw new RuntimeException("未找到DO[" + doClass + "]对应的Mapper");
+    }
+    return (DoMapperOperations<DO>) operations;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <DO> DoMapperOperations<DO> createOperations(
+      Class<DO> doClass, BaseMapper<?> mapper, TableInfo tableInfo) {
+    return new DoMapperOperations<>(doClass, (BaseMapper<DO>) mapper, tableInfo);
+  }
+
+  /** 解析Mapper接口的泛型参数（BaseMapper<T>中的T，支持多级继承） */
+  private static Class<?> resolveDoClass(BaseMapper<?> mapper) {
+    for (Class<?> mapperInterface : AopUtils.getTargetClass(mapper).getInterfaces()) {
+      if (BaseMapper.class.isAssignableFrom(mapperInterface)) {
+        Class<?> doClass =
+            ResolvableType.forClass(mapperInterface).as(BaseMapper.class).resolveGeneric(0);
+        if (doClass != null) {
+          return doClass;
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,107 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+/**
+ * 实体快照索引：以(实体类型, long主键)为key的开放寻址哈希表（线性探测）
+ *
+ * <p>主键以基本类型long存储，查找时不装箱；槽位下标稳定，调用方可用同尺寸的boolean数组标记已处理的快照
+ *
+ * @author zhangshaolong
+ */
+final class EntityIdMap {
+  private static final int MIN_CAPACITY = 8;
+
+  private long[] keys;
+  private Class<?>[] types;
+  private BaseDomainEntity[] values;
+  private int size;
+
+  EntityIdMap(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    // 负载因子不超过0.5，保证探测链足够短
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /** 放入快照实体（同类型同主键覆盖） */
+  void put(Class<?> type, long id, BaseDomainEntity value) {
+    if ((size + 1) * 2 > values.length) {
+      resize(values.length << 1);
+    }
+    int mask = values.length - 1;
+    int slot = hash(type, id) & mask;
+    while (values[slot] != null) {
+      if (keys[slot] == id && types[slot] == type) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = id;
+    types[slot] = type;
+    values[slot] = value;
+    size++;
+  }
+
+  /**
+   * 查找槽位
+   *
+   * @return 槽位下标，不存在时返回-1
+   */
+  int indexOf(Class<?> type, long id) {
+    int mask = values.length - 1;
+    int slot = hash(type, id) & mask;
+    while (values[slot] != null) {
+      if (keys[slot] == id && types[slot] == type) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /** 槽位上的快照实体（空槽位返回null） */
+  BaseDomainEntity valueAt(int slot) {
+    return values[slot];
+  }
+
+  /** 槽位总数（用于分配同尺寸的标记数组） */
+  int capacity() {
+    return values.length;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private void resize(int newCapacity) {
+    long[] oldKeys = keys;
+    Class<?>[] oldTypes = types;
+    BaseDomainEntity[] oldValues = values;
+    allocate(newCapacity);
+    size = 0;
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        put(oldTypes[i], oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    types = new Class<?>[capacity];
+    values = new BaseDomainEntity[capacity];
+  }
+
+  private static int hash(Class<?> type, long id) {
+    // 64位混淆（murmur3 fmix64），避免雪花ID低位规律导致聚集
+    long h = id ^ System.identityHashCode(type);
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+}
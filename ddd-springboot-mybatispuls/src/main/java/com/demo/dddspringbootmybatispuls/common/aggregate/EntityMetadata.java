@@ -0,0 +1,105 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessor;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessors;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 领域实体元数据：启动期按类预编译的子实体访问器、可对比字段访问器 不可变设计，线程安全
+ *
+ * <p>子实体字段（单个BaseDomainEntity或其集合）只参与遍历，不参与字段对比；
+ * 基类（BaseDomainEntity/AggregateRoot）中的id、version由追踪器单独处理
+ *
+ * @author zhangshaolong
+ */
+public final class EntityMetadata {
+  private final Class<? extends BaseDomainEntity> entityClass;
+
+  /** 子实体访问器（单个实体或实体集合） */
+  private final List<ChildAccessor> children;
+
+  /** 参与快照对比的业务字段访问器 */
+  private final List<PropertyAccessor> comparableProperties;
+
+  private EntityMetadata(
+      Class<? extends BaseDomainEntity> entityClass,
+      List<ChildAccessor> children,
+      List<PropertyAccessor> comparableProperties) {
+    this.entityClass = entityClass;
+    this.children = children;
+    this.comparableProperties = comparableProperties;
+  }
+
+  /** 编译实体类元数据（由{@link EntityMetadataRegistry}调用并缓存） */
+  static EntityMetadata compile(Class<? extends BaseDomainEntity> entityClass) {
+    List<ChildAccessor> children = new ArrayList<>();
+    List<PropertyAccessor> comparable = new ArrayList<>();
+    for (PropertyAccessor accessor : PropertyAccessors.of(entityClass)) {
+      Class<?> declaringClass = accessor.getDeclaringClass();
+      if (declaringClass == BaseDomainEntity.class || declaringClass == AggregateRoot.class) {
+        continue;
+      }
+
+      if (BaseDomainEntity.class.isAssignableFrom(accessor.getType())) {
+        children.add(new ChildAccessor(accessor, false, accessor.getType()));
+      } else if (Collection.class.isAssignableFrom(accessor.getType())
+          && isEntityCollection(accessor.getGenericType())) {
+        children.add(
+            new ChildAccessor(accessor, true, resolveElementType(accessor.getGenericType())));
+      } else {
+        comparable.add(accessor);
+      }
+    }
+    return new EntityMetadata(entityClass, List.copyOf(children), List.copyOf(comparable));
+  }
+
+  /** 集合元素为实体，或元素类型无法静态确定（运行期再按instanceof过滤） */
+  private static boolean isEntityCollection(Type genericType) {
+    Class<?> elementType = resolveElementType(genericType);
+    return elementType == Object.class || BaseDomainEntity.class.isAssignableFrom(elementType);
+  }
+
+  private static Class<?> resolveElementType(Type genericType) {
+    if (genericType instanceof ParameterizedType parameterizedType) {
+      Type argument = parameterizedType.getActualTypeArguments()[0];
+      if (argument instanceof WildcardType wildcardType) {
+        argument = wildcardType.getUpperBounds()[0];
+      }
+      if (argument instanceof Class<?> elementClass) {
+        return elementClass;
+      }
+      if (argument instanceof ParameterizedType parameterizedArgument
+          && parameterizedArgument.getRawType() instanceof Class<?> rawClass) {
+        return rawClass;
+      }
+    }
+    return Object.class;
+  }
+
+  public Class<? extends BaseDomainEntity> getEntityClass() {
+    return entityClass;
+  }
+
+  public List<ChildAccessor> getChildren() {
+    return children;
+  }
+
+  public List<PropertyAccessor> getComparableProperties() {
+    return comparableProperties;
+  }
+
+  /**
+   * 子实体访问器
+   *
+   * @param accessor 字段访问器
+   * @param collection 是否为实体集合
+   * @param elementType 单个实体的声明类型/集合元素的声明类型
+   */
+  public record ChildAccessor(
+      PropertyAccessor accessor, boolean collection, Class<?> elementType) {}
+}
@@ -0,0 +1,29 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实体元数据预热：容器刷新完成时扫描全部{@link AggregateRepository}，一次性编译其实体→DO映射中的全部领域实体类型
+ *
+ * <p>未出现在任何仓储映射中的实体类型仍由{@link EntityMetadataRegistry#get(Class)}在首次访问时惰性编译
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class EntityMetadataRegistrar implements ApplicationListener<ContextRefreshedEvent> {
+
+  @Override
+  public void onApplicationEvent(ContextRefreshedEvent event) {
+    Set<Class<?>> entityClasses = new HashSet<>();
+    for (AggregateRepository<?> repository :
+        event.getApplicationContext().getBeansOfType(AggregateRepository.class).values()) {
+      entityClasses.add(repository.aggregateType());
+      entityClasses.addAll(repository.entityDoMapping().keySet());
+    }
+    EntityMetadataRegistry.register(entityClasses);
+  }
+}
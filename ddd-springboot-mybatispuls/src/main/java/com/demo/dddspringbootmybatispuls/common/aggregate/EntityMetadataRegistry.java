@@ -0,0 +1,57 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 领域实体元数据注册表：按实体类缓存{@link EntityMetadata}
+ *
+ * <p>容器刷新时由{@link EntityMetadataRegistrar}预热全部仓储映射中的实体类，运行期快照、对比、ID提取均不再触发反射查找
+ *
+ * <p>其余实体类在首次访问时惰性编译
+ *
+ * @author zhangshaolong
+ */
+public final class EntityMetadataRegistry {
+  private static final ClassValue<EntityMetadata> METADATA_CACHE =
+      new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected EntityMetadata computeValue(Class<?> type) {
+          if (!BaseDomainEntity.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("类[" + type.getName() + "]不是领域实体");
+          }
+          return EntityMetadata.compile((Class<? extends BaseDomainEntity>) type);
+        }
+      };
+
+  // 私有构造器：禁止实例化
+  private EntityMetadataRegistry() {}
+
+  /** 获取实体类元数据（首次访问时编译） */
+  public static EntityMetadata get(Class<?> entityClass) {
+    return METADATA_CACHE.get(entityClass);
+  }
+
+  /**
+   * 预热实体类元数据（递归编译子实体类型）
+   *
+   * @param entityClasses 聚合根/实体类型
+   */
+  public static void register(Collection<Class<?>> entityClasses) {
+    Set<Class<?>> visited = new HashSet<>();
+    Deque<Class<?>> pending = new ArrayDeque<>(entityClasses);
+    while (!pending.isEmpty()) {
+      Class<?> entityClass = pending.pop();
+      if (!visited.add(entityClass) || !BaseDomainEntity.class.isAssignableFrom(entityClass)) {
+        continue;
+      }
+      for (EntityMetadata.ChildAccessor child : get(entityClass).getChildren()) {
+        pending.push(child.elementType());
+      }
+    }
+  }
+}
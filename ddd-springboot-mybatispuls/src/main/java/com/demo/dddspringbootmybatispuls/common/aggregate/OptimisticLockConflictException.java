@@ -0,0 +1,35 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.io.Serial;
+import lombok.Getter;
+
+/**
+ * 乐观锁冲突：聚合根版本号已被其他事务修改，或待更新/删除的行已不存在
+ *
+ * <p>抛出时所在事务整体回滚，调用方可重新加载聚合后重试
+ *
+ * @author zhangshaolong
+ */
+@Getter
+public class OptimisticLockConflictException extends RuntimeException {
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 冲突的DO类型 */
+  private final Class<?> doClass;
+
+  /** 冲突行的主键 */
+  private final Object id;
+
+  /** 期望的版本号（子表行冲突时为null） */
+  private final Long expectedVersion;
+
+  public OptimisticLockConflictException(Class<?> doClass, Object id, Long expectedVersion) {
+    super(
+        expectedVersion == null
+            ? "DO[" + doClass.getName() + "]主键[" + id + "]已被并发修改或删除"
+            : "DO[" + doClass.getName() + "]主键[" + id + "]版本号[" + expectedVersion + "]已过期");
+    this.doClass = doClass;
+    this.id = id;
+    this.expectedVersion = expectedVersion;
+  }
+}
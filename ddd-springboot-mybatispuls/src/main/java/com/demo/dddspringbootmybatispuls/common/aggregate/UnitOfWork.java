@@ -0,0 +1,127 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 工作单元：跟踪一次请求内的多个聚合根，提交时统一对比变更并在同一事务内持久化
+ *
+ * <p>快照只保存在工作单元实例内，单例的{@link AggregateTracker}不再持有任何可变状态，不同请求可在多核上完全并行；
+ * 工作单元本身仅供开启它的线程使用（非线程安全），通过{@link UnitOfWorkManager#begin()}创建
+ *
+ * @author zhangshaolong
+ */
+public class UnitOfWork implements AutoCloseable {
+  /** 当前线程绑定的工作单元 */
+  private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+  private final AggregateTracker aggregateTracker;
+  private final AggregatePersistenceManager persistenceManager;
+  private final TransactionTemplate transactionTemplate;
+
+  /** 外层工作单元（支持嵌套开启，关闭时恢复） */
+  private final UnitOfWork outer;
+
+  /** 已跟踪的聚合根（按聚合根实例身份区分，不保证顺序；用于去重与查找快照） */
+  private final Map<AggregateRoot, TrackedAggregate> trackedAggregates = new IdentityHashMap<>();
+
+  /** 已跟踪的聚合根（按跟踪顺序，提交时按此顺序对比与持久化） */
+  private final List<TrackedAggregate> trackedOrder = new ArrayList<>();
+
+  private boolean completed;
+
+  UnitOfWork(
+      AggregateTracker aggregateTracker,
+      AggregatePersistenceManager persistenceManager,
+      TransactionTemplate transactionTemplate) {
+    this.aggregateTracker = aggregateTracker;
+    this.persistenceManager = persistenceManager;
+    this.transactionTemplate = transactionTemplate;
+    this.outer = CURRENT.get();
+    CURRENT.set(this);
+  }
+
+  /** 获取当前线程绑定的工作单元（未开启时返回null） */
+  public static UnitOfWork current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * 跟踪聚合根：立即生成快照，提交时与最新状态对比
+   *
+   * @param aggregateRoot 聚合根（加载完成、尚未修改）
+   * @param entityDoMapping 实体→DO类型映射
+   * @return 聚合根本身，便于链式调用
+   */
+  public <T extends AggregateRoot> T track(
+      T aggregateRoot, Map<Class<?>, Class<?>> entityDoMapping) {
+    checkActive();
+    if (trackedAggregates.containsKey(aggregateRoot)) {
+      return aggregateRoot;
+    }
+    TrackedAggregate tracked =
+        new TrackedAggregate(
+            aggregateRoot, entityDoMapping, aggregateTracker.buildSnapshot(aggregateRoot));
+    trackedAggregates.put(aggregateRoot, tracked);
+    trackedOrder.add(tracked);
+    return aggregateRoot;
+  }
+
+  /** 获取聚合根的快照 */
+  public AggregateSnapshot getSnapshot(AggregateRoot aggregateRoot) {
+    TrackedAggregate tracked = trackedAggregates.get(aggregateRoot);
+    if (tracked == null) {
+      throw new IllegalStateException("聚合根[" + aggregateRoot.getClass() + "]未被当前UnitOfWork跟踪");
+    }
+    return tracked.snapshot();
+  }
+
+  /**
+   * 提交：对比全部已跟踪聚合根的变更，并在同一事务内统一持久化
+   *
+   * @return 各聚合根的变更结果（按跟踪顺序）
+   */
+  public List<AggregateChanges> commit() {
+    checkActive();
+    List<AggregateChanges> changesList = new ArrayList<>(trackedOrder.size());
+    for (TrackedAggregate tracked : trackedOrder) {
+      changesList.add(
+          aggregateTracker.compareChanges(
+              tracked.snapshot(), tracked.aggregateRoot(), tracked.entityDoMapping()));
+    }
+
+    transactionTemplate.executeWithoutResult(
+        status -> changesList.forEach(persistenceManager::persist));
+    completed = true;
+    return changesList;
+  }
+
+  /** 关闭工作单元：解除线程绑定（未提交的变更直接丢弃） */
+  @Override
+  public void close() {
+    completed = true;
+    trackedAggregates.clear();
+    trackedOrder.clear();
+    if (CURRENT.get() == this) {
+      if (outer == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(outer);
+      }
+    }
+  }
+
+  private void checkActive() {
+    if (completed) {
+      throw new IllegalStateException("UnitOfWork已提交或关闭");
+    }
+  }
+
+  private record TrackedAggregate(
+      AggregateRoot aggregateRoot,
+      Map<Class<?>, Class<?>> entityDoMapping,
+      AggregateSnapshot snapshot) {}
+}
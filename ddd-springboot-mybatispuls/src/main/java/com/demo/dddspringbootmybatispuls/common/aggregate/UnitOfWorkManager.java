@@ -0,0 +1,47 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 工作单元管理器：为每个请求/命令创建独立的{@link UnitOfWork}，并绑定到当前线程
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class UnitOfWorkManager {
+  @Autowired private AggregateTracker aggregateTracker;
+  @Autowired private AggregatePersistenceManager aggregatePersistenceManager;
+  private final TransactionTemplate transactionTemplate;
+
+  @Autowired
+  public UnitOfWorkManager(PlatformTransactionManager transactionManager) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * 开启工作单元并绑定当前线程，需配合try-with-resources使用
+   *
+   * @return 新的工作单元
+   */
+  public UnitOfWork begin() {
+    return new UnitOfWork(aggregateTracker, aggregatePersistenceManager, transactionTemplate);
+  }
+
+  /**
+   * 在独立工作单元内执行命令，正常返回后自动提交
+   *
+   * @param command 命令逻辑（跟踪并修改聚合根）
+   * @return 各聚合根的变更结果
+   */
+  public List<AggregateChanges> execute(Consumer<UnitOfWork> command) {
+    try (UnitOfWork unitOfWork = begin()) {
+      command.accept(unitOfWork);
+      return unitOfWork.commit();
+    }
+  }
+}
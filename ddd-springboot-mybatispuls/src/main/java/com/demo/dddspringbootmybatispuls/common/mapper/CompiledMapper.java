@@ -0,0 +1,29 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import java.util.Set;
+
+/**
+ * 编译期生成的映射器：由{@link StructMapping}注解处理器生成，经ServiceLoader发现
+ *
+ * <p>生成的代码不使用规则参数，仅用于无动态规则、未注册默认规则的类型对
+ *
+ * @author zhangshaolong
+ */
+interface CompiledMapper extends GeneratedMapper {
+
+  Class<?> sourceType();
+
+  Class<?> targetType();
+
+  /** 是否按构造参数创建目标对象（record） */
+  boolean constructorBased();
+
+  /**
+   * 差异补丁：仅写入与目标当前值不同的字段
+   *
+   * @param source 源对象
+   * @param target 目标对象
+   * @return 变更的目标字段名
+   */
+  Set<String> patch(Object source, Object target);
+}
@@ -0,0 +1,56 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * 编译期生成映射器的注册表：类加载时经ServiceLoader一次性发现
+ *
+ * <p>-Dstruct.mapper.compiled=false时不加载，全部走运行期映射计划（用于对比测试）
+ *
+ * @author zhangshaolong
+ */
+final class CompiledMappers {
+  /** (源类型, 目标类型)→生成的映射器 */
+  private static final Map<Pair, CompiledMapper> MAPPERS = load();
+
+  // 私有构造器：禁止实例化
+  private CompiledMappers() {}
+
+  /** 查找生成的映射器（不存在时返回null） */
+  static CompiledMapper find(Class<?> sourceClass, Class<?> targetClass) {
+    return MAPPERS.get(new Pair(sourceClass, targetClass));
+  }
+
+  private static Map<Pair, CompiledMapper> load() {
+    if (!Boolean.parseBoolean(System.getProperty("struct.mapper.compiled", "true"))) {
+      return Map.of();
+    }
+    Map<Pair, CompiledMapper> mappers = new HashMap<>();
+    Iterator<CompiledMapper> iterator =
+        ServiceLoader.load(CompiledMapper.class, CompiledMappers.class.getClassLoader()).iterator();
+    while (iterator.hasNext()) {
+      CompiledMapper mapper;
+      try {
+        mapper = iterator.next();
+      } catch (ServiceConfigurationError e) {
+        // 残留的失效声明（如未clean的增量编译）：跳过，该类型对退回运行期映射
+        continue;
+      }
+      Pair pair = new Pair(mapper.sourceType(), mapper.targetType());
+      if (mappers.put(pair, mapper) != null) {
+        throw new IllegalStateException(
+            "存在重复的编译期映射器：源类型="
+                + pair.sourceClass().getName()
+                + "，目标类型="
+                + pair.targetClass().getName());
+      }
+    }
+    return Map.copyOf(mappers);
+  }
+
+  private record Pair(Class<?> sourceClass, Class<?> targetClass) {}
+}
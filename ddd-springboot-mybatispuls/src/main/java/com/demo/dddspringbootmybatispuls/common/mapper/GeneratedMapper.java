@@ -0,0 +1,31 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import java.util.List;
+
+/**
+ * 生成的映射器：每个{@link MappingPlan}对应一个由{@link MappingCodeGenerator}生成的隐藏类实现
+ *
+ * @author zhangshaolong
+ */
+interface GeneratedMapper {
+
+  /**
+   * 创建目标对象（无参构造器，或按构造参数一次性创建）
+   *
+   * @param source 源对象
+   * @param rules 本次调用的规则
+   * @param context 映射上下文（未开启引用跟踪时为null）
+   * @return 目标对象
+   */
+  Object newInstance(Object source, List<?> rules, MappingContext context);
+
+  /**
+   * 将源对象映射到目标对象（基础拷贝、忽略字段、规则步骤均已展开为直线代码）
+   *
+   * @param source 源对象
+   * @param target 目标对象
+   * @param rules 本次调用的规则（按下标取转换器/全局处理器）
+   * @param context 映射上下文（未开启引用跟踪时为null）
+   */
+  void map(Object source, Object target, List<?> rules, MappingContext context);
+}
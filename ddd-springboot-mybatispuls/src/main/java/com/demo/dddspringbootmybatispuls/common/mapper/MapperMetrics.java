@@ -0,0 +1,30 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+/**
+ * 映射计划缓存统计快照（进程启动以来的累计值）
+ *
+ * @param planHits 计划缓存命中次数（每次映射调用一次查找）
+ * @param planMisses 计划缓存未命中次数
+ * @param planCompilations 编译（创建）计划次数，并发未命中时不重复编译
+ * @param buildTimePlans 其中使用编译期生成映射器的计划数
+ * @param compilationNanos 编译计划累计耗时（纳秒，含隐藏类生成）
+ * @author zhangshaolong
+ */
+public record MapperMetrics(
+    long planHits,
+    long planMisses,
+    long planCompilations,
+    long buildTimePlans,
+    long compilationNanos) {
+
+  /** 命中率（无查找时为0） */
+  public double hitRatio() {
+    long lookups = planHits + planMisses;
+    return lookups == 0 ? 0D : (double) planHits / lookups;
+  }
+
+  /** 平均每次编译耗时（毫秒，无编译时为0） */
+  public double averageCompilationMillis() {
+    return planCompilations == 0 ? 0D : compilationNanos / 1_000_000D / planCompilations;
+  }
+}
@@ -0,0 +1,528 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import com.demo.dddspringbootmybatispuls.common.reflect.Instantiators;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessor;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessors;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+/**
+ * 映射器字节码生成：把映射计划展开为一个隐藏类（Hidden Class）的直线代码
+ *
+ * <p>源/目标类型及其getter/setter可从本包直接访问时生成invokevirtual直接调用，否则退化为调用预编译的属性访问器，基本类型按包装类型装箱/拆箱
+ *
+ * <p>类型转换器为可直接访问的静态方法时生成invokestatic，基本类型的参数/返回值直接在栈上传递，不装箱
+ *
+ * <p>生成的方法不含分支，无需计算栈帧；隐藏类与映射计划同生命周期，计划被回收后可随之卸载
+ *
+ * @author zhangshaolong
+ */
+final class MappingCodeGenerator implements Opcodes {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final ClassLoader LOADER = MappingCodeGenerator.class.getClassLoader();
+
+  private static final String CLASS_NAME = Type.getInternalName(MappingPlan.class) + "$$Mapper";
+  private static final String OBJECT = Type.getInternalName(Object.class);
+  private static final String CONSTANTS_DESC = Type.getDescriptor(Object[].class);
+  private static final String MAP_DESC =
+      MethodType.methodType(
+              void.class, Object.class, Object.class, List.class, MappingContext.class)
+          .toMethodDescriptorString();
+  private static final String NEW_INSTANCE_DESC =
+      MethodType.methodType(Object.class, Object.class, List.class, MappingContext.class)
+          .toMethodDescriptorString();
+
+  /** 局部变量槽位 map：this, source, target, rules, context, 强类型source, 强类型target */
+  private static final int SOURCE = 1;
+
+  private static final int TARGET = 2;
+  private static final int TYPED_TARGET = 6;
+
+  private final Class<?> sourceClass;
+  private final Class<?> targetClass;
+  private final boolean sourceReferable;
+  private final boolean targetReferable;
+
+  /** 无法直接引用的访问器/类型，经由构造器传入的常量数组访问 */
+  private final List<Object> constants = new ArrayList<>();
+
+  private MethodVisitor mv;
+
+  /** 当前方法中rules、context与强类型source的槽位（newInstance：2、3、4；map：3、4、5） */
+  private int rulesSlot;
+
+  private int contextSlot;
+  private int typedSourceSlot;
+
+  private MappingCodeGenerator(Class<?> sourceClass, Class<?> targetClass) {
+    this.sourceClass = sourceClass;
+    this.targetClass = targetClass;
+    this.sourceReferable = referable(sourceClass);
+    this.targetReferable = referable(targetClass);
+  }
+
+  /**
+   * 生成映射器
+   *
+   * @param sourceClass 源类型
+   * @param targetClass 目标类型
+   * @param creator 带参构造器（使用无参构造器时为null）
+   * @param args 构造参数取值
+   * @param copies 基础拷贝
+   * @param ignoredTargets 置null的目标字段
+   * @param steps 规则步骤
+   * @return 映射器实例
+   */
+  static GeneratedMapper generate(
+      Class<?> sourceClass,
+      Class<?> targetClass,
+      Constructor<?> creator,
+      List<MappingPlan.Arg> args,
+      List<MappingPlan.Copy> copies,
+      List<PropertyAccessor> ignoredTargets,
+      List<MappingPlan.Step> steps) {
+    MappingCodeGenerator generator = new MappingCodeGenerator(sourceClass, targetClass);
+    byte[] bytes = generator.generateClass(creator, args, copies, ignoredTargets, steps);
+    try {
+      Class<?> mapperClass = LOOKUP.defineHiddenClass(bytes, true).lookupClass();
+      return (GeneratedMapper)
+          LOOKUP
+              .findConstructor(mapperClass, MethodType.methodType(void.class, Object[].class))
+              .invoke(generator.constants.toArray());
+    } catch (Throwable e) {
+      throw new IllegalStateException(
+          "生成映射器失败：源类型=" + sourceClass.getName() + "，目标类型=" + targetClass.getName(), e);
+    }
+  }
+
+  private byte[] generateClass(
+      Constructor<?> creator,
+      List<MappingPlan.Arg> args,
+      List<MappingPlan.Copy> copies,
+      List<PropertyAccessor> ignoredTargets,
+      List<MappingPlan.Step> steps) {
+    ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+    cw.visit(
+        V17,
+        ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC,
+        CLASS_NAME,
+        null,
+        OBJECT,
+        new String[] {Type.getInternalName(GeneratedMapper.class)});
+    cw.visitField(ACC_PRIVATE | ACC_FINAL, "constants", CONSTANTS_DESC, null, null).visitEnd();
+
+    // 先生成方法收集常量，常量数组在实例化时传入
+    mv = cw.visitMethod(ACC_PUBLIC, "newInstance", NEW_INSTANCE_DESC, null, null);
+    mv.visitCode();
+    beginMethod(2);
+    if (creator == null) {
+      emitNoArgInstance();
+    } else {
+      emitCreatorInstance(creator, args);
+    }
+    mv.visitInsn(ARETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+
+    mv = cw.visitMethod(ACC_PUBLIC, "map", MAP_DESC, null, null);
+    mv.visitCode();
+    beginMethod(3);
+    if (targetReferable) {
+      mv.visitVarInsn(ALOAD, TARGET);
+      mv.visitTypeInsn(CHECKCAST, Type.getInternalName(targetClass));
+      mv.visitVarInsn(ASTORE, TYPED_TARGET);
+    }
+
+    // 1. 基础映射
+    for (MappingPlan.Copy copy : copies) {
+      emitCopy(copy);
+    }
+
+    // 2. 忽略字段置null
+    for (PropertyAccessor ignoredTarget : ignoredTargets) {
+      Class<?> parameterType = beginWrite(ignoredTarget);
+      mv.visitInsn(ACONST_NULL);
+      convert(Object.class, parameterType);
+      endWrite(ignoredTarget);
+    }
+
+    // 3. 规则步骤
+    for (MappingPlan.Step step : steps) {
+      emitStep(step);
+    }
+    mv.visitInsn(RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+
+    MethodVisitor init =
+        cw.visitMethod(
+            ACC_PUBLIC,
+            "<init>",
+            Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object[].class)),
+            null,
+            null);
+    init.visitCode();
+    init.visitVarInsn(ALOAD, 0);
+    init.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+    init.visitVarInsn(ALOAD, 0);
+    init.visitVarInsn(ALOAD, 1);
+    init.visitFieldInsn(PUTFIELD, CLASS_NAME, "constants", CONSTANTS_DESC);
+    init.visitInsn(RETURN);
+    init.visitMaxs(0, 0);
+    init.visitEnd();
+
+    cw.visitEnd();
+    return cw.toByteArray();
+  }
+
+  /** 记录rules槽位，context与强类型source紧随其后 */
+  private void beginMethod(int rulesSlot) {
+    this.rulesSlot = rulesSlot;
+    this.contextSlot = rulesSlot + 1;
+    this.typedSourceSlot = rulesSlot + 2;
+    if (sourceReferable) {
+      mv.visitVarInsn(ALOAD, SOURCE);
+      mv.visitTypeInsn(CHECKCAST, Type.getInternalName(sourceClass));
+      mv.visitVarInsn(ASTORE, typedSourceSlot);
+    }
+  }
+
+  /** new T()，无法直接访问构造器时调用缓存的实例化器 */
+  private void emitNoArgInstance() {
+    Constructor<?> constructor = publicConstructor(targetClass);
+    if (targetReferable && constructor != null) {
+      mv.visitTypeInsn(NEW, Type.getInternalName(targetClass));
+      mv.visitInsn(DUP);
+      mv.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(targetClass), "<init>", "()V", false);
+      return;
+    }
+    pushConstant(Instantiators.supplier(targetClass), Supplier.class);
+    invokeInterface(Supplier.class, "get", Object.class);
+  }
+
+  /** new T(arg0, arg1, ...)，无法直接访问构造器时按参数数组调用预编译的构造函数 */
+  private void emitCreatorInstance(Constructor<?> creator, List<MappingPlan.Arg> args) {
+    Class<?>[] parameterTypes = creator.getParameterTypes();
+    boolean direct = targetReferable && Modifier.isPublic(creator.getModifiers());
+    for (Class<?> parameterType : parameterTypes) {
+      direct &= referable(parameterType);
+    }
+    if (direct) {
+      mv.visitTypeInsn(NEW, Type.getInternalName(targetClass));
+      mv.visitInsn(DUP);
+      for (int i = 0; i < parameterTypes.length; i++) {
+        emitArg(args.get(i), parameterTypes[i]);
+      }
+      mv.visitMethodInsn(
+          INVOKESPECIAL,
+          Type.getInternalName(targetClass),
+          "<init>",
+          Type.getConstructorDescriptor(creator),
+          false);
+      return;
+    }
+    pushConstant(Instantiators.compileCreator(creator), Function.class);
+    mv.visitLdcInsn(parameterTypes.length);
+    mv.visitTypeInsn(ANEWARRAY, OBJECT);
+    for (int i = 0; i < parameterTypes.length; i++) {
+      mv.visitInsn(DUP);
+      mv.visitLdcInsn(i);
+      emitArg(args.get(i), Object.class);
+      mv.visitInsn(AASTORE);
+    }
+    invokeInterface(Function.class, "apply", Object.class, Object.class);
+  }
+
+  private void emitArg(MappingPlan.Arg arg, Class<?> type) {
+    if (arg.step() != null) {
+      emitStepValue(arg.step(), type);
+    } else if (arg.copy() != null) {
+      emitCopyValue(arg.copy(), type);
+    } else {
+      emitDefault(type);
+    }
+  }
+
+  /** 默认值：null/0/false */
+  private void emitDefault(Class<?> type) {
+    if (type == long.class) {
+      mv.visitInsn(LCONST_0);
+    } else if (type == float.class) {
+      mv.visitInsn(FCONST_0);
+    } else if (type == double.class) {
+      mv.visitInsn(DCONST_0);
+    } else if (type.isPrimitive()) {
+      mv.visitInsn(ICONST_0);
+    } else {
+      mv.visitInsn(ACONST_NULL);
+    }
+  }
+
+  private void emitCopy(MappingPlan.Copy copy) {
+    Class<?> parameterType = beginWrite(copy.target());
+    emitCopyValue(copy, parameterType);
+    endWrite(copy.target());
+  }
+
+  /** 读取源字段并按拷贝方式转换为type */
+  private void emitCopyValue(MappingPlan.Copy copy, Class<?> parameterType) {
+    switch (copy.kind()) {
+      case DIRECT -> convert(emitRead(copy.source()), parameterType);
+      case CONVERTED -> emitConverted(copy.source(), copy.converter(), parameterType);
+      case NESTED -> {
+        convert(emitRead(copy.source()), Object.class);
+        pushConstant(copy.nested(), NestedMapping.class);
+        mv.visitVarInsn(ALOAD, contextSlot);
+        invokeRuntime("mapNested", Object.class, NestedMapping.class, MappingContext.class);
+        convert(Object.class, parameterType);
+      }
+      case LIST, SET -> {
+        convert(emitRead(copy.source()), Object.class);
+        pushConstant(copy.nested(), NestedMapping.class);
+        mv.visitInsn(copy.kind() == MappingPlan.CopyKind.SET ? ICONST_1 : ICONST_0);
+        mv.visitVarInsn(ALOAD, contextSlot);
+        invokeRuntime(
+            "mapCollection",
+            Object.class,
+            NestedMapping.class,
+            boolean.class,
+            MappingContext.class);
+        convert(Object.class, parameterType);
+      }
+    }
+  }
+
+  private void emitStep(MappingPlan.Step step) {
+    if (step.source() == null) {
+      // rules.get(i).getGlobalHandler().accept(source, target)
+      pushRule(step.ruleIndex(), "getGlobalHandler", BiConsumer.class);
+      mv.visitVarInsn(ALOAD, SOURCE);
+      mv.visitVarInsn(ALOAD, TARGET);
+      invokeInterface(BiConsumer.class, "accept", void.class, Object.class, Object.class);
+      return;
+    }
+    Class<?> parameterType = beginWrite(step.target());
+    emitStepValue(step, parameterType);
+    endWrite(step.target());
+  }
+
+  /** 读取源字段（经转换器）并转换为type */
+  private void emitStepValue(MappingPlan.Step step, Class<?> parameterType) {
+    if (step.converted()) {
+      // rules.get(i).getConverter().apply(value, source)
+      pushRule(step.ruleIndex(), "getConverter", BiFunction.class);
+      convert(emitRead(step.source()), Object.class);
+      mv.visitVarInsn(ALOAD, SOURCE);
+      invokeInterface(BiFunction.class, "apply", Object.class, Object.class, Object.class);
+      convert(Object.class, parameterType);
+    } else if (step.converter() != null) {
+      emitConverted(step.source(), step.converter(), parameterType);
+    } else {
+      Class<?> valueType = emitRead(step.source());
+      if (valueType != parameterType) {
+        // 重命名字段类型不一致时按对象传递，与访问器写入行为一致
+        convert(valueType, Object.class);
+        convert(Object.class, parameterType);
+      }
+    }
+  }
+
+  /** 读取源属性并经类型转换器转换：静态方法直接调用，自定义函数经常量数组调用 */
+  private void emitConverted(
+      PropertyAccessor source, TypeConverters.Converter converter, Class<?> parameterType) {
+    Method method = converter.method();
+    if (method != null && invokable(method) && referable(method.getDeclaringClass())) {
+      convert(emitRead(source), method.getParameterTypes()[0]);
+      mv.visitMethodInsn(
+          INVOKESTATIC,
+          Type.getInternalName(method.getDeclaringClass()),
+          method.getName(),
+          Type.getMethodDescriptor(method),
+          false);
+      convert(method.getReturnType(), parameterType);
+      return;
+    }
+    pushConstant(converter.function(), Function.class);
+    convert(emitRead(source), Object.class);
+    invokeInterface(Function.class, "apply", Object.class, Object.class);
+    convert(Object.class, parameterType);
+  }
+
+  /** 读取源属性，返回栈顶值的类型 */
+  private Class<?> emitRead(PropertyAccessor accessor) {
+    Method readMethod = accessor.getReadMethod();
+    if (sourceReferable && invokable(readMethod)) {
+      mv.visitVarInsn(ALOAD, typedSourceSlot);
+      invokeVirtual(sourceClass, readMethod);
+      return readMethod.getReturnType();
+    }
+    pushConstant(accessor.getGetter(), Function.class);
+    mv.visitVarInsn(ALOAD, SOURCE);
+    invokeInterface(Function.class, "apply", Object.class, Object.class);
+    return Object.class;
+  }
+
+  /** 压入写入目标（setter接收者），返回待写入值应转换成的类型 */
+  private Class<?> beginWrite(PropertyAccessor accessor) {
+    Method writeMethod = accessor.getWriteMethod();
+    if (targetReferable && invokable(writeMethod)) {
+      mv.visitVarInsn(ALOAD, TYPED_TARGET);
+      return writeMethod.getParameterTypes()[0];
+    }
+    pushConstant(accessor.getSetter(), BiConsumer.class);
+    mv.visitVarInsn(ALOAD, TARGET);
+    return Object.class;
+  }
+
+  private void endWrite(PropertyAccessor accessor) {
+    Method writeMethod = accessor.getWriteMethod();
+    if (targetReferable && invokable(writeMethod)) {
+      invokeVirtual(targetClass, writeMethod);
+      if (writeMethod.getReturnType() != void.class) {
+        // 链式setter
+        mv.visitInsn(Type.getType(writeMethod.getReturnType()).getSize() == 2 ? POP2 : POP);
+      }
+      return;
+    }
+    invokeInterface(BiConsumer.class, "accept", void.class, Object.class, Object.class);
+  }
+
+  /** 栈顶值类型转换：装箱、拆箱或checkcast */
+  private void convert(Class<?> from, Class<?> to) {
+    if (from == to) {
+      return;
+    }
+    if (from.isPrimitive()) {
+      Class<?> wrapper = PropertyAccessors.wrap(from);
+      mv.visitMethodInsn(
+          INVOKESTATIC,
+          Type.getInternalName(wrapper),
+          "valueOf",
+          Type.getMethodDescriptor(Type.getType(wrapper), Type.getType(from)),
+          false);
+      from = wrapper;
+    }
+    if (to.isPrimitive()) {
+      Class<?> wrapper = PropertyAccessors.wrap(to);
+      if (from != wrapper) {
+        mv.visitTypeInsn(CHECKCAST, Type.getInternalName(wrapper));
+      }
+      mv.visitMethodInsn(
+          INVOKEVIRTUAL,
+          Type.getInternalName(wrapper),
+          to.getName() + "Value",
+          Type.getMethodDescriptor(Type.getType(to)),
+          false);
+    } else if (!to.isAssignableFrom(from)) {
+      mv.visitTypeInsn(CHECKCAST, Type.getInternalName(to));
+    }
+  }
+
+  /** rules.get(index).getter() */
+  private void pushRule(int index, String getter, Class<?> returnType) {
+    mv.visitVarInsn(ALOAD, rulesSlot);
+    mv.visitLdcInsn(index);
+    invokeInterface(List.class, "get", Object.class, int.class);
+    mv.visitTypeInsn(CHECKCAST, Type.getInternalName(MappingRule.class));
+    mv.visitMethodInsn(
+        INVOKEVIRTUAL,
+        Type.getInternalName(MappingRule.class),
+        getter,
+        Type.getMethodDescriptor(Type.getType(returnType)),
+        false);
+  }
+
+  /** this.constants[i]，按type转换 */
+  private void pushConstant(Object constant, Class<?> type) {
+    int index = constants.indexOf(constant);
+    if (index < 0) {
+      index = constants.size();
+      constants.add(constant);
+    }
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitFieldInsn(GETFIELD, CLASS_NAME, "constants", CONSTANTS_DESC);
+    mv.visitLdcInsn(index);
+    mv.visitInsn(AALOAD);
+    mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+  }
+
+  private void invokeRuntime(String name, Class<?>... parameterTypes) {
+    mv.visitMethodInsn(
+        INVOKESTATIC,
+        Type.getInternalName(MappingRuntime.class),
+        name,
+        MethodType.methodType(Object.class, parameterTypes).toMethodDescriptorString(),
+        false);
+  }
+
+  private void invokeInterface(
+      Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+    mv.visitMethodInsn(
+        INVOKEINTERFACE,
+        Type.getInternalName(owner),
+        name,
+        MethodType.methodType(returnType, parameterTypes).toMethodDescriptorString(),
+        true);
+  }
+
+  private void invokeVirtual(Class<?> owner, Method method) {
+    mv.visitMethodInsn(
+        owner.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL,
+        Type.getInternalName(owner),
+        method.getName(),
+        Type.getMethodDescriptor(method),
+        owner.isInterface());
+  }
+
+  private static Constructor<?> publicConstructor(Class<?> type) {
+    try {
+      return type.getConstructor();
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /** 公开方法且签名中的类型均可直接引用时，生成直接调用 */
+  private static boolean invokable(Method method) {
+    if (method == null || !Modifier.isPublic(method.getModifiers())) {
+      return false;
+    }
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      if (!referable(parameterType)) {
+        return false;
+      }
+    }
+    return referable(method.getReturnType());
+  }
+
+  /** 类型可在生成的类中直接引用：基本类型，或公开且与本类同一类加载器可见 */
+  private static boolean referable(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    if (!Modifier.isPublic(type.getModifiers())) {
+      return false;
+    }
+    try {
+      return Class.forName(type.getName(), false, LOADER) == type;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 映射上下文：按源对象身份记录已映射的目标对象，处理共享引用与循环引用 非线程安全，仅用于单次映射调用
+ *
+ * <p>同一源对象在一次映射中只映射一次，再次出现时复用同一目标对象；无参构造的目标先登记再填充字段，循环引用可正常闭合
+ *
+ * <p>按构造参数创建的目标（record/全参构造器）在构造完成前无法被引用，构造过程中遇到循环引用时抛出异常
+ *
+ * @author zhangshaolong
+ */
+public final class MappingContext {
+  /** 构造中占位 */
+  private static final Object CONSTRUCTING = new Object();
+
+  /** 源对象→目标对象（按身份比较；同一源对象映射为不同目标类型时后者覆盖前者） */
+  private final Map<Object, Object> mapped = new IdentityHashMap<>();
+
+  /** 已映射的目标对象（未映射或类型不符时返回null） */
+  Object lookup(Object source, Class<?> targetClass) {
+    Object target = mapped.get(source);
+    if (target == CONSTRUCTING) {
+      throw new IllegalStateException("循环引用无法通过构造器创建：目标类型=" + targetClass.getName());
+    }
+    return targetClass.isInstance(target) ? target : null;
+  }
+
+  /** 标记源对象正在按构造参数创建 */
+  void constructing(Object source) {
+    mapped.put(source, CONSTRUCTING);
+  }
+
+  /** 登记已创建的目标对象 */
+  void register(Object source, Object target) {
+    mapped.put(source, target);
+  }
+}
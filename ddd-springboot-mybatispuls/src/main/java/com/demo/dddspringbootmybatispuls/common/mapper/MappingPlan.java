@@ -0,0 +1,554 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import com.demo.dddspringbootmybatispuls.common.reflect.Instantiators;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessor;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessors;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.core.ResolvableType;
+
+/**
+ * 映射计划：(源类型, 目标类型, 规则结构)预编译后的映射步骤 不可变设计，线程安全
+ *
+ * <p>编译期解析完字段访问器、忽略字段集合与规则步骤，运行期只按数组顺序执行，不再遍历/过滤规则、拼接key或反射查找字段
+ *
+ * <p>计划只依赖规则的结构（类型+字段名），转换器/全局处理器按下标从本次调用的规则中取用，同一调用点每次新建的lambda也能复用同一计划
+ *
+ * <p>编译结果由{@link MappingCodeGenerator}生成为隐藏类：基础拷贝（含嵌套对象、集合字段）、忽略字段与规则步骤展开为直线代码，直接调用getter/setter
+ *
+ * <p>目标类型无无参构造器时（record、全参构造器的不可变DTO），构造参数按同名源字段/规则取值，一次分配完成创建
+ *
+ * <p>无规则且存在{@link StructMapping}编译期生成的映射器时直接使用，不再反射解析字段或生成隐藏类
+ *
+ * @author zhangshaolong
+ */
+public final class MappingPlan<S, T> {
+  private final Class<S> sourceClass;
+  private final Class<T> targetClass;
+
+  /** 生成的映射器（实例化 → 基础拷贝 → 忽略字段置null → 规则步骤） */
+  private final GeneratedMapper mapper;
+
+  /** 是否按构造参数创建（构造完成前无法被循环引用，也不支持原地映射） */
+  private final boolean constructorBased;
+
+  /** 基础拷贝、忽略字段与规则步骤（{@link #patch}逐字段比较时使用） */
+  private final Copy[] copies;
+
+  private final PropertyAccessor[] ignoredTargets;
+  private final Step[] steps;
+
+  /** 绑定的规则（{@link #map(Object)}使用，缓存中的计划不绑定规则） */
+  private final List<MappingRule<S, T>> rules;
+
+  private MappingPlan(
+      Class<S> sourceClass,
+      Class<T> targetClass,
+      GeneratedMapper mapper,
+      boolean constructorBased,
+      Copy[] copies,
+      PropertyAccessor[] ignoredTargets,
+      Step[] steps,
+      List<MappingRule<S, T>> rules) {
+    this.sourceClass = sourceClass;
+    this.targetClass = targetClass;
+    this.mapper = mapper;
+    this.constructorBased = constructorBased;
+    this.copies = copies;
+    this.ignoredTargets = ignoredTargets;
+    this.steps = steps;
+    this.rules = rules;
+  }
+
+  /**
+   * 编译映射计划
+   *
+   * @param sourceClass 源类型
+   * @param targetClass 目标类型（需有无参构造器，或为record/全参构造器的类）
+   * @param rules 映射规则（非null）
+   * @return 映射计划
+   */
+  static <S, T> MappingPlan<S, T> compile(
+      Class<S> sourceClass, Class<T> targetClass, List<MappingRule<S, T>> rules) {
+    // 编译期生成的映射器不含规则步骤，仅在无规则时使用
+    CompiledMapper compiled =
+        rules.isEmpty() ? CompiledMappers.find(sourceClass, targetClass) : null;
+    if (compiled != null) {
+      return new MappingPlan<>(
+          sourceClass,
+          targetClass,
+          compiled,
+          compiled.constructorBased(),
+          new Copy[0],
+          new PropertyAccessor[0],
+          new Step[0],
+          rules);
+    }
+
+    // 优先无参构造器；否则按构造参数一次性创建（record/全参构造器）
+    Constructor<?> creator = null;
+    if (Instantiators.supplier(targetClass) == null) {
+      creator = Instantiators.creator(targetClass);
+      if (creator == null) {
+        throw new IllegalArgumentException("目标类缺少无参构造器或全参构造器：" + targetClass.getName());
+      }
+    }
+    Parameter[] parameters = creator == null ? new Parameter[0] : creator.getParameters();
+    Map<String, Integer> parameterIndexes = new HashMap<>();
+    for (int i = 0; i < parameters.length; i++) {
+      parameterIndexes.put(parameters[i].getName(), i);
+    }
+    Arg[] args = new Arg[parameters.length];
+
+    Set<PropertyAccessor> ignored = new LinkedHashSet<>();
+    Set<String> ruleTargets = new HashSet<>();
+    boolean hasGlobalRule = false;
+    List<Step> steps = new ArrayList<>(rules.size());
+    for (int i = 0; i < rules.size(); i++) {
+      MappingRule<S, T> rule = rules.get(i);
+      Integer parameterIndex = parameterIndexes.get(rule.getTargetField());
+      if (rule.isIgnore()) {
+        if (parameterIndex != null) {
+          // 构造参数传默认值
+          args[parameterIndex] = Arg.DEFAULT;
+          continue;
+        }
+        // 忽略字段不存在、不可写或为基本类型时无法置null，直接跳过
+        PropertyAccessor accessor = PropertyAccessors.find(targetClass, rule.getTargetField());
+        if (accessor != null && accessor.isWritable() && !accessor.getType().isPrimitive()) {
+          ignored.add(accessor);
+        }
+      } else if (rule.isGlobalRule()) {
+        hasGlobalRule = true;
+        steps.add(new Step(i, null, null, false, null));
+      } else if (parameterIndex != null) {
+        args[parameterIndex] =
+            new Arg(
+                step(
+                    i,
+                    rule,
+                    requireAccessor(sourceClass, rule.getSourceField(), rule),
+                    null,
+                    parameters[parameterIndex].getType()),
+                null);
+      } else {
+        ruleTargets.add(rule.getTargetField());
+        PropertyAccessor target = requireWritable(targetClass, rule.getTargetField(), rule);
+        steps.add(
+            step(
+                i,
+                rule,
+                requireAccessor(sourceClass, rule.getSourceField(), rule),
+                target,
+                target.getType()));
+      }
+    }
+
+    // 未被规则指定的构造参数按同名源字段取值，无对应字段时传默认值
+    for (int i = 0; i < parameters.length; i++) {
+      if (args[i] != null) {
+        continue;
+      }
+      PropertyAccessor source = PropertyAccessors.find(sourceClass, parameters[i].getName());
+      Copy copy =
+          source == null
+              ? null
+              : resolveCopy(
+                  source,
+                  sourceClass,
+                  null,
+                  parameters[i].getType(),
+                  ResolvableType.forConstructorParameter(creator, i));
+      args[i] = copy == null ? Arg.DEFAULT : new Arg(null, copy);
+    }
+
+    // 构造参数已赋值；忽略字段随后置null；规则目标字段随后被覆盖（全局处理器可能读取基础拷贝结果，存在时不跳过）
+    Set<String> skipped = new HashSet<>(parameterIndexes.keySet());
+    ignored.forEach(accessor -> skipped.add(accessor.getName()));
+    if (!hasGlobalRule) {
+      skipped.addAll(ruleTargets);
+    }
+    List<Copy> copies = resolveCopies(sourceClass, targetClass, skipped);
+    GeneratedMapper mapper =
+        MappingCodeGenerator.generate(
+            sourceClass, targetClass, creator, List.of(args), copies, List.copyOf(ignored), steps);
+    return new MappingPlan<>(
+        sourceClass,
+        targetClass,
+        mapper,
+        creator != null,
+        copies.toArray(new Copy[0]),
+        ignored.toArray(new PropertyAccessor[0]),
+        steps.toArray(new Step[0]),
+        rules);
+  }
+
+  /** 字段规则步骤：无自定义转换器且类型不一致时使用注册的类型转换器 */
+  private static Step step(
+      int ruleIndex,
+      MappingRule<?, ?> rule,
+      PropertyAccessor source,
+      PropertyAccessor target,
+      Class<?> targetType) {
+    boolean converted = rule.getConverter() != null;
+    TypeConverters.Converter converter =
+        converted || source.getType() == targetType
+            ? null
+            : TypeConverters.find(source.getType(), targetType);
+    return new Step(ruleIndex, source, target, converted, converter);
+  }
+
+  /**
+   * 解析基础拷贝：目标可写字段按同名源字段匹配
+   *
+   * <ul>
+   *   <li>类型相同：直接赋值（集合元素类型不同时按集合映射）
+   *   <li>基本类型→对应包装类型：装箱后赋值
+   *   <li>已注册类型转换器（见{@link TypeConverters}）：经转换器赋值
+   *   <li>均为业务对象：递归映射为目标类型
+   *   <li>集合→List/Set：逐个元素映射为目标元素类型
+   * </ul>
+   *
+   * 其余类型不一致的字段不拷贝
+   */
+  private static List<Copy> resolveCopies(
+      Class<?> sourceClass, Class<?> targetClass, Set<String> skipped) {
+    List<Copy> copies = new ArrayList<>();
+    for (PropertyAccessor target : PropertyAccessors.of(targetClass)) {
+      if (!target.isWritable() || skipped.contains(target.getName())) {
+        continue;
+      }
+      PropertyAccessor source = PropertyAccessors.find(sourceClass, target.getName());
+      if (source == null) {
+        continue;
+      }
+      Copy copy =
+          resolveCopy(
+              source,
+              sourceClass,
+              target,
+              target.getType(),
+              ResolvableType.forField(target.getField(), targetClass));
+      if (copy != null) {
+        copies.add(copy);
+      }
+    }
+    return copies;
+  }
+
+  /** 按源/目标类型确定拷贝方式（无法拷贝时返回null） */
+  private static Copy resolveCopy(
+      PropertyAccessor source,
+      Class<?> sourceClass,
+      PropertyAccessor target,
+      Class<?> targetType,
+      ResolvableType targetGenericType) {
+    Class<?> sourceType = source.getType();
+    if (Collection.class.isAssignableFrom(sourceType)) {
+      CopyKind collectionKind = collectionKind(targetType);
+      Class<?> sourceElement =
+          ResolvableType.forField(source.getField(), sourceClass).asCollection().resolveGeneric(0);
+      Class<?> targetElement = targetGenericType.asCollection().resolveGeneric(0);
+      if (collectionKind != null
+          && sourceElement != null
+          && targetElement != null
+          && sourceElement != targetElement
+          && isBean(sourceElement)
+          && isBean(targetElement)) {
+        return new Copy(source, target, collectionKind, new NestedMapping(targetElement), null);
+      }
+    }
+    if (sourceType == targetType
+        || (sourceType.isPrimitive() && PropertyAccessors.wrap(sourceType) == targetType)) {
+      return new Copy(source, target, CopyKind.DIRECT, null, null);
+    }
+    TypeConverters.Converter converter = TypeConverters.find(sourceType, targetType);
+    if (converter != null) {
+      return new Copy(source, target, CopyKind.CONVERTED, null, converter);
+    }
+    if (isBean(sourceType) && isBean(targetType)) {
+      return new Copy(source, target, CopyKind.NESTED, new NestedMapping(targetType), null);
+    }
+    return null;
+  }
+
+  private static CopyKind collectionKind(Class<?> type) {
+    if (type == List.class || type == Collection.class || type == ArrayList.class) {
+      return CopyKind.LIST;
+    }
+    if (type == Set.class || type == HashSet.class || type == LinkedHashSet.class) {
+      return CopyKind.SET;
+    }
+    return null;
+  }
+
+  /** 业务对象：非JDK类型的具体类，且可实例化（可递归映射） */
+  private static boolean isBean(Class<?> type) {
+    if (type.isPrimitive()
+        || type.isArray()
+        || type.isEnum()
+        || type.isInterface()
+        || Modifier.isAbstract(type.getModifiers())
+        || type.getName().startsWith("java")) {
+      return false;
+    }
+    return Instantiators.isInstantiable(type);
+  }
+
+  /** 使用绑定的规则映射（通过{@link StructMapper#plan}获取的计划） */
+  public T map(S source) {
+    return map(source, (MappingContext) null);
+  }
+
+  /**
+   * 使用绑定的规则映射，按映射上下文复用共享引用/闭合循环引用
+   *
+   * @param source 源对象
+   * @param context 映射上下文（为null时不跟踪引用）
+   * @return 目标对象
+   */
+  public T map(S source, MappingContext context) {
+    if (rules == null) {
+      throw new IllegalStateException("映射计划未绑定规则");
+    }
+    return map(source, rules, context);
+  }
+
+  /**
+   * 映射单个对象
+   *
+   * @param source 源对象（类型须与计划的源类型一致）
+   * @param boundRules 与计划结构一致的规则（提供本次调用的转换器/全局处理器）
+   * @param context 映射上下文（为null时不跟踪引用）
+   * @return 目标对象
+   */
+  @SuppressWarnings("unchecked")
+  T map(S source, List<MappingRule<S, T>> boundRules, MappingContext context) {
+    if (context == null) {
+      T target = (T) mapper.newInstance(source, boundRules, null);
+      mapper.map(source, target, boundRules, null);
+      return target;
+    }
+    Object mapped = context.lookup(source, targetClass);
+    if (mapped != null) {
+      return (T) mapped;
+    }
+    if (constructorBased) {
+      context.constructing(source);
+    }
+    T target = (T) mapper.newInstance(source, boundRules, context);
+    // 先登记再填充字段：字段中回指本对象的引用直接复用
+    context.register(source, target);
+    mapper.map(source, target, boundRules, context);
+    return target;
+  }
+
+  /**
+   * 原地映射：将源对象映射到已有的目标对象（复用目标实例，不新建对象）
+   *
+   * @param source 源对象
+   * @param target 目标对象（类型须与计划的目标类型一致）
+   * @param boundRules 与计划结构一致的规则
+   */
+  void mapInto(S source, T target, List<MappingRule<S, T>> boundRules) {
+    requireMutableTarget();
+    mapper.map(source, target, boundRules, null);
+  }
+
+  /**
+   * 差异补丁：仅写入与目标当前值不同的字段（按equals比较）
+   *
+   * <p>全局处理器照常执行，其修改不计入变更集合；同一字段被基础拷贝与规则先后写入时按最终值与原值比较
+   *
+   * @param source 源对象
+   * @param target 目标对象（类型须与计划的目标类型一致）
+   * @param boundRules 与计划结构一致的规则
+   * @return 变更的目标字段名（按写入顺序）
+   */
+  Set<String> patch(S source, T target, List<MappingRule<S, T>> boundRules) {
+    requireMutableTarget();
+    if (mapper instanceof CompiledMapper compiled) {
+      return compiled.patch(source, target);
+    }
+    // 字段→写入前的原值（按首次写入顺序）
+    Map<PropertyAccessor, Object> originals = new LinkedHashMap<>();
+    // 1. 基础映射
+    for (Copy copy : copies) {
+      Object value = copy.source().get(source);
+      value =
+          switch (copy.kind()) {
+            case DIRECT -> value;
+            case CONVERTED -> copy.converter().function().apply(value);
+            case NESTED -> MappingRuntime.mapNested(value, copy.nested(), null);
+            case LIST -> MappingRuntime.mapCollection(value, copy.nested(), false, null);
+            case SET -> MappingRuntime.mapCollection(value, copy.nested(), true, null);
+          };
+      patchField(copy.target(), target, value, originals);
+    }
+    // 2. 忽略字段置null
+    for (PropertyAccessor ignoredTarget : ignoredTargets) {
+      patchField(ignoredTarget, target, null, originals);
+    }
+    // 3. 规则步骤
+    for (Step step : steps) {
+      MappingRule<S, T> rule = boundRules.get(step.ruleIndex());
+      if (step.source() == null) {
+        rule.getGlobalHandler().accept(source, target);
+        continue;
+      }
+      Object value = step.source().get(source);
+      if (step.converted()) {
+        value = rule.getConverter().apply(value, source);
+      } else if (step.converter() != null) {
+        value = step.converter().function().apply(value);
+      }
+      patchField(step.target(), target, value, originals);
+    }
+    // 4. 最终值与原值不同的字段
+    Set<String> changed = new LinkedHashSet<>();
+    originals.forEach(
+        (accessor, original) -> {
+          if (!Objects.equals(accessor.get(target), original)) {
+            changed.add(accessor.getName());
+          }
+        });
+    return changed;
+  }
+
+  private static void patchField(
+      PropertyAccessor accessor,
+      Object target,
+      Object value,
+      Map<PropertyAccessor, Object> originals) {
+    Object current = accessor.get(target);
+    if (!Objects.equals(current, value)) {
+      originals.putIfAbsent(accessor, current);
+      accessor.set(target, value);
+    }
+  }
+
+  private void requireMutableTarget() {
+    if (constructorBased) {
+      throw new IllegalArgumentException("目标类型按构造参数创建，不支持原地映射：" + targetClass.getName());
+    }
+  }
+
+  public Class<S> getSourceClass() {
+    return sourceClass;
+  }
+
+  public Class<T> getTargetClass() {
+    return targetClass;
+  }
+
+  /** 是否使用编译期生成的映射器 */
+  boolean isBuildTime() {
+    return mapper instanceof CompiledMapper;
+  }
+
+  /** 以另一组结构相同的规则（不同的转换器实例）复用本计划 */
+  MappingPlan<S, T> withRules(List<MappingRule<S, T>> boundRules) {
+    if (boundRules == rules) {
+      return this;
+    }
+    return new MappingPlan<>(
+        sourceClass,
+        targetClass,
+        mapper,
+        constructorBased,
+        copies,
+        ignoredTargets,
+        steps,
+        boundRules);
+  }
+
+  private static PropertyAccessor requireAccessor(
+      Class<?> clazz, String fieldName, MappingRule<?, ?> rule) {
+    PropertyAccessor accessor = fieldName == null ? null : PropertyAccessors.find(clazz, fieldName);
+    if (accessor == null) {
+      throw new IllegalArgumentException(
+          "映射规则错误：字段不存在 → 源字段=" + rule.getSourceField() + "，目标字段=" + rule.getTargetField());
+    }
+    return accessor;
+  }
+
+  private static PropertyAccessor requireWritable(
+      Class<?> clazz, String fieldName, MappingRule<?, ?> rule) {
+    PropertyAccessor accessor = requireAccessor(clazz, fieldName, rule);
+    if (!accessor.isWritable()) {
+      throw new IllegalArgumentException(
+          "映射规则错误：字段访问失败（可能是final字段） → 源字段="
+              + rule.getSourceField()
+              + "，目标字段="
+              + rule.getTargetField());
+    }
+    return accessor;
+  }
+
+  /**
+   * 规则步骤
+   *
+   * @param ruleIndex 规则下标（用于取本次调用的转换器/全局处理器）
+   * @param source 源字段访问器（全局规则为null）
+   * @param target 目标字段访问器（全局规则/构造参数为null）
+   * @param converted 是否有自定义转换器
+   * @param converter 类型转换器（无自定义转换器且源/目标类型不一致时，可为null）
+   */
+  record Step(
+      int ruleIndex,
+      PropertyAccessor source,
+      PropertyAccessor target,
+      boolean converted,
+      TypeConverters.Converter converter) {}
+
+  /**
+   * 基础拷贝
+   *
+   * @param source 源字段访问器
+   * @param target 目标字段访问器（构造参数为null）
+   * @param kind 拷贝方式
+   * @param nested 嵌套对象/集合元素的映射（非嵌套/集合时为null）
+   * @param converter 类型转换器（非转换时为null）
+   */
+  record Copy(
+      PropertyAccessor source,
+      PropertyAccessor target,
+      CopyKind kind,
+      NestedMapping nested,
+      TypeConverters.Converter converter) {}
+
+  /**
+   * 构造参数取值：规则步骤、基础拷贝，或均为null时传默认值（null/0/false）
+   *
+   * @param step 规则步骤
+   * @param copy 基础拷贝
+   */
+  record Arg(Step step, Copy copy) {
+    static final Arg DEFAULT = new Arg(null, null);
+  }
+
+  /** 基础拷贝方式 */
+  enum CopyKind {
+    /** 直接赋值 */
+    DIRECT,
+    /** 经类型转换器赋值 */
+    CONVERTED,
+    /** 嵌套对象递归映射 */
+    NESTED,
+    /** 集合元素逐个映射为ArrayList */
+    LIST,
+    /** 集合元素逐个映射为LinkedHashSet */
+    SET
+  }
+}
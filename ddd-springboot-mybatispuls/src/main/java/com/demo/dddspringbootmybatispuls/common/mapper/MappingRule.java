@@ -1,5 +1,6 @@
 package com.demo.dddspringbootmybatispuls.common.mapper;
 
+import java.math.RoundingMode;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -72,6 +73,19 @@ public final class MappingRule<S, T> {
     return custom(sourceField, targetField, biConverter);
   }
 
+  /**
+   * 固定小数位规则：源字段值（BigDecimal/数值/数字字符串）按指定小数位与舍入方式转换为BigDecimal
+   *
+   * @param sourceField 源字段名
+   * @param targetField 目标字段名（BigDecimal类型）
+   * @param scale 小数位数
+   * @param roundingMode 舍入方式
+   */
+  public static <S, T> MappingRule<S, T> scale(
+      String sourceField, String targetField, int scale, RoundingMode roundingMode) {
+    return custom(sourceField, targetField, TypeConverters.scale(scale, roundingMode));
+  }
+
   /**
    * 全局自定义处理器：支持任意类型的定制化处理，脱离字段绑定
    *
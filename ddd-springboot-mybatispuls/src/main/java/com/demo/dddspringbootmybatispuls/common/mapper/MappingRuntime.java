@@ -0,0 +1,36 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+/**
+ * 生成代码调用的运行期辅助方法：嵌套对象与集合字段的递归映射
+ *
+ * @author zhangshaolong
+ */
+final class MappingRuntime {
+
+  // 私有构造器：禁止实例化
+  private MappingRuntime() {}
+
+  /** 嵌套对象映射（null安全） */
+  static Object mapNested(Object value, NestedMapping mapping, MappingContext context) {
+    return value == null ? null : mapping.map(value, context);
+  }
+
+  /** 集合字段映射：按源集合大小预分配，逐个元素映射为目标元素类型（null安全，元素为null时保留null） */
+  static Object mapCollection(
+      Object value, NestedMapping mapping, boolean asSet, MappingContext context) {
+    if (value == null) {
+      return null;
+    }
+    Collection<?> source = (Collection<?>) value;
+    Collection<Object> target =
+        asSet ? LinkedHashSet.newLinkedHashSet(source.size()) : new ArrayList<>(source.size());
+    for (Object element : source) {
+      target.add(element == null ? null : mapping.map(element, context));
+    }
+    return target;
+  }
+}
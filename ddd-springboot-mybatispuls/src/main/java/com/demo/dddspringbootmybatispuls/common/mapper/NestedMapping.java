@@ -0,0 +1,29 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+/**
+ * 嵌套映射：嵌套对象字段/集合元素的目标类型及其映射计划，随生成的映射器一次创建
+ *
+ * <p>计划在首次映射时解析（避免互相引用的类型在编译期无限递归），按源类型缓存最近一次的计划，运行期不再查找计划缓存或构建规则
+ *
+ * @author zhangshaolong
+ */
+final class NestedMapping {
+  private final Class<?> targetClass;
+
+  /** 最近一次源类型对应的计划（源类型通常固定；计划不可变，并发下最多重复解析） */
+  private MappingPlan<Object, Object> plan;
+
+  NestedMapping(Class<?> targetClass) {
+    this.targetClass = targetClass;
+  }
+
+  /** 映射单个非null对象（使用该类型对注册的默认规则） */
+  Object map(Object value, MappingContext context) {
+    MappingPlan<Object, Object> current = plan;
+    if (current == null || current.getSourceClass() != value.getClass()) {
+      current = StructMapper.defaultPlan(value.getClass(), targetClass);
+      plan = current;
+    }
+    return current.map(value, context);
+  }
+}
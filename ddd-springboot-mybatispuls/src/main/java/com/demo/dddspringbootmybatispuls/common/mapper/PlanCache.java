@@ -0,0 +1,213 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 映射计划缓存：源类型ClassValue → 目标类型 → 规则结构 → 未绑定规则的映射计划
+ *
+ * <p>缓存项挂在生命周期较短的一方类型上：目标类型与源类型同加载器或在其祖先加载器中时存于源类型的条目内，否则存于目标类型的ClassValue中；
+ * devtools重启、插件类加载器卸载时缓存随之释放，不会被另一方长期持有
+ *
+ * <p>查找不构建key：按类型取条目后，与上次的规则结构逐项比较（字段名为常量时按引用命中），不一致才计算规则结构查表
+ *
+ * @author zhangshaolong
+ */
+final class PlanCache {
+  /** 源类型→该源类型的全部缓存项 */
+  private static final ClassValue<SourceEntries> ENTRIES =
+      new ClassValue<>() {
+        @Override
+        protected SourceEntries computeValue(Class<?> sourceClass) {
+          return new SourceEntries(sourceClass);
+        }
+      };
+
+  // ========== 统计 ==========
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+  private static final LongAdder COMPILATIONS = new LongAdder();
+  private static final LongAdder BUILD_TIME_PLANS = new LongAdder();
+  private static final LongAdder COMPILATION_NANOS = new LongAdder();
+
+  // 私有构造器：禁止实例化
+  private PlanCache() {}
+
+  /** 获取未绑定规则的映射计划（不存在时编译并缓存） */
+  @SuppressWarnings("unchecked")
+  static <S, T> MappingPlan<S, T> get(
+      Class<S> sourceClass, Class<T> targetClass, List<MappingRule<S, T>> rules) {
+    return (MappingPlan<S, T>) ENTRIES.get(sourceClass).entry(targetClass).plan(rules);
+  }
+
+  /** 当前统计快照 */
+  static MapperMetrics metrics() {
+    return new MapperMetrics(
+        HITS.sum(),
+        MISSES.sum(),
+        COMPILATIONS.sum(),
+        BUILD_TIME_PLANS.sum(),
+        COMPILATION_NANOS.sum());
+  }
+
+  /** 类加载器ancestor是否为loader自身或其祖先（null为启动类加载器，是所有加载器的祖先） */
+  private static boolean isSameOrAncestor(ClassLoader ancestor, ClassLoader loader) {
+    if (ancestor == null) {
+      return true;
+    }
+    for (ClassLoader current = loader; current != null; current = current.getParent()) {
+      if (current == ancestor) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** 某一源类型的缓存项：随源类型卸载释放 */
+  private static final class SourceEntries {
+    private final Class<?> sourceClass;
+
+    /** 与源类型同加载器或在其祖先加载器中的目标类型（持有不影响卸载） */
+    private final Map<Class<?>, PairEntry> local = new ConcurrentHashMap<>();
+
+    /** 其余目标类型：缓存项存于目标类型自身，源类型不持有目标类型 */
+    private final ClassValue<PairEntry> foreign =
+        new ClassValue<>() {
+          @Override
+          protected PairEntry computeValue(Class<?> targetClass) {
+            if (isSameOrAncestor(targetClass.getClassLoader(), sourceClass.getClassLoader())) {
+              local.computeIfAbsent(targetClass, type -> new PairEntry(sourceClass, type));
+              return null;
+            }
+            return new PairEntry(sourceClass, targetClass);
+          }
+        };
+
+    SourceEntries(Class<?> sourceClass) {
+      this.sourceClass = sourceClass;
+    }
+
+    PairEntry entry(Class<?> targetClass) {
+      PairEntry entry = local.get(targetClass);
+      if (entry == null) {
+        entry = foreign.get(targetClass);
+        if (entry == null) {
+          entry = local.get(targetClass);
+        }
+      }
+      return entry;
+    }
+  }
+
+  /** (源类型, 目标类型)的缓存项 */
+  private static final class PairEntry {
+    private final Class<?> sourceClass;
+    private final Class<?> targetClass;
+
+    /** 无规则的计划（最常见：未注册默认规则的类型对、嵌套映射） */
+    private volatile MappingPlan<?, ?> emptyPlan;
+
+    /** 最近一次命中的规则结构及其计划 */
+    private volatile ShapedPlan last;
+
+    /** 规则结构→计划 */
+    private final Map<List<RuleShape>, MappingPlan<?, ?>> plans = new ConcurrentHashMap<>();
+
+    PairEntry(Class<?> sourceClass, Class<?> targetClass) {
+      this.sourceClass = sourceClass;
+      this.targetClass = targetClass;
+    }
+
+    MappingPlan<?, ?> plan(List<? extends MappingRule<?, ?>> rules) {
+      if (rules.isEmpty()) {
+        MappingPlan<?, ?> plan = emptyPlan;
+        if (plan == null) {
+          MISSES.increment();
+          plan = emptyPlan = plans.computeIfAbsent(List.of(), shape -> compile(rules));
+        } else {
+          HITS.increment();
+        }
+        return plan;
+      }
+      ShapedPlan shaped = last;
+      if (shaped != null && RuleShape.matches(shaped.shape(), rules)) {
+        HITS.increment();
+        return shaped.plan();
+      }
+      List<RuleShape> shape = RuleShape.of(rules);
+      MappingPlan<?, ?> plan = plans.get(shape);
+      if (plan == null) {
+        MISSES.increment();
+        plan = plans.computeIfAbsent(shape, key -> compile(rules));
+      } else {
+        HITS.increment();
+      }
+      last = new ShapedPlan(shape, plan);
+      return plan;
+    }
+
+    /** 编译计划：缓存未绑定规则的计划，避免长期持有首次调用的转换器（及其捕获的对象） */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private MappingPlan<?, ?> compile(List<? extends MappingRule<?, ?>> rules) {
+      long start = System.nanoTime();
+      MappingPlan<?, ?> plan =
+          MappingPlan.compile((Class) sourceClass, (Class) targetClass, (List) rules)
+              .withRules(null);
+      COMPILATION_NANOS.add(System.nanoTime() - start);
+      COMPILATIONS.increment();
+      if (plan.isBuildTime()) {
+        BUILD_TIME_PLANS.increment();
+      }
+      return plan;
+    }
+  }
+
+  private record ShapedPlan(List<RuleShape> shape, MappingPlan<?, ?> plan) {}
+
+  /** 规则结构（类型+字段名），不含转换器实例 */
+  private record RuleShape(char kind, String sourceField, String targetField) {
+    private static final char FIELD = 'F';
+    private static final char CONVERTED = 'C';
+    private static final char IGNORE = 'I';
+    private static final char GLOBAL = 'G';
+
+    static List<RuleShape> of(List<? extends MappingRule<?, ?>> rules) {
+      RuleShape[] shapes = new RuleShape[rules.size()];
+      for (int i = 0; i < shapes.length; i++) {
+        MappingRule<?, ?> rule = rules.get(i);
+        shapes[i] = new RuleShape(kindOf(rule), rule.getSourceField(), rule.getTargetField());
+      }
+      return List.of(shapes);
+    }
+
+    /** 规则与结构逐项比较，不分配对象 */
+    static boolean matches(List<RuleShape> shapes, List<? extends MappingRule<?, ?>> rules) {
+      int size = shapes.size();
+      if (size != rules.size()) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        RuleShape shape = shapes.get(i);
+        MappingRule<?, ?> rule = rules.get(i);
+        if (shape.kind != kindOf(rule)
+            || !equals(shape.sourceField, rule.getSourceField())
+            || !equals(shape.targetField, rule.getTargetField())) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static char kindOf(MappingRule<?, ?> rule) {
+      return rule.isGlobalRule()
+          ? GLOBAL
+          : rule.isIgnore() ? IGNORE : rule.getConverter() != null ? CONVERTED : FIELD;
+    }
+
+    private static boolean equals(String left, String right) {
+      return left == right || (left != null && left.equals(right));
+    }
+  }
+}
@@ -0,0 +1,484 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 高性能动态映射工具类 核心API：StructMapper.to(source, targetClass, rules) 性能优化：隐藏类字节码生成（直接调用getter/setter）+
+ * 映射计划缓存 + 空值安全
+ *
+ * <p>嵌套对象、集合字段（按泛型元素类型）自动递归映射，使用该类型对通过{@link #register}注册的默认规则；传入{@link
+ * MappingContext}时按身份复用共享引用、闭合循环引用
+ *
+ * @author zhangshaolong
+ */
+public final class StructMapper {
+  // ========== 性能缓存 ==========
+  /** 空规则常量：复用，减少对象创建 */
+  private static final List<MappingRule<?, ?>> EMPTY_RULES = List.of();
+
+  /** 默认规则：源类型→(目标类型→规则)，未传规则及嵌套映射时使用 */
+  private static final ClassValue<Map<Class<?>, List<MappingRule<?, ?>>>> DEFAULT_RULES =
+      new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, List<MappingRule<?, ?>>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  // 私有构造器：禁止实例化
+  private StructMapper() {}
+
+  // ========== 核心API：单个对象转换 ==========
+
+  /**
+   * 动态映射单个对象
+   *
+   * @param source 源对象（非null）
+   * @param targetClass 目标类（非null，需有无参构造器，或为record/全参构造器的类）
+   * @param mappingRules 动态映射规则（可为null，为空时使用注册的默认规则）
+   * @return 转换后的目标对象
+   */
+  public static <S, T> T to(S source, Class<T> targetClass, List<MappingRule<S, T>> mappingRules) {
+    return to(source, targetClass, mappingRules, null);
+  }
+
+  /**
+   * 动态映射单个对象（按映射上下文处理共享引用与循环引用）
+   *
+   * @param source 源对象（非null）
+   * @param targetClass 目标类
+   * @param mappingRules 动态映射规则（可为null，为空时使用注册的默认规则）
+   * @param context 映射上下文（为null时不跟踪引用）
+   * @return 转换后的目标对象
+   */
+  @SuppressWarnings("unchecked")
+  public static <S, T> T to(
+      S source,
+      Class<T> targetClass,
+      List<MappingRule<S, T>> mappingRules,
+      MappingContext context) {
+    // 1. 空值校验
+    if (source == null) {
+      throw new IllegalArgumentException("源对象不能为空");
+    }
+    if (targetClass == null) {
+      throw new IllegalArgumentException("目标类不能为空");
+    }
+
+    // 2. 空规则兜底：使用注册的默认规则
+    Class<S> sourceClass = (Class<S>) source.getClass();
+    List<MappingRule<S, T>> rules = resolveRules(sourceClass, targetClass, mappingRules);
+
+    try {
+      // 3. 获取预编译的映射计划（按规则结构缓存），本次调用的规则提供转换器
+      return planFor(sourceClass, targetClass, rules).map(source, rules, context);
+    } catch (Exception e) {
+      throw new RuntimeException(
+          "对象转换失败：源类型=" + source.getClass().getName() + "，目标类型=" + targetClass.getName(), e);
+    }
+  }
+
+  /** 简化重载：无动态规则（仅基础字段映射） */
+  public static <S, T> T to(S source, Class<T> targetClass) {
+    return to(source, targetClass, List.of());
+  }
+
+  /** 简化重载：单动态规则 */
+  public static <S, T> T to(S source, Class<T> targetClass, MappingRule<S, T> mappingRule) {
+    if (null == mappingRule) {
+      return to(source, targetClass);
+    }
+    return to(source, targetClass, List.of(mappingRule));
+  }
+
+  // ========== 扩展API：原地映射 ==========
+
+  /**
+   * 原地映射：将源对象映射到已有的目标对象（批处理中复用对象池中的DTO/DO实例，不新建对象）
+   *
+   * @param source 源对象（非null）
+   * @param target 目标对象（非null，不支持record/按构造参数创建的类型）
+   * @param mappingRules 动态映射规则（可为null，为空时使用注册的默认规则）
+   * @return 目标对象
+   */
+  @SuppressWarnings("unchecked")
+  public static <S, T> T mapInto(S source, T target, List<MappingRule<S, T>> mappingRules) {
+    requireNonNull(source, target);
+    Class<S> sourceClass = (Class<S>) source.getClass();
+    Class<T> targetClass = (Class<T>) target.getClass();
+    List<MappingRule<S, T>> rules = resolveRules(sourceClass, targetClass, mappingRules);
+    try {
+      planFor(sourceClass, targetClass, rules).mapInto(source, target, rules);
+      return target;
+    } catch (Exception e) {
+      throw new RuntimeException(
+          "对象转换失败：源类型=" + sourceClass.getName() + "，目标类型=" + targetClass.getName(), e);
+    }
+  }
+
+  /** 原地映射（无动态规则） */
+  public static <S, T> T mapInto(S source, T target) {
+    return mapInto(source, target, null);
+  }
+
+  /**
+   * 差异补丁：仅写入与目标当前值不同的字段，返回变更的目标字段名（可用于部分列更新）
+   *
+   * @param source 源对象（非null）
+   * @param target 目标对象（非null，不支持record/按构造参数创建的类型）
+   * @param mappingRules 动态映射规则（可为null，为空时使用注册的默认规则）
+   * @return 变更的目标字段名（无变更时为空集合）
+   */
+  @SuppressWarnings("unchecked")
+  public static <S, T> Set<String> patch(S source, T target, List<MappingRule<S, T>> mappingRules) {
+    requireNonNull(source, target);
+    Class<S> sourceClass = (Class<S>) source.getClass();
+    Class<T> targetClass = (Class<T>) target.getClass();
+    List<MappingRule<S, T>> rules = resolveRules(sourceClass, targetClass, mappingRules);
+    try {
+      return planFor(sourceClass, targetClass, rules).patch(source, target, rules);
+    } catch (Exception e) {
+      throw new RuntimeException(
+          "对象转换失败：源类型=" + sourceClass.getName() + "，目标类型=" + targetClass.getName(), e);
+    }
+  }
+
+  /** 差异补丁（无动态规则） */
+  public static <S, T> Set<String> patch(S source, T target) {
+    return patch(source, target, null);
+  }
+
+  private static void requireNonNull(Object source, Object target) {
+    if (source == null) {
+      throw new IllegalArgumentException("源对象不能为空");
+    }
+    if (target == null) {
+      throw new IllegalArgumentException("目标对象不能为空");
+    }
+  }
+
+  // ========== 扩展API：集合转换 ==========
+
+  /**
+   * 动态映射集合对象
+   *
+   * @param sourceList 源集合（可为null/空）
+   * @param targetClass 目标类
+   * @param mappingRules 动态映射规则
+   * @param <S> 源类型
+   * @param <T> 目标类型
+   * @return 转换后的目标集合（非null）
+   */
+  public static <S, T> List<T> toList(
+      List<S> sourceList, Class<T> targetClass, List<MappingRule<S, T>> mappingRules) {
+    return toList(sourceList, targetClass, mappingRules, null);
+  }
+
+  /**
+   * 动态映射集合对象：计划按元素类型解析一次，结果按源集合大小预分配
+   *
+   * @param sourceList 源集合（可为null/空）
+   * @param targetClass 目标类
+   * @param mappingRules 动态映射规则
+   * @param context 映射上下文（为null时不跟踪引用）
+   * @return 转换后的目标集合（非null，不可修改）
+   */
+  public static <S, T> List<T> toList(
+      List<S> sourceList,
+      Class<T> targetClass,
+      List<MappingRule<S, T>> mappingRules,
+      MappingContext context) {
+    if (sourceList == null || sourceList.isEmpty()) {
+      return List.of();
+    }
+    Object[] targets = new Object[sourceList.size()];
+    PlanFunction<S, T> function = new PlanFunction<>(targetClass, mappingRules, context);
+    int i = 0;
+    for (S source : sourceList) {
+      targets[i++] = function.apply(source);
+    }
+    return asList(targets);
+  }
+
+  /** 集合转换（无动态规则） */
+  public static <S, T> List<T> toList(List<S> sourceList, Class<T> targetClass) {
+    return toList(sourceList, targetClass, null);
+  }
+
+  /**
+   * 并行映射集合对象：超过阈值（-Dstruct.mapper.parallel-threshold，默认10000）时在专用ForkJoinPool中分段映射，结果写入预分配数组
+   *
+   * <p>适用于导出、批处理等大批量映射；转换器/全局处理器需线程安全，不支持映射上下文
+   *
+   * @param sourceList 源集合（可为null/空）
+   * @param targetClass 目标类
+   * @param mappingRules 动态映射规则
+   * @return 转换后的目标集合（非null，不可修改，顺序与源集合一致）
+   */
+  public static <S, T> List<T> toListParallel(
+      List<S> sourceList, Class<T> targetClass, List<MappingRule<S, T>> mappingRules) {
+    if (sourceList == null
+        || sourceList.size() < ParallelMapping.THRESHOLD
+        || !(sourceList instanceof RandomAccess)) {
+      return toList(sourceList, targetClass, mappingRules);
+    }
+    Object[] targets = new Object[sourceList.size()];
+    ParallelMapping.POOL.invoke(
+        new ParallelMapping<>(sourceList, targets, 0, targets.length, targetClass, mappingRules));
+    return asList(targets);
+  }
+
+  /** 并行集合转换（无动态规则） */
+  public static <S, T> List<T> toListParallel(List<S> sourceList, Class<T> targetClass) {
+    return toListParallel(sourceList, targetClass, null);
+  }
+
+  // ========== 扩展API：惰性转换 ==========
+
+  /**
+   * 惰性映射流：逐个元素映射，不物化中间集合（适用于游标驱动的流水线）
+   *
+   * @param sourceStream 源流
+   * @param targetClass 目标类
+   * @param mappingRules 动态映射规则
+   * @return 目标流（随源流惰性求值）
+   */
+  public static <S, T> Stream<T> toStream(
+      Stream<S> sourceStream, Class<T> targetClass, List<MappingRule<S, T>> mappingRules) {
+    return sourceStream.map(mapper(targetClass, mappingRules));
+  }
+
+  /** 惰性映射流（无动态规则） */
+  public static <S, T> Stream<T> toStream(Stream<S> sourceStream, Class<T> targetClass) {
+    return toStream(sourceStream, targetClass, null);
+  }
+
+  /**
+   * 惰性映射迭代器：每次next()映射一个元素
+   *
+   * @param sourceIterator 源迭代器（如MyBatis游标的迭代器）
+   * @param targetClass 目标类
+   * @param mappingRules 动态映射规则
+   * @return 目标迭代器
+   */
+  public static <S, T> Iterator<T> toIterator(
+      Iterator<S> sourceIterator, Class<T> targetClass, List<MappingRule<S, T>> mappingRules) {
+    Function<S, T> function = mapper(targetClass, mappingRules);
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return sourceIterator.hasNext();
+      }
+
+      @Override
+      public T next() {
+        return function.apply(sourceIterator.next());
+      }
+    };
+  }
+
+  /** 惰性映射迭代器（无动态规则） */
+  public static <S, T> Iterator<T> toIterator(Iterator<S> sourceIterator, Class<T> targetClass) {
+    return toIterator(sourceIterator, targetClass, null);
+  }
+
+  /**
+   * 映射函数：按源类型缓存最近一次的计划，逐个调用时不再查找计划缓存（线程安全）
+   *
+   * @param targetClass 目标类
+   * @param mappingRules 动态映射规则
+   * @return 映射函数
+   */
+  public static <S, T> Function<S, T> mapper(
+      Class<T> targetClass, List<MappingRule<S, T>> mappingRules) {
+    if (targetClass == null) {
+      throw new IllegalArgumentException("目标类不能为空");
+    }
+    return new PlanFunction<>(targetClass, mappingRules, null);
+  }
+
+  /** 映射函数（无动态规则） */
+  public static <S, T> Function<S, T> mapper(Class<T> targetClass) {
+    return mapper(targetClass, null);
+  }
+
+  // ========== 扩展API：映射计划 ==========
+
+  /**
+   * 获取绑定了指定规则的映射计划（重复映射同一类型对时可持有计划直接调用{@link MappingPlan#map(Object)}）
+   *
+   * @param sourceClass 源类型
+   * @param targetClass 目标类型
+   * @param mappingRules 动态映射规则（可为null，为空时使用注册的默认规则）
+   * @return 映射计划
+   */
+  public static <S, T> MappingPlan<S, T> plan(
+      Class<S> sourceClass, Class<T> targetClass, List<MappingRule<S, T>> mappingRules) {
+    List<MappingRule<S, T>> rules = resolveRules(sourceClass, targetClass, mappingRules);
+    return planFor(sourceClass, targetClass, rules).withRules(rules);
+  }
+
+  /**
+   * 映射计划缓存统计：命中/未命中/编译次数与编译耗时
+   *
+   * @return 累计值快照
+   */
+  public static MapperMetrics metrics() {
+    return PlanCache.metrics();
+  }
+
+  // ========== 扩展API：默认规则 ==========
+
+  /**
+   * 注册类型对的默认规则：未传规则的映射及嵌套对象/集合元素的自动映射均使用该规则（应在首次映射该类型对前注册）
+   *
+   * @param sourceClass 源类型（精确匹配，不含子类）
+   * @param targetClass 目标类型
+   * @param mappingRules 默认规则
+   */
+  public static <S, T> void register(
+      Class<S> sourceClass, Class<T> targetClass, List<MappingRule<S, T>> mappingRules) {
+    if (sourceClass == null || targetClass == null) {
+      throw new IllegalArgumentException("源类型/目标类型不能为空");
+    }
+    DEFAULT_RULES.get(sourceClass).put(targetClass, List.copyOf(mappingRules));
+  }
+
+  /** 嵌套映射使用的计划：绑定该类型对注册的默认规则 */
+  @SuppressWarnings("unchecked")
+  static MappingPlan<Object, Object> defaultPlan(Class<?> sourceClass, Class<?> targetClass) {
+    return plan((Class<Object>) sourceClass, (Class<Object>) targetClass, null);
+  }
+
+  /** 未传规则时使用注册的默认规则 */
+  private static <S, T> List<MappingRule<S, T>> resolveRules(
+      Class<S> sourceClass, Class<T> targetClass, List<MappingRule<S, T>> mappingRules) {
+    return mappingRules == null || mappingRules.isEmpty()
+        ? defaultRules(sourceClass, targetClass)
+        : mappingRules;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <S, T> List<MappingRule<S, T>> defaultRules(
+      Class<S> sourceClass, Class<T> targetClass) {
+    List<MappingRule<?, ?>> rules = DEFAULT_RULES.get(sourceClass).get(targetClass);
+    return (List<MappingRule<S, T>>) (List<?>) (rules == null ? EMPTY_RULES : rules);
+  }
+
+  // ========== 内部核心：映射计划缓存 ==========
+  private static <S, T> MappingPlan<S, T> planFor(
+      Class<S> sourceClass, Class<T> targetClass, List<MappingRule<S, T>> rules) {
+    return PlanCache.get(sourceClass, targetClass, rules);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> asList(Object[] targets) {
+    return (List<T>) List.of(targets);
+  }
+
+  /** 映射函数：缓存最近一次源类型对应的已绑定规则的计划（计划不可变，并发下最多重复解析） */
+  private static final class PlanFunction<S, T> implements Function<S, T> {
+    private final Class<T> targetClass;
+    private final List<MappingRule<S, T>> mappingRules;
+    private final MappingContext context;
+    private MappingPlan<S, T> plan;
+
+    PlanFunction(
+        Class<T> targetClass, List<MappingRule<S, T>> mappingRules, MappingContext context) {
+      this.targetClass = targetClass;
+      this.mappingRules = mappingRules;
+      this.context = context;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T apply(S source) {
+      if (source == null) {
+        throw new IllegalArgumentException("源对象不能为空");
+      }
+      MappingPlan<S, T> current = plan;
+      try {
+        if (current == null || current.getSourceClass() != source.getClass()) {
+          current = plan((Class<S>) source.getClass(), targetClass, mappingRules);
+          plan = current;
+        }
+        return current.map(source, context);
+      } catch (Exception e) {
+        throw new RuntimeException(
+            "对象转换失败：源类型=" + source.getClass().getName() + "，目标类型=" + targetClass.getName(), e);
+      }
+    }
+  }
+
+  /** 并行映射任务：二分拆分至叶子大小后顺序映射，结果写入各自下标 */
+  private static final class ParallelMapping<S, T> extends RecursiveAction {
+    /** 并行阈值：源集合小于该值时顺序映射 */
+    static final int THRESHOLD = Integer.getInteger("struct.mapper.parallel-threshold", 10_000);
+
+    /** 专用线程池（守护线程），避免占用公共池影响其他并行流 */
+    static final ForkJoinPool POOL =
+        new ForkJoinPool(
+            Integer.getInteger(
+                "struct.mapper.parallelism", Runtime.getRuntime().availableProcessors()),
+            pool -> {
+              ForkJoinWorkerThread thread =
+                  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+              thread.setName("struct-mapper-" + thread.getPoolIndex());
+              thread.setDaemon(true);
+              return thread;
+            },
+            null,
+            false);
+
+    /** 叶子任务最小大小 */
+    private static final int MIN_LEAF_SIZE = 1024;
+
+    private final List<S> sources;
+    private final Object[] targets;
+    private final int from;
+    private final int to;
+    private final Class<T> targetClass;
+    private final List<MappingRule<S, T>> mappingRules;
+
+    ParallelMapping(
+        List<S> sources,
+        Object[] targets,
+        int from,
+        int to,
+        Class<T> targetClass,
+        List<MappingRule<S, T>> mappingRules) {
+      this.sources = sources;
+      this.targets = targets;
+      this.from = from;
+      this.to = to;
+      this.targetClass = targetClass;
+      this.mappingRules = mappingRules;
+    }
+
+    @Override
+    protected void compute() {
+      int leafSize = Math.max(MIN_LEAF_SIZE, targets.length / (POOL.getParallelism() * 4));
+      if (to - from <= leafSize) {
+        PlanFunction<S, T> function = new PlanFunction<>(targetClass, mappingRules, null);
+        for (int i = from; i < to; i++) {
+          targets[i] = function.apply(sources.get(i));
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(
+          new ParallelMapping<>(sources, targets, from, middle, targetClass, mappingRules),
+          new ParallelMapping<>(sources, targets, middle, to, targetClass, mappingRules));
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * 将{@link StructMapper#metrics()}注册为Micrometer指标（/actuator/metrics可查）
+ *
+ * <ul>
+ *   <li>struct.mapper.plan.lookups{result=hit|miss}：计划缓存查找次数
+ *   <li>struct.mapper.plan.compilations：计划编译次数与累计耗时
+ *   <li>struct.mapper.plan.build.time：使用编译期生成映射器的计划数
+ * </ul>
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class StructMapperMetricsBinder implements MeterBinder {
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(
+            "struct.mapper.plan.lookups", PlanCache.class, type -> PlanCache.metrics().planHits())
+        .tag("result", "hit")
+        .description("映射计划缓存查找次数")
+        .register(registry);
+    FunctionCounter.builder(
+            "struct.mapper.plan.lookups", PlanCache.class, type -> PlanCache.metrics().planMisses())
+        .tag("result", "miss")
+        .description("映射计划缓存查找次数")
+        .register(registry);
+    FunctionTimer.builder(
+            "struct.mapper.plan.compilations",
+            PlanCache.class,
+            type -> PlanCache.metrics().planCompilations(),
+            type -> PlanCache.metrics().compilationNanos(),
+            TimeUnit.NANOSECONDS)
+        .description("映射计划编译次数与耗时（含隐藏类生成）")
+        .register(registry);
+    FunctionCounter.builder(
+            "struct.mapper.plan.build.time",
+            PlanCache.class,
+            type -> PlanCache.metrics().buildTimePlans())
+        .description("使用编译期生成映射器的计划数")
+        .register(registry);
+  }
+}
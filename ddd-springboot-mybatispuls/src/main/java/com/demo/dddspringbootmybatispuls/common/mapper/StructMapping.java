@@ -0,0 +1,38 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 编译期映射声明：注解处理器在编译时为(源类型, 目标类型)生成直接调用getter/setter的映射器
+ *
+ * <p>{@link StructMapper}在未传动态规则、也未注册默认规则时自动使用生成的映射器，首次映射即无反射与运行期字节码生成；未声明的类型对仍走运行期映射计划
+ *
+ * <p>要求：源/目标类型为公开类，目标类型为record或有公开无参构造器，参与映射的字段有公开getter/setter；内置类型转换在编译期绑定，其余类型不一致的字段在运行期查找注册的转换器
+ *
+ * @author zhangshaolong
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(StructMapping.List.class)
+public @interface StructMapping {
+
+  /** 源类型 */
+  Class<?> source();
+
+  /** 目标类型（默认为被注解的类型） */
+  Class<?> target() default void.class;
+
+  /** 同一类型上声明多个映射 */
+  @Documented
+  @Retention(RetentionPolicy.SOURCE)
+  @Target(ElementType.TYPE)
+  @interface List {
+    StructMapping[] value();
+  }
+}
@@ -0,0 +1,300 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 类型转换器注册表：按(源类型, 目标类型)查找字段类型不一致时的转换器
+ *
+ * <p>内置转换器为{@link Builtin}中的静态方法，生成的映射代码直接invokestatic调用，基本类型参数/返回值全程不装箱
+ *
+ * <p>自定义转换器通过{@link #register}注册（以函数对象调用），需在首次映射相关类型前注册
+ *
+ * @author zhangshaolong
+ */
+public final class TypeConverters {
+  /** (源类型, 目标类型)→转换器 */
+  private static final Map<ConverterKey, Converter> REGISTRY = new ConcurrentHashMap<>();
+
+  static {
+    for (Method method : Builtin.class.getDeclaredMethods()) {
+      if (Modifier.isPublic(method.getModifiers())
+          && Modifier.isStatic(method.getModifiers())
+          && method.getParameterCount() == 1) {
+        Class<?> sourceType = method.getParameterTypes()[0];
+        Class<?> targetType = method.getReturnType();
+        REGISTRY.put(
+            new ConverterKey(sourceType, targetType), new Converter(method, boxed(method)));
+      }
+    }
+  }
+
+  // 私有构造器：禁止实例化
+  private TypeConverters() {}
+
+  /**
+   * 注册自定义转换器（覆盖同类型对的内置转换器）
+   *
+   * @param sourceType 源字段类型
+   * @param targetType 目标字段类型
+   * @param converter 转换函数（需自行处理null）
+   */
+  @SuppressWarnings("unchecked")
+  public static <S, T> void register(
+      Class<S> sourceType, Class<T> targetType, Function<? super S, ? extends T> converter) {
+    if (sourceType == null || targetType == null || converter == null) {
+      throw new IllegalArgumentException("源类型/目标类型/转换函数不能为空");
+    }
+    REGISTRY.put(
+        new ConverterKey(sourceType, targetType),
+        new Converter(null, (Function<Object, Object>) converter));
+  }
+
+  /** 查找转换器（不存在时返回null） */
+  static Converter find(Class<?> sourceType, Class<?> targetType) {
+    return REGISTRY.get(new ConverterKey(sourceType, targetType));
+  }
+
+  /**
+   * 按固定小数位转换为BigDecimal的函数（供{@link MappingRule#scale}使用）
+   *
+   * @param scale 小数位数
+   * @param roundingMode 舍入方式
+   * @return 转换函数：null→null，BigDecimal/数值/数字字符串→setScale后的BigDecimal
+   */
+  public static Function<Object, Object> scale(int scale, RoundingMode roundingMode) {
+    if (roundingMode == null) {
+      throw new IllegalArgumentException("舍入方式不能为空");
+    }
+    return value -> {
+      if (value == null) {
+        return null;
+      }
+      BigDecimal decimal =
+          switch (value) {
+            case BigDecimal number -> number;
+            case Double number -> BigDecimal.valueOf(number);
+            case Float number -> BigDecimal.valueOf(number.doubleValue());
+            case Number number -> BigDecimal.valueOf(number.longValue());
+            case String text -> Builtin.stringToDecimal(text);
+            default ->
+                throw new IllegalArgumentException(
+                    "不支持转换为BigDecimal的类型：" + value.getClass().getName());
+          };
+      return decimal == null ? null : decimal.setScale(scale, roundingMode);
+    };
+  }
+
+  /** 以方法句柄包装静态方法（供逐字段比较等非生成代码路径使用） */
+  private static Function<Object, Object> boxed(Method method) {
+    MethodHandle handle;
+    try {
+      handle =
+          MethodHandles.publicLookup()
+              .unreflect(method)
+              .asType(MethodType.methodType(Object.class, Object.class));
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("注册内置转换器失败：" + method, e);
+    }
+    return value -> {
+      try {
+        return handle.invokeExact(value);
+      } catch (Throwable e) {
+        throw new RuntimeException("类型转换失败：" + method.getName(), e);
+      }
+    };
+  }
+
+  /**
+   * 转换器
+   *
+   * @param method 静态方法（生成代码直接调用；自定义转换器为null）
+   * @param function 函数对象（方法转换器为其包装）
+   */
+  record Converter(Method method, Function<Object, Object> function) {}
+
+  private record ConverterKey(Class<?> sourceType, Class<?> targetType) {}
+
+  /**
+   * 内置转换器：每个公开静态单参方法即一个(参数类型→返回类型)转换器
+   *
+   * <p>目标为包装/引用类型时null转换为null；目标为基本类型时null（及空白字符串）无对应取值，抛出异常而不补0
+   *
+   * <p>时间与epoch毫秒按系统默认时区转换；BigDecimal不改变精度（valueOf/toPlainString），需固定小数位时使用{@link
+   * MappingRule#scale}
+   */
+  public static final class Builtin {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private Builtin() {}
+
+    // ========== int ↔ long ==========
+
+    public static long intToLong(int value) {
+      return value;
+    }
+
+    public static int longToInt(long value) {
+      return Math.toIntExact(value);
+    }
+
+    public static Long integerToLong(Integer value) {
+      return value == null ? null : Long.valueOf(value.longValue());
+    }
+
+    public static Integer longToInteger(Long value) {
+      return value == null ? null : Math.toIntExact(value);
+    }
+
+    public static long integerToPrimitiveLong(Integer value) {
+      return requireValue(value, long.class);
+    }
+
+    public static int longToPrimitiveInt(Long value) {
+      return Math.toIntExact(requireValue(value, int.class));
+    }
+
+    // ========== 包装类型 → 基本类型（null抛出异常） ==========
+
+    public static int unboxInt(Integer value) {
+      return requireValue(value, int.class);
+    }
+
+    public static long unboxLong(Long value) {
+      return requireValue(value, long.class);
+    }
+
+    public static double unboxDouble(Double value) {
+      return requireValue(value, double.class);
+    }
+
+    public static boolean unboxBoolean(Boolean value) {
+      return requireValue(value, boolean.class);
+    }
+
+    // ========== long/int ↔ String ==========
+
+    public static String longToString(long value) {
+      return Long.toString(value);
+    }
+
+    public static String boxedLongToString(Long value) {
+      return value == null ? null : value.toString();
+    }
+
+    public static long stringToLong(String value) {
+      return Long.parseLong(requireText(value, long.class));
+    }
+
+    public static Long stringToBoxedLong(String value) {
+      return value == null || value.isBlank() ? null : Long.valueOf(value.trim());
+    }
+
+    public static String intToString(int value) {
+      return Integer.toString(value);
+    }
+
+    public static String integerToString(Integer value) {
+      return value == null ? null : value.toString();
+    }
+
+    public static int stringToInt(String value) {
+      return Integer.parseInt(requireText(value, int.class));
+    }
+
+    public static Integer stringToInteger(String value) {
+      return value == null || value.isBlank() ? null : Integer.valueOf(value.trim());
+    }
+
+    // ========== BigDecimal ==========
+
+    public static String decimalToString(BigDecimal value) {
+      return value == null ? null : value.toPlainString();
+    }
+
+    public static BigDecimal stringToDecimal(String value) {
+      return value == null || value.isBlank() ? null : new BigDecimal(value.trim());
+    }
+
+    public static double decimalToDouble(BigDecimal value) {
+      return requireValue(value, double.class).doubleValue();
+    }
+
+    public static Double decimalToBoxedDouble(BigDecimal value) {
+      return value == null ? null : value.doubleValue();
+    }
+
+    public static BigDecimal doubleToDecimal(double value) {
+      return BigDecimal.valueOf(value);
+    }
+
+    public static BigDecimal boxedDoubleToDecimal(Double value) {
+      return value == null ? null : BigDecimal.valueOf(value);
+    }
+
+    public static BigDecimal longToDecimal(long value) {
+      return BigDecimal.valueOf(value);
+    }
+
+    public static BigDecimal boxedLongToDecimal(Long value) {
+      return value == null ? null : BigDecimal.valueOf(value);
+    }
+
+    public static BigDecimal integerToDecimal(Integer value) {
+      return value == null ? null : BigDecimal.valueOf(value);
+    }
+
+    // ========== LocalDateTime ↔ epoch毫秒/字符串 ==========
+
+    public static long dateTimeToEpochMilli(LocalDateTime value) {
+      return requireValue(value, long.class).atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    public static Long dateTimeToBoxedEpochMilli(LocalDateTime value) {
+      return value == null ? null : value.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime epochMilliToDateTime(long value) {
+      return LocalDateTime.ofInstant(Instant.ofEpochMilli(value), ZONE);
+    }
+
+    public static LocalDateTime boxedEpochMilliToDateTime(Long value) {
+      return value == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(value), ZONE);
+    }
+
+    public static String dateTimeToString(LocalDateTime value) {
+      return value == null ? null : value.toString();
+    }
+
+    public static LocalDateTime stringToDateTime(String value) {
+      return value == null || value.isBlank() ? null : LocalDateTime.parse(value.trim());
+    }
+
+    // ========== 目标为基本类型时的取值校验（非公开，不注册为转换器） ==========
+
+    private static <V> V requireValue(V value, Class<?> primitiveType) {
+      if (value == null) {
+        throw new IllegalArgumentException("源字段值为null，无法转换为基本类型" + primitiveType.getName());
+      }
+      return value;
+    }
+
+    private static String requireText(String value, Class<?> primitiveType) {
+      if (value == null || value.isBlank()) {
+        throw new IllegalArgumentException("源字段值为空，无法转换为基本类型" + primitiveType.getName());
+      }
+      return value.trim();
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 近似总数统计：COUNT查询在后台线程异步执行，结果按key缓存并定期刷新
+ *
+ * <p>请求线程只读取缓存值，不等待COUNT完成（首次查询返回null）；同一key同时最多一个刷新任务
+ *
+ * @author zhangshaolong
+ */
+@Slf4j
+@Component
+public class ApproximateTotalCounter {
+  /** 统计结果有效期（毫秒），过期后下一次读取触发异步刷新 */
+  @Value("${query.approximate-total.ttl-ms:60000}")
+  private long ttlMillis;
+
+  private final Map<String, CountEntry> entries = new ConcurrentHashMap<>();
+
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "approximate-total-counter");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /**
+   * 获取近似总数
+   *
+   * @param key 统计项（如表名）
+   * @param counter COUNT查询
+   * @return 最近一次统计结果（尚未统计完成时为null）
+   */
+  public Long get(String key, LongSupplier counter) {
+    CountEntry entry = entries.computeIfAbsent(key, k -> new CountEntry());
+    if (System.currentTimeMillis() - entry.computedAt >= ttlMillis
+        && entry.refreshing.compareAndSet(false, true)) {
+      try {
+        executor.execute(() -> refresh(key, entry, counter));
+      } catch (RejectedExecutionException e) {
+        entry.refreshing.set(false);
+      }
+    }
+    return entry.value;
+  }
+
+  private static void refresh(String key, CountEntry entry, LongSupplier counter) {
+    try {
+      entry.value = counter.getAsLong();
+      entry.computedAt = System.currentTimeMillis();
+    } catch (RuntimeException e) {
+      log.warn("近似总数统计失败[{}]", key, e);
+    } finally {
+      entry.refreshing.set(false);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static final class CountEntry {
+    private volatile Long value;
+    private volatile long computedAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+  }
+}
@@ -0,0 +1,155 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 批量加载器：收集逐个发起的按key加载，合并为一次批量查询，再按结果Map完成各调用方的future
+ *
+ * <p>手动分发（请求内使用）：先对全部key调用{@link #load}，再调用{@link #dispatch}；定时分发（跨请求共享）：首个key入队后等待一个时间窗口自动分发
+ *
+ * <p>同一批次内的重复key只查询一次；待分发key达到批次上限时由当前调用方线程立即分发，定时分发的批次在查询执行器上执行
+ *
+ * @author zhangshaolong
+ */
+public final class BatchLoader<K, V> {
+  /** 批量查询：key列表→结果Map（不存在的key不含在结果中） */
+  private final Function<List<K>, Map<K, V>> batchFunction;
+
+  private final int maxBatchSize;
+
+  /** 定时分发的时间窗口（毫秒） */
+  private final long windowMillis;
+
+  /** 定时分发调度器：只负责到点触发（手动分发时为null） */
+  private final ScheduledExecutorService scheduler;
+
+  /** 定时分发的批量查询执行器（手动分发时为null） */
+  private final Executor executor;
+
+  private final Object lock = new Object();
+
+  /** 待分发key→future（保持入队顺序） */
+  private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+  /** 是否已安排定时分发 */
+  private boolean scheduled;
+
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder loads = new LongAdder();
+
+  BatchLoader(
+      Function<List<K>, Map<K, V>> batchFunction,
+      int maxBatchSize,
+      long windowMillis,
+      ScheduledExecutorService scheduler,
+      Executor executor) {
+    if (batchFunction == null || maxBatchSize <= 0) {
+      throw new IllegalArgumentException("批量查询函数不能为空，批次上限需大于0");
+    }
+    if ((scheduler == null) != (executor == null)) {
+      throw new IllegalArgumentException("定时分发需同时指定调度器与查询执行器");
+    }
+    this.batchFunction = batchFunction;
+    this.maxBatchSize = maxBatchSize;
+    this.windowMillis = windowMillis;
+    this.scheduler = scheduler;
+    this.executor = executor;
+  }
+
+  /**
+   * 请求加载一个key（批次分发后完成）
+   *
+   * @param key 加载key
+   * @return 加载结果（key不存在时为null）
+   */
+  public CompletableFuture<V> load(K key) {
+    loads.increment();
+    Map<K, CompletableFuture<V>> full = null;
+    CompletableFuture<V> future;
+    synchronized (lock) {
+      future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+      if (pending.size() >= maxBatchSize) {
+        full = pending;
+        pending = new LinkedHashMap<>();
+      } else if (scheduler != null && !scheduled) {
+        scheduled = true;
+        // 调度线程只负责触发，批量查询交给查询执行器，慢查询不会阻塞其他加载器的定时分发
+        scheduler.schedule(
+            () -> executor.execute(this::dispatch), windowMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+    if (full != null) {
+      execute(full);
+    }
+    return future;
+  }
+
+  /**
+   * 加载一组key：入队后立即分发并等待结果
+   *
+   * @param keys 加载key
+   * @return key→结果（按keys顺序，不存在的key跳过）
+   */
+  public Map<K, V> loadMany(Collection<K> keys) {
+    Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+    for (K key : keys) {
+      futures.computeIfAbsent(key, this::load);
+    }
+    dispatch();
+    Map<K, V> result = new LinkedHashMap<>();
+    for (Map.Entry<K, CompletableFuture<V>> entry : futures.entrySet()) {
+      V value = Futures.join(entry.getValue());
+      if (value != null) {
+        result.put(entry.getKey(), value);
+      }
+    }
+    return result;
+  }
+
+  /** 分发当前全部待加载key */
+  public void dispatch() {
+    Map<K, CompletableFuture<V>> batch;
+    synchronized (lock) {
+      batch = pending;
+      pending = new LinkedHashMap<>();
+      scheduled = false;
+    }
+    if (!batch.isEmpty()) {
+      execute(batch);
+    }
+  }
+
+  /** 累计统计 */
+  public Stats stats() {
+    return new Stats(loads.sum(), batches.sum());
+  }
+
+  private void execute(Map<K, CompletableFuture<V>> batch) {
+    batches.increment();
+    Map<K, V> result;
+    try {
+      result = batchFunction.apply(List.copyOf(batch.keySet()));
+    } catch (RuntimeException | Error e) {
+      batch.values().forEach(future -> future.completeExceptionally(e));
+      return;
+    }
+    batch.forEach((key, future) -> future.complete(result == null ? null : result.get(key)));
+  }
+
+  /**
+   * 统计快照
+   *
+   * @param loads 请求加载的key数
+   * @param batches 实际执行的批量查询次数
+   */
+  public record Stats(long loads, long batches) {}
+}
@@ -0,0 +1,95 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量加载器工厂：定时分发的加载器共享同一调度线程（只负责到点触发）与有界查询线程池（执行批量查询）
+ *
+ * <p>查询线程池的线程数与队列均有上限，队列满时由触发分发的线程自行执行批量查询（背压），查询并发不会超过线程数+1
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class BatchLoaders {
+  /** 查询线程池的等待队列长度 */
+  private static final int QUERY_QUEUE_CAPACITY = 1000;
+
+  /** 定时分发的时间窗口（毫秒）：窗口内发起的加载合并为一次查询 */
+  @Value("${query.batch-loader.window-ms:2}")
+  private long windowMillis;
+
+  /** 单次批量查询的最大key数（IN列表长度） */
+  @Value("${query.batch-loader.max-batch-size:500}")
+  private int maxBatchSize;
+
+  /** 执行定时分发批量查询的线程数（每个线程查询时占用一个数据库连接） */
+  @Value("${query.batch-loader.query-threads:4}")
+  private int queryThreads;
+
+  private ScheduledExecutorService scheduler;
+
+  private ThreadPoolExecutor queryExecutor;
+
+  @PostConstruct
+  public void init() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("batch-loader-scheduler"));
+    queryExecutor =
+        new ThreadPoolExecutor(
+            queryThreads,
+            queryThreads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUERY_QUEUE_CAPACITY),
+            threadFactory("batch-loader-query"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    queryExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * 创建定时分发的加载器（跨请求、跨线程共享）
+   *
+   * @param batchFunction 批量查询
+   * @return 加载器
+   */
+  public <K, V> BatchLoader<K, V> windowed(Function<List<K>, Map<K, V>> batchFunction) {
+    return new BatchLoader<>(batchFunction, maxBatchSize, windowMillis, scheduler, queryExecutor);
+  }
+
+  /**
+   * 创建手动分发的加载器（请求内使用，调用{@link BatchLoader#dispatch}时查询）
+   *
+   * @param batchFunction 批量查询
+   * @return 加载器
+   */
+  public <K, V> BatchLoader<K, V> requestScoped(Function<List<K>, Map<K, V>> batchFunction) {
+    return new BatchLoader<>(batchFunction, maxBatchSize, 0, null, null);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+    queryExecutor.shutdownNow();
+  }
+
+  private static ThreadFactory threadFactory(String prefix) {
+    AtomicInteger threadIndex = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + threadIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,51 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 游标查询执行器：在只读事务内逐行读取MyBatis {@link Cursor}，边读边转换边输出，不在内存中累积结果集
+ *
+ * <p>游标依赖SqlSession（连接）保持打开，故查询与消费必须在同一事务内完成；消费者阻塞（如客户端读取慢）时读取同步放缓
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class CursorQueryExecutor {
+  private final TransactionTemplate readOnlyTemplate;
+
+  @Autowired
+  public CursorQueryExecutor(PlatformTransactionManager transactionManager) {
+    this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+    this.readOnlyTemplate.setReadOnly(true);
+  }
+
+  /**
+   * 流式读取
+   *
+   * @param query 返回游标的查询（Mapper方法）
+   * @param converter 单行转换
+   * @param consumer 单行消费
+   */
+  public <D, T> void stream(
+      Supplier<Cursor<D>> query, Function<D, T> converter, Consumer<T> consumer) {
+    readOnlyTemplate.executeWithoutResult(
+        status -> {
+          try (Cursor<D> cursor = query.get()) {
+            for (D row : cursor) {
+              consumer.accept(converter.apply(row));
+            }
+          } catch (IOException e) {
+            throw new UncheckedIOException("关闭游标失败", e);
+          }
+        });
+  }
+}
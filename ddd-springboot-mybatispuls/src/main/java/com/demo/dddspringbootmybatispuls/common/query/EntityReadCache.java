@@ -0,0 +1,209 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import com.demo.dddspringbootmybatispuls.common.aggregate.AggregatePersistedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 按主键读取的进程内缓存：每个DO类型一个Caffeine缓存（容量上限 + 写入后过期，W-TinyLFU准入淘汰），缓存映射后的DTO
+ *
+ * <p>命中时既不访问数据库也不执行映射；未命中时同一主键的并发读取经{@link SingleFlight}合并为一次加载（含不存在的主键），缓存关闭时同样合并
+ *
+ * <p>批量读取时先取缓存，未命中的主键合并为一次批量查询
+ *
+ * <p>DO行经{@code AggregatePersistenceManager#persist}写入后，事务提交时按主键精确失效，并丢弃在途加载；
+ * 与失效交错完成的加载结果随即移除，不会留下提交前读到的旧值；仅缓存非null结果
+ *
+ * <p>每个缓存区创建时注册Micrometer指标（tag cache=DO类名）：Caffeine的cache.gets/cache.puts/cache.evictions等，
+ * 以及entity.cache.loads{result=executed|coalesced}（实际执行/合并到在途加载的次数）
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class EntityReadCache {
+  /** 每个DO类型的最大条目数（0表示关闭缓存） */
+  @Value("${query.entity-cache.maximum-size:10000}")
+  private long maximumSize;
+
+  /** 条目写入后的有效期（毫秒），兜底覆盖绕过聚合持久化的写入 */
+  @Value("${query.entity-cache.ttl-ms:300000}")
+  private long ttlMillis;
+
+  @Autowired private ObjectProvider<MeterRegistry> meterRegistry;
+
+  /** DO类型→该类型的缓存区 */
+  private final Map<Class<?>, Region> regions = new ConcurrentHashMap<>();
+
+  /**
+   * 读取缓存，未命中时加载并缓存
+   *
+   * @param doClass 数据来源的DO类型（该类型的行写入时失效）
+   * @param id 主键
+   * @param loader 加载函数（查询并映射，不存在时返回null）
+   * @return 缓存或加载的值（调用方不得修改）
+   */
+  @SuppressWarnings("unchecked")
+  public <V> V get(Class<?> doClass, Long id, Function<Long, V> loader) {
+    if (id == null) {
+      return loader.apply(null);
+    }
+    Region region = region(doClass);
+    if (region.cache == null) {
+      return (V) region.loads.execute(id, (Function<Long, Object>) loader);
+    }
+    Object cached = region.cache.getIfPresent(id);
+    if (cached != null) {
+      return (V) cached;
+    }
+    long generation = region.generation.get();
+    V value = (V) region.loads.execute(id, (Function<Long, Object>) loader);
+    if (value != null) {
+      region.cache.put(id, value);
+      if (region.generation.get() != generation) {
+        // 加载期间有写入提交：结果可能早于提交，不保留
+        region.cache.invalidate(id);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * 批量读取缓存，未命中的主键合并为一次批量加载并缓存
+   *
+   * @param doClass 数据来源的DO类型（该类型的行写入时失效）
+   * @param ids 主键
+   * @param batchLoader 批量加载函数（查询并映射，不存在的主键不含在结果中）
+   * @return 主键→值（按ids顺序，不存在的主键跳过；调用方不得修改值）
+   */
+  @SuppressWarnings("unchecked")
+  public <V> Map<Long, V> getAll(
+      Class<?> doClass, Collection<Long> ids, Function<List<Long>, Map<Long, V>> batchLoader) {
+    Region region = region(doClass);
+    Map<Long, V> found = new HashMap<>();
+    List<Long> missing = new ArrayList<>();
+    for (Long id : new LinkedHashSet<>(ids)) {
+      Object cached = id == null || region.cache == null ? null : region.cache.getIfPresent(id);
+      if (cached != null) {
+        found.put(id, (V) cached);
+      } else if (id != null) {
+        missing.add(id);
+      }
+    }
+    if (!missing.isEmpty()) {
+      long generation = region.generation.get();
+      Map<Long, V> loaded = batchLoader.apply(missing);
+      found.putAll(loaded);
+      if (region.cache != null && !loaded.isEmpty()) {
+        region.cache.putAll((Map<Long, Object>) loaded);
+        if (region.generation.get() != generation) {
+          region.cache.invalidateAll(loaded.keySet());
+        }
+      }
+    }
+    Map<Long, V> result = new LinkedHashMap<>();
+    for (Long id : ids) {
+      V value = found.get(id);
+      if (value != null) {
+        result.put(id, value);
+      }
+    }
+    return result;
+  }
+
+  /** 失效指定主键（并丢弃其在途加载） */
+  public void invalidate(Class<?> doClass, Iterable<Long> ids) {
+    Region region = regions.get(doClass);
+    if (region == null) {
+      return;
+    }
+    region.generation.incrementAndGet();
+    region.loads.forget(ids);
+    if (region.cache != null) {
+      region.cache.invalidateAll(ids);
+    }
+  }
+
+  /** 指定DO类型的命中/未命中/淘汰统计 */
+  public CacheStats stats(Class<?> doClass) {
+    Region region = regions.get(doClass);
+    return region == null || region.cache == null ? CacheStats.empty() : region.cache.stats();
+  }
+
+  /** 指定DO类型的加载合并统计（实际执行/合并的加载次数） */
+  public SingleFlight.Stats loadStats(Class<?> doClass) {
+    Region region = regions.get(doClass);
+    return region == null ? new SingleFlight.Stats(0, 0) : region.loads.stats();
+  }
+
+  /** 事务提交后失效写入的行（无事务时立即执行） */
+  @TransactionalEventListener(fallbackExecution = true)
+  @SuppressWarnings("unchecked")
+  public void onPersisted(AggregatePersistedEvent event) {
+    for (Map.Entry<Class<?>, Set<Object>> entry : event.writtenIds().entrySet()) {
+      invalidate(entry.getKey(), (Iterable<Long>) (Iterable<?>) entry.getValue());
+    }
+  }
+
+  private Region region(Class<?> doClass) {
+    Region region = regions.get(doClass);
+    return region != null ? region : regions.computeIfAbsent(doClass, Region::new);
+  }
+
+  /** 单个DO类型的缓存区 */
+  private final class Region {
+    /** 缓存（关闭时为null） */
+    private final Cache<Long, Object> cache =
+        maximumSize <= 0
+            ? null
+            : Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+
+    private final SingleFlight<Long, Object> loads = new SingleFlight<>();
+
+    /** 失效代数：每次失效递增，加载前后不一致时不保留结果 */
+    private final AtomicLong generation = new AtomicLong();
+
+    Region(Class<?> doClass) {
+      MeterRegistry registry = meterRegistry == null ? null : meterRegistry.getIfAvailable();
+      if (registry == null) {
+        return;
+      }
+      String name = doClass.getSimpleName();
+      if (cache != null) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+      }
+      FunctionCounter.builder("entity.cache.loads", loads, flight -> flight.stats().executed())
+          .tags("cache", name, "result", "executed")
+          .description("按主键加载次数")
+          .register(registry);
+      FunctionCounter.builder("entity.cache.loads", loads, flight -> flight.stats().coalesced())
+          .tags("cache", name, "result", "coalesced")
+          .description("按主键加载次数")
+          .register(registry);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import java.io.Serial;
+import lombok.Getter;
+
+/**
+ * 导出繁忙：同时进行的流式导出数已达上限，客户端可稍后重试
+ *
+ * @author zhangshaolong
+ */
+@Getter
+public class ExportLimitExceededException extends RuntimeException {
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** 同时进行的导出数上限 */
+  private final int maxConcurrent;
+
+  public ExportLimitExceededException(int maxConcurrent) {
+    super("导出任务繁忙（最多同时进行" + maxConcurrent + "个），请稍后重试");
+    this.maxConcurrent = maxConcurrent;
+  }
+}
@@ -0,0 +1,48 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 导出并发限制：每个流式导出在整个输出期间独占一个数据库连接，限制同时进行的导出数，避免慢客户端占满连接池
+ *
+ * <p>名额在请求线程中占用（名额耗尽时立即拒绝，响应503），导出结束（正常完成、失败或客户端断开）时归还
+ *
+ * @author zhangshaolong
+ */
+@Component
+public class ExportLimiter {
+  private final int maxConcurrent;
+  private final Semaphore permits;
+
+  public ExportLimiter(@Value("${query.export.max-concurrent:2}") int maxConcurrent) {
+    this.maxConcurrent = maxConcurrent;
+    this.permits = new Semaphore(maxConcurrent);
+  }
+
+  /**
+   * 占用一个导出名额
+   *
+   * @param producer 导出数据生产者
+   * @return 只可执行一次的生产者，执行结束时归还名额
+   * @throws ExportLimitExceededException 同时进行的导出数已达上限
+   */
+  public <T> Consumer<Consumer<T>> acquire(Consumer<Consumer<T>> producer) {
+    if (!permits.tryAcquire()) {
+      throw new ExportLimitExceededException(maxConcurrent);
+    }
+    AtomicBoolean released = new AtomicBoolean();
+    return consumer -> {
+      try {
+        producer.accept(consumer);
+      } finally {
+        if (released.compareAndSet(false, true)) {
+          permits.release();
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,30 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * future等待工具：等待结果时还原加载方抛出的原始异常
+ *
+ * @author zhangshaolong
+ */
+final class Futures {
+
+  // 私有构造器：禁止实例化
+  private Futures() {}
+
+  /** 等待future完成：失败时抛出加载方的原始RuntimeException/Error，与直接执行加载时一致 */
+  static <V> V join(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 请求合并：同一key的并发加载只执行一次，其余调用方等待并共享同一个加载结果（含null与异常）
+ *
+ * <p>加载在首个调用方线程内执行，结束后立即移除，不缓存结果；{@link #forget}使后续调用方不再加入已在途的加载（如数据已变更）
+ *
+ * @author zhangshaolong
+ */
+public final class SingleFlight<K, V> {
+  /** 在途加载：key→加载结果 */
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  private final LongAdder executed = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * 执行加载（同一key已有在途加载时等待其结果）
+   *
+   * @param key 加载key
+   * @param loader 加载函数
+   * @return 加载结果
+   */
+  public V execute(K key, Function<? super K, ? extends V> loader) {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      coalesced.increment();
+      // 与执行加载的调用方抛出相同的异常
+      return Futures.join(existing);
+    }
+    executed.increment();
+    try {
+      V value = loader.apply(key);
+      future.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /** 移除在途加载：已等待的调用方不受影响，后续调用方重新加载 */
+  public void forget(Iterable<? extends K> keys) {
+    for (K key : keys) {
+      inFlight.remove(key);
+    }
+  }
+
+  /** 累计统计 */
+  public Stats stats() {
+    return new Stats(executed.sum(), coalesced.sum());
+  }
+
+  /**
+   * 统计快照
+   *
+   * @param executed 实际执行的加载次数
+   * @param coalesced 合并到在途加载的调用次数
+   */
+  public record Stats(long executed, long coalesced) {}
+}
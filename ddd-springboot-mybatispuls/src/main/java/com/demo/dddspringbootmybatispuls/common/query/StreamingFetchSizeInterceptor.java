@@ -0,0 +1,43 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import java.sql.Connection;
+import java.sql.Statement;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流式查询fetchSize：为声明了resultSetType=FORWARD_ONLY的语句（Mapper中返回Cursor的流式查询）设置可配置的fetchSize
+ *
+ * <p>配合MySQL连接参数useCursorFetch=true，驱动通过服务端游标每次拉取fetchSize行，内存占用与数据量无关；其余语句保持驱动默认行为
+ *
+ * @author zhangshaolong
+ */
+@Component
+@Intercepts(
+    @Signature(
+        type = StatementHandler.class,
+        method = "prepare",
+        args = {Connection.class, Integer.class}))
+public class StreamingFetchSizeInterceptor implements Interceptor {
+  /** 流式查询每批拉取的行数 */
+  @Value("${query.export.fetch-size:1000}")
+  private int fetchSize;
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    Statement statement = (Statement) invocation.proceed();
+    StatementHandler handler = PluginUtils.realTarget(invocation.getTarget());
+    if (PluginUtils.mpStatementHandler(handler).mappedStatement().getResultSetType()
+        == ResultSetType.FORWARD_ONLY) {
+      statement.setFetchSize(fetchSize);
+    }
+    return statement;
+  }
+}
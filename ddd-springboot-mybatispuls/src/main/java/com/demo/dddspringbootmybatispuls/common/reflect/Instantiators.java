@@ -0,0 +1,189 @@
+package com.demo.dddspringbootmybatispuls.common.reflect;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 实例化器：按类型缓存预编译的构造函数对象，运行期创建对象不再查找/反射调用构造器
+ *
+ * <p>无参构造器编译为{@link Supplier}（LambdaMetafactory）；record与全参构造器的DTO按构造参数一次性创建
+ *
+ * @author zhangshaolong
+ */
+@Slf4j
+public final class Instantiators {
+  /** 类型→无参实例化器（无无参构造器时为null） */
+  private static final ClassValue<Supplier<Object>> SUPPLIER_CACHE =
+      new ClassValue<>() {
+        @Override
+        protected Supplier<Object> computeValue(Class<?> type) {
+          return compileSupplier(type);
+        }
+      };
+
+  /** 类型→带参构造器（record的规范构造器或全参构造器，无时为null） */
+  private static final ClassValue<Constructor<?>> CREATOR_CACHE =
+      new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+          return findCreator(type);
+        }
+      };
+
+  // 私有构造器：禁止实例化
+  private Instantiators() {}
+
+  /**
+   * 获取无参实例化器
+   *
+   * @param type 类型
+   * @return 实例化器（无可访问的无参构造器时返回null）
+   */
+  public static Supplier<Object> supplier(Class<?> type) {
+    return SUPPLIER_CACHE.get(type);
+  }
+
+  /**
+   * 获取带参构造器：record取规范构造器，否则取参数名均与字段对应、参数最多的构造器（依赖-parameters编译参数）
+   *
+   * @param type 类型
+   * @return 构造器（不存在时返回null）
+   */
+  public static Constructor<?> creator(Class<?> type) {
+    return CREATOR_CACHE.get(type);
+  }
+
+  /** 是否可实例化（有无参构造器或带参构造器） */
+  public static boolean isInstantiable(Class<?> type) {
+    return supplier(type) != null || creator(type) != null;
+  }
+
+  /**
+   * 编译带参构造器：参数按构造器声明顺序传入
+   *
+   * @param constructor 构造器
+   * @return 构造函数对象
+   */
+  public static Function<Object[], Object> compileCreator(Constructor<?> constructor) {
+    try {
+      MethodHandle handle =
+          lookupFor(constructor.getDeclaringClass())
+              .unreflectConstructor(constructor)
+              .asSpreader(Object[].class, constructor.getParameterCount())
+              .asType(MethodType.methodType(Object.class, Object[].class));
+      return args -> {
+        try {
+          return handle.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new RuntimeException("创建对象失败：" + constructor.getDeclaringClass().getName(), e);
+        }
+      };
+    } catch (IllegalAccessException e) {
+      throw new RuntimeException("编译构造器失败：" + constructor, e);
+    }
+  }
+
+  private static Supplier<Object> compileSupplier(Class<?> type) {
+    if (type.isInterface() || type.isPrimitive() || type.isArray() || isAbstract(type)) {
+      return null;
+    }
+    MethodHandle handle;
+    MethodHandles.Lookup lookup;
+    try {
+      lookup = lookupFor(type);
+      handle = lookup.findConstructor(type, MethodType.methodType(void.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+    try {
+      CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "get",
+              MethodType.methodType(Supplier.class),
+              MethodType.methodType(Object.class),
+              handle,
+              MethodType.methodType(type));
+      @SuppressWarnings("unchecked")
+      Supplier<Object> supplier = (Supplier<Object>) PropertyAccessors.newFunction(site);
+      return supplier;
+    } catch (LambdaConversionException e) {
+      // 无法生成lambda时退化为方法句柄调用
+      log.debug("无参构造器无法生成函数对象，退化为方法句柄：{}", type.getName(), e);
+      MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+      return () -> {
+        try {
+          return generic.invokeExact();
+        } catch (RuntimeException | Error ex) {
+          throw ex;
+        } catch (Throwable ex) {
+          throw new RuntimeException("创建对象失败：" + type.getName(), ex);
+        }
+      };
+    }
+  }
+
+  private static Constructor<?> findCreator(Class<?> type) {
+    if (type.isRecord()) {
+      RecordComponent[] components = type.getRecordComponents();
+      Class<?>[] parameterTypes = new Class<?>[components.length];
+      for (int i = 0; i < components.length; i++) {
+        parameterTypes[i] = components[i].getType();
+      }
+      try {
+        return type.getDeclaredConstructor(parameterTypes);
+      } catch (NoSuchMethodException e) {
+        return null;
+      }
+    }
+    if (type.isInterface() || type.isPrimitive() || type.isArray() || isAbstract(type)) {
+      return null;
+    }
+    Map<String, PropertyAccessor> properties = PropertyAccessors.mapOf(type);
+    Constructor<?> creator = null;
+    for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+      if (constructor.getParameterCount() == 0
+          || (creator != null && creator.getParameterCount() >= constructor.getParameterCount())
+          || !matchesProperties(constructor, properties)) {
+        continue;
+      }
+      creator = constructor;
+    }
+    return creator;
+  }
+
+  /** 构造参数名与类型均与字段一致（未开启-parameters时参数名不可用，视为不匹配） */
+  private static boolean matchesProperties(
+      Constructor<?> constructor, Map<String, PropertyAccessor> properties) {
+    for (Parameter parameter : constructor.getParameters()) {
+      PropertyAccessor property =
+          parameter.isNamePresent() ? properties.get(parameter.getName()) : null;
+      if (property == null || property.getType() != parameter.getType()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isAbstract(Class<?> type) {
+    return Modifier.isAbstract(type.getModifiers());
+  }
+
+  private static MethodHandles.Lookup lookupFor(Class<?> type) throws IllegalAccessException {
+    return PropertyAccessors.lookupFor(type);
+  }
+}
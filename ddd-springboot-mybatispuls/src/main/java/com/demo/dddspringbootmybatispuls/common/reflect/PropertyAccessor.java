@@ -0,0 +1,98 @@
+package com.demo.dddspringbootmybatispuls.common.reflect;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 属性访问器：单个字段预编译后的getter/setter 不可变设计，线程安全
+ *
+ * <p>由{@link PropertyAccessors}在首次访问类时统一构建，运行期读写不再触发任何反射查找
+ *
+ * @author zhangshaolong
+ */
+public final class PropertyAccessor {
+  private final Field field;
+  private final Function<Object, Object> getter;
+  private final BiConsumer<Object, Object> setter;
+
+  /** getter方法（无公开getter、退化为字段句柄时为null） */
+  private final Method readMethod;
+
+  /** setter方法（无公开setter、退化为字段句柄时为null） */
+  private final Method writeMethod;
+
+  PropertyAccessor(
+      Field field,
+      Function<Object, Object> getter,
+      BiConsumer<Object, Object> setter,
+      Method readMethod,
+      Method writeMethod) {
+    this.field = field;
+    this.getter = getter;
+    this.setter = setter;
+    this.readMethod = readMethod;
+    this.writeMethod = writeMethod;
+  }
+
+  /** 读取属性值 */
+  public Object get(Object bean) {
+    return getter.apply(bean);
+  }
+
+  /** 写入属性值（不可写属性抛出异常） */
+  public void set(Object bean, Object value) {
+    if (setter == null) {
+      throw new IllegalStateException(
+          "属性不可写：" + field.getDeclaringClass().getName() + "." + getName());
+    }
+    setter.accept(bean, value);
+  }
+
+  public boolean isWritable() {
+    return setter != null;
+  }
+
+  public String getName() {
+    return field.getName();
+  }
+
+  public Class<?> getType() {
+    return field.getType();
+  }
+
+  public Type getGenericType() {
+    return field.getGenericType();
+  }
+
+  public Class<?> getDeclaringClass() {
+    return field.getDeclaringClass();
+  }
+
+  public Field getField() {
+    return field;
+  }
+
+  public Function<Object, Object> getGetter() {
+    return getter;
+  }
+
+  public BiConsumer<Object, Object> getSetter() {
+    return setter;
+  }
+
+  public Method getReadMethod() {
+    return readMethod;
+  }
+
+  public Method getWriteMethod() {
+    return writeMethod;
+  }
+
+  @Override
+  public String toString() {
+    return "PropertyAccessor{" + field.getDeclaringClass().getSimpleName() + "." + getName() + '}';
+  }
+}
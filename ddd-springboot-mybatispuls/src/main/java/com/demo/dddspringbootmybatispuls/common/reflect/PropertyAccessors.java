@@ -0,0 +1,256 @@
+package com.demo.dddspringbootmybatispuls.common.reflect;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 属性访问器工厂：按类构建并缓存全部实例字段的{@link PropertyAccessor}
+ *
+ * <p>编译策略：优先基于getter/setter方法通过LambdaMetafactory生成函数对象（JIT可内联），无对应方法时退化为字段MethodHandle
+ *
+ * @author zhangshaolong
+ */
+@Slf4j
+public final class PropertyAccessors {
+  /** 类级缓存：ClassValue随类卸载自动释放，查找无需构建字符串key */
+  private static final ClassValue<ClassProperties> ACCESSOR_CACHE =
+      new ClassValue<>() {
+        @Override
+        protected ClassProperties computeValue(Class<?> type) {
+          Map<String, PropertyAccessor> accessors = compile(type);
+          return new ClassProperties(List.copyOf(accessors.values()), accessors);
+        }
+      };
+
+  private static final MethodType GETTER_SAM = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_SAM =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  // 私有构造器：禁止实例化
+  private PropertyAccessors() {}
+
+  /**
+   * 获取类的全部属性访问器（含父类字段，父类字段在前，子类同名字段覆盖父类）
+   *
+   * @param clazz 目标类
+   * @return 不可变的属性访问器列表
+   */
+  public static List<PropertyAccessor> of(Class<?> clazz) {
+    return ACCESSOR_CACHE.get(clazz).list();
+  }
+
+  /**
+   * 获取类的全部属性访问器（key=字段名）
+   *
+   * @param clazz 目标类
+   * @return 不可变的属性访问器映射，按字段声明顺序迭代
+   */
+  public static Map<String, PropertyAccessor> mapOf(Class<?> clazz) {
+    return ACCESSOR_CACHE.get(clazz).map();
+  }
+
+  /**
+   * 查找指定属性访问器
+   *
+   * @param clazz 目标类
+   * @param fieldName 字段名
+   * @return 属性访问器，字段不存在时返回null
+   */
+  public static PropertyAccessor find(Class<?> clazz, String fieldName) {
+    return ACCESSOR_CACHE.get(clazz).map().get(fieldName);
+  }
+
+  private static Map<String, PropertyAccessor> compile(Class<?> type) {
+    // 自顶向下收集继承链，保证父类字段在前
+    Deque<Class<?>> hierarchy = new ArrayDeque<>();
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      hierarchy.push(c);
+    }
+
+    Map<String, PropertyAccessor> accessors = new LinkedHashMap<>();
+    for (Class<?> declaringClass : hierarchy) {
+      for (Field field : declaringClass.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+          continue;
+        }
+        accessors.put(field.getName(), compileAccessor(type, field));
+      }
+    }
+    return Collections.unmodifiableMap(accessors);
+  }
+
+  private static PropertyAccessor compileAccessor(Class<?> owner, Field field) {
+    Method readMethod = findReadMethod(owner, field);
+    Method writeMethod = findWriteMethod(owner, field);
+    Function<Object, Object> getter = readMethod == null ? null : compileGetter(readMethod);
+    BiConsumer<Object, Object> setter =
+        writeMethod == null ? null : compileSetter(writeMethod, field);
+    return new PropertyAccessor(
+        field,
+        getter == null ? compileFieldGetter(field) : getter,
+        setter == null ? compileFieldSetter(field) : setter,
+        getter == null ? null : readMethod,
+        setter == null ? null : writeMethod);
+  }
+
+  /** 基于getter方法生成函数对象（方法不可访问时返回null） */
+  private static Function<Object, Object> compileGetter(Method readMethod) {
+    try {
+      MethodHandles.Lookup lookup = lookupFor(readMethod.getDeclaringClass());
+      MethodHandle handle = lookup.unreflect(readMethod);
+      CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "apply",
+              MethodType.methodType(Function.class),
+              GETTER_SAM,
+              handle,
+              handle.type());
+      @SuppressWarnings("unchecked")
+      Function<Object, Object> getter = (Function<Object, Object>) newFunction(site);
+      return getter;
+    } catch (IllegalAccessException | LambdaConversionException e) {
+      // 方法不可访问时退化为字段句柄
+      log.debug("getter无法生成函数对象，退化为字段句柄：{}", readMethod, e);
+      return null;
+    }
+  }
+
+  private static Function<Object, Object> compileFieldGetter(Field field) {
+    try {
+      MethodHandle handle =
+          lookupFor(field.getDeclaringClass()).unreflectGetter(field).asType(GETTER_SAM);
+      return bean -> {
+        try {
+          return handle.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new RuntimeException("读取属性失败：" + field, e);
+        }
+      };
+    } catch (IllegalAccessException e) {
+      throw new RuntimeException("编译属性读取器失败：" + field, e);
+    }
+  }
+
+  /** 基于setter方法生成函数对象（方法不可访问时返回null） */
+  private static BiConsumer<Object, Object> compileSetter(Method writeMethod, Field field) {
+    try {
+      MethodHandles.Lookup lookup = lookupFor(writeMethod.getDeclaringClass());
+      MethodHandle handle = lookup.unreflect(writeMethod);
+      MethodType instantiated =
+          MethodType.methodType(void.class, writeMethod.getDeclaringClass(), wrap(field.getType()));
+      CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "accept",
+              MethodType.methodType(BiConsumer.class),
+              SETTER_SAM,
+              handle,
+              instantiated);
+      @SuppressWarnings("unchecked")
+      BiConsumer<Object, Object> setter = (BiConsumer<Object, Object>) newFunction(site);
+      return setter;
+    } catch (IllegalAccessException | LambdaConversionException e) {
+      // 方法不可访问时退化为字段句柄
+      log.debug("setter无法生成函数对象，退化为字段句柄：{}", writeMethod, e);
+      return null;
+    }
+  }
+
+  private static BiConsumer<Object, Object> compileFieldSetter(Field field) {
+    if (Modifier.isFinal(field.getModifiers())) {
+      return null;
+    }
+    try {
+      MethodHandle handle =
+          lookupFor(field.getDeclaringClass()).unreflectSetter(field).asType(SETTER_SAM);
+      return (bean, value) -> {
+        try {
+          handle.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new RuntimeException("写入属性失败：" + field, e);
+        }
+      };
+    } catch (IllegalAccessException e) {
+      throw new RuntimeException("编译属性写入器失败：" + field, e);
+    }
+  }
+
+  private static Method findReadMethod(Class<?> owner, Field field) {
+    String suffix = capitalize(field.getName());
+    // record的访问器与字段同名
+    Method method =
+        owner.isRecord()
+            ? findPublicMethod(owner, field.getName())
+            : findPublicMethod(owner, "get" + suffix);
+    if (method == null && field.getType() == boolean.class) {
+      method = findPublicMethod(owner, "is" + suffix);
+    }
+    if (method == null || Modifier.isStatic(method.getModifiers())) {
+      return null;
+    }
+    return method.getReturnType() == field.getType() ? method : null;
+  }
+
+  private static Method findWriteMethod(Class<?> owner, Field field) {
+    Method method = findPublicMethod(owner, "set" + capitalize(field.getName()), field.getType());
+    if (method == null || Modifier.isStatic(method.getModifiers())) {
+      return null;
+    }
+    return method;
+  }
+
+  private static Method findPublicMethod(Class<?> owner, String name, Class<?>... parameterTypes) {
+    try {
+      return owner.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /** 调用LambdaMetafactory生成的工厂获取函数对象：运行期异常与Error原样抛出 */
+  static Object newFunction(CallSite site) {
+    try {
+      return site.getTarget().invoke();
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException("生成函数对象失败：" + site.type(), e);
+    }
+  }
+
+  static MethodHandles.Lookup lookupFor(Class<?> clazz) throws IllegalAccessException {
+    return MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+  }
+
+  private static String capitalize(String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /** 基本类型转包装类型 */
+  public static Class<?> wrap(Class<?> type) {
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  private record ClassProperties(List<PropertyAccessor> list, Map<String, PropertyAccessor> map) {}
+}
@@ -0,0 +1,46 @@
+package com.demo.dddspringbootmybatispuls.common.request;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Data;
+
+@Data
+public class BatchGetRequest {
+  /** 单次最大ID数 */
+  public static final int MAX_BATCH_SIZE = 100;
+
+  /** 查询的ID（?ids=1,2,3 或 ?ids=1&ids=2，多值绑定时以逗号拼接），按原始字符串接收以便先校验数量再解析 */
+  private String ids;
+
+  /**
+   * 去重、去空后的ID（保持请求顺序）
+   *
+   * @throws InvalidBatchRequestException ID数量超过上限（按去重前计数，超限时不解析）或ID格式错误
+   */
+  public List<Long> resolveIds() {
+    if (ids == null || ids.isBlank()) {
+      return List.of();
+    }
+    int count = 1;
+    for (int i = 0; i < ids.length(); i++) {
+      if (ids.charAt(i) == ',' && ++count > MAX_BATCH_SIZE) {
+        throw new InvalidBatchRequestException("单次最多查询" + MAX_BATCH_SIZE + "个ID");
+      }
+    }
+    Set<Long> distinct = new LinkedHashSet<>();
+    for (String token : ids.split(",")) {
+      String id = token.trim();
+      if (id.isEmpty()) {
+        continue;
+      }
+      try {
+        distinct.add(Long.valueOf(id));
+      } catch (NumberFormatException e) {
+        throw new InvalidBatchRequestException("ID格式错误：" + id);
+      }
+    }
+    return new ArrayList<>(distinct);
+  }
+}
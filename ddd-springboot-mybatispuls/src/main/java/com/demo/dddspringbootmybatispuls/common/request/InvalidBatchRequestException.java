@@ -0,0 +1,13 @@
+package com.demo.dddspringbootmybatispuls.common.request;
+
+/**
+ * 批量查询参数无效：ID数量超过上限或ID格式错误
+ *
+ * @author zhangshaolong
+ */
+public class InvalidBatchRequestException extends IllegalArgumentException {
+
+  public InvalidBatchRequestException(String message) {
+    super(message);
+  }
+}
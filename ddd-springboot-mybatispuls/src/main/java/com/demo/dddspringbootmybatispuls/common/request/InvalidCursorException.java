@@ -0,0 +1,13 @@
+package com.demo.dddspringbootmybatispuls.common.request;
+
+/**
+ * 分页游标无效：客户端回传了被篡改或截断的游标
+ *
+ * @author zhangshaolong
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+  public InvalidCursorException(String cursor, Throwable cause) {
+    super("分页游标无效：" + cursor, cause);
+  }
+}
@@ -0,0 +1,45 @@
+package com.demo.dddspringbootmybatispuls.common.request;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * 分页游标：对排序键（主键id）做不透明编码，客户端只回传不解析
+ *
+ * @author zhangshaolong
+ */
+public final class PageCursor {
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  // 私有构造器：禁止实例化
+  private PageCursor() {}
+
+  /** 编码游标 */
+  public static String encode(long id) {
+    return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+  }
+
+  /**
+   * 解码游标
+   *
+   * @param cursor 游标（为空时返回null，表示第一页）
+   * @return 上一页最后一条记录的id
+   * @throws InvalidCursorException 游标格式无效（客户端错误，响应400）
+   */
+  public static Long decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    byte[] bytes;
+    try {
+      bytes = DECODER.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException(cursor, e);
+    }
+    if (bytes.length != Long.BYTES) {
+      throw new InvalidCursorException(cursor, null);
+    }
+    return ByteBuffer.wrap(bytes).getLong();
+  }
+}
@@ -0,0 +1,32 @@
+package com.demo.dddspringbootmybatispuls.common.request;
+
+import lombok.Data;
+
+@Data
+public class PageRequest {
+  /** 单页最大条数 */
+  public static final int MAX_PAGE_SIZE = 100;
+
+  /**
+   * 页码（已废弃：列表已改为游标分页，传入时忽略，仅为兼容旧客户端保留；翻页请改用{@link #cursor}）
+   *
+   * @deprecated 使用{@link #cursor}
+   */
+  @Deprecated private Integer pageNum = 1;
+
+  private Integer pageSize = 10;
+
+  /** 游标（上一页返回的nextCursor，为空时查询第一页） */
+  private String cursor;
+
+  /** 是否返回近似总数（异步统计，首次可能为null） */
+  private Boolean withTotal = false;
+
+  /** 实际单页条数（限制在1~MAX_PAGE_SIZE） */
+  public int resolvePageSize() {
+    if (pageSize == null || pageSize < 1) {
+      return 10;
+    }
+    return Math.min(pageSize, MAX_PAGE_SIZE);
+  }
+}
@@ -0,0 +1,46 @@
+package com.demo.dddspringbootmybatispuls.common.response;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * 按ID批量查询结果：部分ID不存在时仍返回已查到的数据
+ *
+ * @param <T> 数据类型
+ * @author zhangshaolong
+ */
+@Data
+public class BatchResult<T> {
+  /** 查到的数据：ID→数据（按请求顺序） */
+  private Map<Long, T> items;
+
+  /** 不存在的ID（按请求顺序） */
+  private List<Long> missingIds;
+
+  /**
+   * 按请求ID整理查询结果
+   *
+   * @param ids 请求的ID
+   * @param found 查到的数据（ID→数据）
+   * @return 批量查询结果
+   */
+  public static <T> BatchResult<T> of(List<Long> ids, Map<Long, T> found) {
+    Map<Long, T> items = new LinkedHashMap<>();
+    List<Long> missingIds = new ArrayList<>();
+    for (Long id : ids) {
+      T item = found.get(id);
+      if (item != null) {
+        items.put(id, item);
+      } else {
+        missingIds.add(id);
+      }
+    }
+    BatchResult<T> result = new BatchResult<>();
+    result.setItems(items);
+    result.setMissingIds(missingIds);
+    return result;
+  }
+}
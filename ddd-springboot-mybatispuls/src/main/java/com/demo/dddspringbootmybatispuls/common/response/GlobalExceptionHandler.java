@@ -0,0 +1,47 @@
+package com.demo.dddspringbootmybatispuls.common.response;
+
+import com.demo.dddspringbootmybatispuls.common.aggregate.AggregateNotFoundException;
+import com.demo.dddspringbootmybatispuls.common.query.ExportLimitExceededException;
+import com.demo.dddspringbootmybatispuls.common.request.InvalidBatchRequestException;
+import com.demo.dddspringbootmybatispuls.common.request.InvalidCursorException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 全局异常处理：客户端参数错误转换为400响应，资源不存在转换为404响应，导出繁忙转换为503响应
+ *
+ * @author zhangshaolong
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+  /** 分页游标无效 */
+  @ExceptionHandler(InvalidCursorException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Result<Void> handleInvalidCursor(InvalidCursorException e) {
+    return Result.fail(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+  }
+
+  /** 批量查询参数无效 */
+  @ExceptionHandler(InvalidBatchRequestException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public Result<Void> handleInvalidBatchRequest(InvalidBatchRequestException e) {
+    return Result.fail(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+  }
+
+  /** 聚合不存在 */
+  @ExceptionHandler(AggregateNotFoundException.class)
+  @ResponseStatus(HttpStatus.NOT_FOUND)
+  public Result<Void> handleAggregateNotFound(AggregateNotFoundException e) {
+    return Result.fail(HttpStatus.NOT_FOUND.value(), e.getMessage());
+  }
+
+  /** 导出繁忙 */
+  @ExceptionHandler(ExportLimitExceededException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public Result<Void> handleExportLimitExceeded(ExportLimitExceededException e) {
+    return Result.fail(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+  }
+}
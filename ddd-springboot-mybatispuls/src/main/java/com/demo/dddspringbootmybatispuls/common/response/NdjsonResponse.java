@@ -0,0 +1,62 @@
+package com.demo.dddspringbootmybatispuls.common.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * NDJSON流式响应：每行一个JSON对象，逐条写出，响应体不在内存中累积
+ *
+ * @author zhangshaolong
+ */
+public final class NdjsonResponse {
+  public static final MediaType APPLICATION_NDJSON =
+      MediaType.parseMediaType("application/x-ndjson");
+
+  /** 每写出多少行主动flush一次（其余时间由缓冲区写满时自动flush） */
+  private static final int FLUSH_ROWS = 1000;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  // 私有构造器：禁止实例化
+  private NdjsonResponse() {}
+
+  /**
+   * 构建NDJSON流式响应
+   *
+   * @param objectMapper JSON序列化器
+   * @param producer 数据生产者（逐条回调写出函数，写出阻塞时生产同步放缓）
+   * @return 流式响应
+   */
+  public static <T> ResponseEntity<StreamingResponseBody> of(
+      ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+    ObjectWriter writer = objectMapper.writer();
+    StreamingResponseBody body =
+        outputStream -> {
+          OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+          int[] rows = {0};
+          producer.accept(
+              item -> {
+                try {
+                  out.write(writer.writeValueAsBytes(item));
+                  out.write('\n');
+                  if (++rows[0] % FLUSH_ROWS == 0) {
+                    out.flush();
+                  }
+                } catch (IOException e) {
+                  // 客户端断开：中断生产（游标随事务关闭）
+                  throw new UncheckedIOException(e);
+                }
+              });
+          out.flush();
+        };
+    return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+  }
+}
@@ -0,0 +1,55 @@
+package com.demo.dddspringbootmybatispuls.common.response;
+
+import com.demo.dddspringbootmybatispuls.common.request.PageCursor;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import lombok.Data;
+
+/**
+ * 游标分页结果
+ *
+ * @param <T> 数据类型
+ * @author zhangshaolong
+ */
+@Data
+public class PageResult<T> {
+  /** 当前页数据 */
+  private List<T> items;
+
+  /** 下一页游标（无下一页时为null） */
+  private String nextCursor;
+
+  /** 是否还有下一页 */
+  private boolean hasMore;
+
+  /** 近似总数（未请求或尚未统计完成时为null） */
+  private Long total;
+
+  /**
+   * 由多查一条的查询结果构建分页结果（查询条数=pageSize+1，多出的一条仅用于判断是否还有下一页）
+   *
+   * @param rows 查询结果
+   * @param pageSize 单页条数
+   * @param keyGetter 排序键（用于生成下一页游标）
+   * @param converter 当前页数据转换
+   * @param total 近似总数（可为null）
+   * @return 分页结果
+   */
+  public static <R, T> PageResult<T> seek(
+      List<R> rows,
+      int pageSize,
+      ToLongFunction<R> keyGetter,
+      Function<List<R>, List<T>> converter,
+      Long total) {
+    boolean hasMore = rows.size() > pageSize;
+    List<R> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+    PageResult<T> result = new PageResult<>();
+    result.setItems(page.isEmpty() ? List.of() : converter.apply(page));
+    result.setHasMore(hasMore);
+    result.setNextCursor(hasMore ? PageCursor.encode(keyGetter.applyAsLong(page.getLast())) : null);
+    result.setTotal(total);
+    return result;
+  }
+}
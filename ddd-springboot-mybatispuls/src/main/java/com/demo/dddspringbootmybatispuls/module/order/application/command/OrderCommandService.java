@@ -0,0 +1,43 @@
+package com.demo.dddspringbootmybatispuls.module.order.application.command;
+
+import com.demo.dddspringbootmybatispuls.common.aggregate.AggregateCommandExecutor;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.OrderItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class OrderCommandService {
+  @Autowired private AggregateCommandExecutor aggregateCommandExecutor;
+
+  public void update(Long orderId) {
+    // 加载→快照→修改→对比→持久化由执行器统一完成，版本冲突时自动重试
+    Order order =
+        aggregateCommandExecutor.execute(
+            Order.class,
+            orderId,
+            o -> {
+              // 模拟业务修改
+              o.setStatus("PAID"); // 修改订单状态
+              if (o.getPayment() != null) {
+                o.getPayment().setPayType("WECHAT"); // 修改支付方式
+              }
+
+              // 删除原有订单项
+              if (!o.getItems().isEmpty()) {
+                o.getItems().removeFirst();
+              }
+
+              // 新增订单项
+              OrderItem item = new OrderItem();
+              item.setOrderId(o.getId());
+              item.setSkuCode("SKU_002");
+              item.setQuantity(3);
+              o.getItems().add(item);
+            });
+
+    log.debug("订单[{}]变更持久化完成，最新版本：{}", orderId, order.getVersion());
+  }
+}
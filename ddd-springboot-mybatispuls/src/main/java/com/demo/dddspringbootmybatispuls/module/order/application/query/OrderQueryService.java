@@ -0,0 +1,104 @@
+package com.demo.dddspringbootmybatispuls.module.order.application.query;
+
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapping;
+import com.demo.dddspringbootmybatispuls.common.query.ApproximateTotalCounter;
+import com.demo.dddspringbootmybatispuls.common.query.BatchLoader;
+import com.demo.dddspringbootmybatispuls.common.query.BatchLoaders;
+import com.demo.dddspringbootmybatispuls.common.query.CursorQueryExecutor;
+import com.demo.dddspringbootmybatispuls.common.query.EntityReadCache;
+import com.demo.dddspringbootmybatispuls.common.request.PageCursor;
+import com.demo.dddspringbootmybatispuls.common.request.PageRequest;
+import com.demo.dddspringbootmybatispuls.common.response.PageResult;
+import com.demo.dddspringbootmybatispuls.module.order.application.query.dto.OrderDTO;
+import com.demo.dddspringbootmybatispuls.module.order.domain.repository.OrderRepository;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Service;
+
+@Service
+@StructMapping(source = OrderDO.class, target = OrderDTO.class)
+public class OrderQueryService {
+
+  @Resource private OrderRepository orderRepository;
+  @Resource private ApproximateTotalCounter approximateTotalCounter;
+  @Resource private CursorQueryExecutor cursorQueryExecutor;
+  @Resource private EntityReadCache entityReadCache;
+  @Resource private BatchLoaders batchLoaders;
+
+  /** 跨请求共享的定时分发加载器 */
+  private BatchLoader<Long, OrderDTO> orderLoader;
+
+  @PostConstruct
+  public void init() {
+    orderLoader = batchLoaders.windowed(this::getOrdersByIds);
+  }
+
+  /** 按主键读取：优先读缓存，命中时不查库也不映射；未命中时并发读取同一主键只查询一次 */
+  public OrderDTO getOrderById(Long id) {
+    return entityReadCache.get(OrderDO.class, id, this::loadOrder);
+  }
+
+  /** 按主键批量读取：缓存未命中的订单一次IN查询、一次批量映射（按ids顺序，不存在的ID跳过） */
+  public Map<Long, OrderDTO> getOrdersByIds(Collection<Long> ids) {
+    return entityReadCache.getAll(OrderDO.class, ids, this::selectOrders);
+  }
+
+  /** 异步按主键读取：同一时间窗口内各线程发起的读取合并为一次批量查询 */
+  public CompletableFuture<OrderDTO> getOrderByIdAsync(Long id) {
+    return orderLoader.load(id);
+  }
+
+  /** 创建请求内使用的加载器：逐个load后dispatch，合并为一次批量查询 */
+  public BatchLoader<Long, OrderDTO> newOrderLoader() {
+    return batchLoaders.requestScoped(this::getOrdersByIds);
+  }
+
+  private OrderDTO loadOrder(Long id) {
+    OrderDO orderDO = orderRepository.selectById(id);
+    if (orderDO == null) {
+      return null;
+    }
+    return StructMapper.to(orderDO, OrderDTO.class);
+  }
+
+  private Map<Long, OrderDTO> selectOrders(List<Long> ids) {
+    List<OrderDO> orderDOList = orderRepository.selectBatchIds(ids);
+    List<OrderDTO> orderDTOList = StructMapper.toList(orderDOList, OrderDTO.class);
+    Map<Long, OrderDTO> orderMap = HashMap.newHashMap(orderDOList.size());
+    for (int i = 0; i < orderDOList.size(); i++) {
+      orderMap.put(orderDOList.get(i).getId(), orderDTOList.get(i));
+    }
+    return orderMap;
+  }
+
+  /** 游标分页：按id倒序，任意页均为一次索引范围扫描 */
+  public PageResult<OrderDTO> getOrders(PageRequest pageRequest) {
+    int pageSize = pageRequest.resolvePageSize();
+    List<OrderDO> orderDOList =
+        orderRepository.selectPageAfter(PageCursor.decode(pageRequest.getCursor()), pageSize + 1);
+    Long total =
+        Boolean.TRUE.equals(pageRequest.getWithTotal())
+            ? approximateTotalCounter.get("t_order", orderRepository::count)
+            : null;
+    return PageResult.seek(
+        orderDOList,
+        pageSize,
+        OrderDO::getId,
+        page -> StructMapper.toList(page, OrderDTO.class),
+        total);
+  }
+
+  /** 流式导出：逐行读取、逐行转换，内存占用与数据量无关 */
+  public void exportOrders(Consumer<OrderDTO> consumer) {
+    cursorQueryExecutor.stream(
+        orderRepository::streamAll, StructMapper.mapper(OrderDTO.class), consumer);
+  }
+}
@@ -0,0 +1,3 @@
+package com.demo.dddspringbootmybatispuls.module.order.application.query.dto;
+
+public record OrderDTO(Long version, String orderNo, String status) {}
@@ -0,0 +1,45 @@
+package com.demo.dddspringbootmybatispuls.module.order.domain.repository;
+
+import com.demo.dddspringbootmybatispuls.common.aggregate.AggregateRepository;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import java.util.Collection;
+import java.util.List;
+import org.apache.ibatis.cursor.Cursor;
+
+public interface OrderRepository extends AggregateRepository<Order> {
+  OrderDO selectById(Long id);
+
+  /**
+   * 按主键批量查询订单行：WHERE id IN (...)
+   *
+   * @param ids 订单ID
+   * @return 订单DO（不保证顺序，不存在的ID跳过）
+   */
+  List<OrderDO> selectBatchIds(Collection<Long> ids);
+
+  List<OrderDO> selectList();
+
+  /**
+   * 游标分页查询（按id倒序）：WHERE id < afterId ORDER BY id DESC LIMIT limit
+   *
+   * @param afterId 上一页最后一条记录的id（为null时查询第一页）
+   * @param limit 查询条数
+   * @return 订单DO
+   */
+  List<OrderDO> selectPageAfter(Long afterId, int limit);
+
+  /** 订单总数 */
+  long count();
+
+  /** 流式读取全部订单（需在事务内消费，用完关闭） */
+  Cursor<OrderDO> streamAll();
+
+  /**
+   * 批量加载订单聚合（订单、订单项、支付信息各一次查询，内存中按订单ID关联）
+   *
+   * @param ids 订单ID
+   * @return 订单聚合（按ids顺序，不存在的ID跳过）
+   */
+  List<Order> loadAll(Collection<Long> ids);
+}
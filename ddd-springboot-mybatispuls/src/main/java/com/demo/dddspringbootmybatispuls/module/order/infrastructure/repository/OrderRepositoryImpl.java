@@ -0,0 +1,144 @@
+package com.demo.dddspringbootmybatispuls.module.order.infrastructure.repository;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.OrderItem;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.OrderPayment;
+import com.demo.dddspringbootmybatispuls.module.order.domain.repository.OrderRepository;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderItemDO;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderPaymentDO;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.mapper.OrderItemMapper;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.mapper.OrderMapper;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.mapper.OrderPaymentMapper;
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class OrderRepositoryImpl implements OrderRepository {
+  /** 实体→DO映射 */
+  private static final Map<Class<?>, Class<?>> ENTITY_DO_MAPPING =
+      Map.of(
+          Order.class, OrderDO.class,
+          OrderItem.class, OrderItemDO.class,
+          OrderPayment.class, OrderPaymentDO.class);
+
+  @Resource private OrderMapper orderMapper;
+  @Resource private OrderItemMapper orderItemMapper;
+  @Resource private OrderPaymentMapper orderPaymentMapper;
+
+  @Override
+  public OrderDO selectById(Long id) {
+    return orderMapper.selectById(id);
+  }
+
+  @Override
+  public List<OrderDO> selectBatchIds(Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return orderMapper.selectBatchIds(ids);
+  }
+
+  @Override
+  public List<OrderDO> selectList() {
+    return orderMapper.selectList(new LambdaQueryWrapper<OrderDO>());
+  }
+
+  @Override
+  public List<OrderDO> selectPageAfter(Long afterId, int limit) {
+    return orderMapper.selectPageAfter(afterId, limit);
+  }
+
+  @Override
+  public long count() {
+    return orderMapper.selectCount(new LambdaQueryWrapper<OrderDO>());
+  }
+
+  @Override
+  public Cursor<OrderDO> streamAll() {
+    return orderMapper.streamAll();
+  }
+
+  @Override
+  public Class<Order> aggregateType() {
+    return Order.class;
+  }
+
+  @Override
+  public Order load(Long id) {
+    List<Order> orders = loadAll(List.of(id));
+    return orders.isEmpty() ? null : orders.getFirst();
+  }
+
+  @Override
+  public List<Order> loadAll(Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    // 1. 订单：WHERE id IN (...)
+    List<OrderDO> orderDOList = orderMapper.selectBatchIds(ids);
+    if (orderDOList.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Map<Long, Order> orderMap = HashMap.newHashMap(orderDOList.size());
+    for (OrderDO orderDO : orderDOList) {
+      orderMap.put(orderDO.getId(), StructMapper.to(orderDO, Order.class));
+    }
+
+    // 2. 订单项：WHERE order_id IN (...)，按order_id哈希关联
+    List<OrderItemDO> itemDOList =
+        orderItemMapper.selectList(
+            new LambdaQueryWrapper<OrderItemDO>().in(OrderItemDO::getOrderId, orderMap.keySet()));
+    for (OrderItemDO itemDO : itemDOList) {
+      Order order = orderMap.get(itemDO.getOrderId());
+      if (order != null) {
+        order.getItems().add(StructMapper.to(itemDO, OrderItem.class));
+      }
+    }
+
+    // 3. 支付信息：WHERE order_id IN (...)，按order_id哈希关联
+    List<OrderPaymentDO> paymentDOList =
+        orderPaymentMapper.selectList(
+            new LambdaQueryWrapper<OrderPaymentDO>()
+                .in(OrderPaymentDO::getOrderId, orderMap.keySet()));
+    for (OrderPaymentDO paymentDO : paymentDOList) {
+      Order order = orderMap.get(paymentDO.getOrderId());
+      if (order != null) {
+        order.setPayment(StructMapper.to(paymentDO, OrderPayment.class));
+      }
+    }
+
+    // 按入参顺序返回
+    List<Order> orders = new ArrayList<>(orderMap.size());
+    for (Long id : ids) {
+      Order order = orderMap.remove(id);
+      if (order != null) {
+        orders.add(order);
+      }
+    }
+    return orders;
+  }
+
+  @Override
+  public Long currentVersion(Long id) {
+    List<Object> versions =
+        orderMapper.selectObjs(
+            new LambdaQueryWrapper<OrderDO>().select(OrderDO::getVersion).eq(OrderDO::getId, id));
+    return versions.isEmpty() || versions.getFirst() == null
+        ? null
+        : ((Number) versions.getFirst()).longValue();
+  }
+
+  @Override
+  public Map<Class<?>, Class<?>> entityDoMapping() {
+    return ENTITY_DO_MAPPING;
+  }
+}
@@ -0,0 +1,63 @@
+package com.demo.dddspringbootmybatispuls.module.order.interfaces.controller.controller;
+
+import com.demo.dddspringbootmybatispuls.common.query.ExportLimiter;
+import com.demo.dddspringbootmybatispuls.common.request.BatchGetRequest;
+import com.demo.dddspringbootmybatispuls.common.request.PageRequest;
+import com.demo.dddspringbootmybatispuls.common.response.BatchResult;
+import com.demo.dddspringbootmybatispuls.common.response.NdjsonResponse;
+import com.demo.dddspringbootmybatispuls.common.response.PageResult;
+import com.demo.dddspringbootmybatispuls.common.response.Result;
+import com.demo.dddspringbootmybatispuls.module.order.application.command.OrderCommandService;
+import com.demo.dddspringbootmybatispuls.module.order.application.query.OrderQueryService;
+import com.demo.dddspringbootmybatispuls.module.order.application.query.dto.OrderDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Resource;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/order")
+public class OrderController {
+
+  @Resource private OrderCommandService orderCommandService;
+  @Resource private ObjectMapper objectMapper;
+  @Resource private ExportLimiter exportLimiter;
+  @Resource private OrderQueryService orderQueryService;
+
+  @GetMapping("/list")
+  public Result<PageResult<OrderDTO>> getAllUsers(PageRequest pageRequest) {
+    return Result.success(orderQueryService.getOrders(pageRequest));
+  }
+
+  /** 流式导出（NDJSON，每行一条记录；同时进行的导出数受限，超出时响应503） */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export() {
+    return NdjsonResponse.of(
+        objectMapper, exportLimiter.<OrderDTO>acquire(orderQueryService::exportOrders));
+  }
+
+  /** 按ID批量查询（?ids=1,2,3，一次IN查询）：返回查到的订单及不存在的ID */
+  @GetMapping("/batch")
+  public Result<BatchResult<OrderDTO>> getOrdersByIds(BatchGetRequest request) {
+    List<Long> ids = request.resolveIds();
+    return Result.success(BatchResult.of(ids, orderQueryService.getOrdersByIds(ids)));
+  }
+
+  @GetMapping("/{id}")
+  public Result<OrderDTO> getUserById(@PathVariable Long id) {
+    OrderDTO orderDTO = orderQueryService.getOrderById(id);
+    return Result.success(orderDTO);
+  }
+
+  @GetMapping("/update")
+  public Result<?> updateOrder(@RequestParam(defaultValue = "1") Long id) {
+    orderCommandService.update(id);
+    return Result.success();
+  }
+}
@@ -0,0 +1,104 @@
+package com.demo.dddspringbootmybatispuls.module.user.application.query;
+
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapping;
+import com.demo.dddspringbootmybatispuls.common.query.ApproximateTotalCounter;
+import com.demo.dddspringbootmybatispuls.common.query.BatchLoader;
+import com.demo.dddspringbootmybatispuls.common.query.BatchLoaders;
+import com.demo.dddspringbootmybatispuls.common.query.CursorQueryExecutor;
+import com.demo.dddspringbootmybatispuls.common.query.EntityReadCache;
+import com.demo.dddspringbootmybatispuls.common.request.PageCursor;
+import com.demo.dddspringbootmybatispuls.common.request.PageRequest;
+import com.demo.dddspringbootmybatispuls.common.response.PageResult;
+import com.demo.dddspringbootmybatispuls.module.user.application.query.dto.UserDTO;
+import com.demo.dddspringbootmybatispuls.module.user.domain.repository.UserRepository;
+import com.demo.dddspringbootmybatispuls.module.user.infrastructure.dataobject.UserDO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Service;
+
+@Service
+@StructMapping(source = UserDO.class, target = UserDTO.class)
+public class UserQueryService {
+
+  @Resource private UserRepository userRepository;
+  @Resource private ApproximateTotalCounter approximateTotalCounter;
+  @Resource private CursorQueryExecutor cursorQueryExecutor;
+  @Resource private EntityReadCache entityReadCache;
+  @Resource private BatchLoaders batchLoaders;
+
+  /** 跨请求共享的定时分发加载器 */
+  private BatchLoader<Long, UserDTO> userLoader;
+
+  @PostConstruct
+  public void init() {
+    userLoader = batchLoaders.windowed(this::getUsersByIds);
+  }
+
+  /** 按主键读取：优先读缓存，命中时不查库也不映射；未命中时并发读取同一主键只查询一次 */
+  public UserDTO getUserById(Long id) {
+    return entityReadCache.get(UserDO.class, id, this::loadUser);
+  }
+
+  /** 按主键批量读取：缓存未命中的用户一次IN查询、一次批量映射（按ids顺序，不存在的ID跳过） */
+  public Map<Long, UserDTO> getUsersByIds(Collection<Long> ids) {
+    return entityReadCache.getAll(UserDO.class, ids, this::selectUsers);
+  }
+
+  /** 异步按主键读取：同一时间窗口内各线程发起的读取合并为一次批量查询 */
+  public CompletableFuture<UserDTO> getUserByIdAsync(Long id) {
+    return userLoader.load(id);
+  }
+
+  /** 创建请求内使用的加载器：逐个load后dispatch，合并为一次批量查询 */
+  public BatchLoader<Long, UserDTO> newUserLoader() {
+    return batchLoaders.requestScoped(this::getUsersByIds);
+  }
+
+  private UserDTO loadUser(Long id) {
+    UserDO userDO = userRepository.selectById(id);
+    if (userDO == null) {
+      return null;
+    }
+    return StructMapper.to(userDO, UserDTO.class);
+  }
+
+  private Map<Long, UserDTO> selectUsers(List<Long> ids) {
+    List<UserDO> userDOList = userRepository.selectBatchIds(ids);
+    List<UserDTO> userDTOList = StructMapper.toList(userDOList, UserDTO.class);
+    Map<Long, UserDTO> userMap = HashMap.newHashMap(userDOList.size());
+    for (int i = 0; i < userDOList.size(); i++) {
+      userMap.put(userDOList.get(i).getId(), userDTOList.get(i));
+    }
+    return userMap;
+  }
+
+  /** 游标分页：按id倒序，任意页均为一次索引范围扫描 */
+  public PageResult<UserDTO> getUsers(PageRequest pageRequest) {
+    int pageSize = pageRequest.resolvePageSize();
+    List<UserDO> userDOList =
+        userRepository.selectPageAfter(PageCursor.decode(pageRequest.getCursor()), pageSize + 1);
+    Long total =
+        Boolean.TRUE.equals(pageRequest.getWithTotal())
+            ? approximateTotalCounter.get("t_user", userRepository::count)
+            : null;
+    return PageResult.seek(
+        userDOList,
+        pageSize,
+        UserDO::getId,
+        page -> StructMapper.toList(page, UserDTO.class),
+        total);
+  }
+
+  /** 流式导出：逐行读取、逐行转换，内存占用与数据量无关 */
+  public void exportUsers(Consumer<UserDTO> consumer) {
+    cursorQueryExecutor.stream(
+        userRepository::streamAll, StructMapper.mapper(UserDTO.class), consumer);
+  }
+}
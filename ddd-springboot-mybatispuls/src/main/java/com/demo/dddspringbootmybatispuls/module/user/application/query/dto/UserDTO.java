@@ -0,0 +1,5 @@
+package com.demo.dddspringbootmybatispuls.module.user.application.query.dto;
+
+import java.time.LocalDateTime;
+
+public record UserDTO(Long id, String name, LocalDateTime createTime) {}
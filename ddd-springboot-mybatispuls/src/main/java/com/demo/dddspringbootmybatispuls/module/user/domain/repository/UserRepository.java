@@ -0,0 +1,35 @@
+package com.demo.dddspringbootmybatispuls.module.user.domain.repository;
+
+import com.demo.dddspringbootmybatispuls.module.user.infrastructure.dataobject.UserDO;
+import java.util.Collection;
+import java.util.List;
+import org.apache.ibatis.cursor.Cursor;
+
+public interface UserRepository {
+  UserDO selectById(Long id);
+
+  /**
+   * 按主键批量查询用户行：WHERE id IN (...)
+   *
+   * @param ids 用户ID
+   * @return 用户DO（不保证顺序，不存在的ID跳过）
+   */
+  List<UserDO> selectBatchIds(Collection<Long> ids);
+
+  List<UserDO> selectList();
+
+  /**
+   * 游标分页查询（按id倒序）：WHERE id < afterId ORDER BY id DESC LIMIT limit
+   *
+   * @param afterId 上一页最后一条记录的id（为null时查询第一页）
+   * @param limit 查询条数
+   * @return 用户DO
+   */
+  List<UserDO> selectPageAfter(Long afterId, int limit);
+
+  /** 用户总数 */
+  long count();
+
+  /** 流式读取全部用户（需在事务内消费，用完关闭） */
+  Cursor<UserDO> streamAll();
+}
@@ -0,0 +1,32 @@
+package com.demo.dddspringbootmybatispuls.module.user.infrastructure.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.demo.dddspringbootmybatispuls.module.user.infrastructure.dataobject.UserDO;
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+@Mapper
+public interface UserMapper extends BaseMapper<UserDO> {
+
+  /** 流式读取全部用户（FORWARD_ONLY：按query.export.fetch-size分批读取，不缓存整个结果集） */
+  @Select("SELECT * FROM t_user ORDER BY id")
+  @Options(resultSetType = ResultSetType.FORWARD_ONLY)
+  Cursor<UserDO> streamAll();
+
+  /**
+   * 游标分页查询（按id倒序），条数以绑定参数传入
+   *
+   * @param afterId 上一页最后一条记录的id（为null时查询第一页）
+   * @param limit 查询条数
+   * @return 用户DO
+   */
+  @Select(
+      "<script>SELECT * FROM t_user<where><if test='afterId != null'>id &lt;"
+          + " #{afterId}</if></where> ORDER BY id DESC LIMIT #{limit}</script>")
+  List<UserDO> selectPageAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+}
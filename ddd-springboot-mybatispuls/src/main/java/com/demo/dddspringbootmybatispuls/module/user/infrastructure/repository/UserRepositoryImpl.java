@@ -5,7 +5,10 @@ import com.demo.dddspringbootmybatispuls.module.user.domain.repository.UserRepos
 import com.demo.dddspringbootmybatispuls.module.user.infrastructure.dataobject.UserDO;
 import com.demo.dddspringbootmybatispuls.module.user.infrastructure.mapper.UserMapper;
 import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -18,8 +21,31 @@ public class UserRepositoryImpl implements UserRepository {
     return userMapper.selectById(id);
   }
 
+  @Override
+  public List<UserDO> selectBatchIds(Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return userMapper.selectBatchIds(ids);
+  }
+
   @Override
   public List<UserDO> selectList() {
     return userMapper.selectList(new LambdaQueryWrapper<UserDO>());
   }
+
+  @Override
+  public List<UserDO> selectPageAfter(Long afterId, int limit) {
+    return userMapper.selectPageAfter(afterId, limit);
+  }
+
+  @Override
+  public long count() {
+    return userMapper.selectCount(new LambdaQueryWrapper<UserDO>());
+  }
+
+  @Override
+  public Cursor<UserDO> streamAll() {
+    return userMapper.streamAll();
+  }
 }
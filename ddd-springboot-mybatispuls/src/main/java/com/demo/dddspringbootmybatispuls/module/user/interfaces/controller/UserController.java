@@ -0,0 +1,54 @@
+package com.demo.dddspringbootmybatispuls.module.user.interfaces.controller;
+
+import com.demo.dddspringbootmybatispuls.common.query.ExportLimiter;
+import com.demo.dddspringbootmybatispuls.common.request.BatchGetRequest;
+import com.demo.dddspringbootmybatispuls.common.request.PageRequest;
+import com.demo.dddspringbootmybatispuls.common.response.BatchResult;
+import com.demo.dddspringbootmybatispuls.common.response.NdjsonResponse;
+import com.demo.dddspringbootmybatispuls.common.response.PageResult;
+import com.demo.dddspringbootmybatispuls.common.response.Result;
+import com.demo.dddspringbootmybatispuls.module.user.application.query.UserQueryService;
+import com.demo.dddspringbootmybatispuls.module.user.application.query.dto.UserDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Resource;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/user")
+public class UserController {
+
+  @Resource private ObjectMapper objectMapper;
+  @Resource private ExportLimiter exportLimiter;
+  @Resource private UserQueryService userQueryService;
+
+  @GetMapping("/list")
+  public Result<PageResult<UserDTO>> getAllUsers(PageRequest pageRequest) {
+    return Result.success(userQueryService.getUsers(pageRequest));
+  }
+
+  /** 流式导出（NDJSON，每行一条记录；同时进行的导出数受限，超出时响应503） */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export() {
+    return NdjsonResponse.of(
+        objectMapper, exportLimiter.<UserDTO>acquire(userQueryService::exportUsers));
+  }
+
+  /** 按ID批量查询（?ids=1,2,3，一次IN查询）：返回查到的用户及不存在的ID */
+  @GetMapping("/batch")
+  public Result<BatchResult<UserDTO>> getUsersByIds(BatchGetRequest request) {
+    List<Long> ids = request.resolveIds();
+    return Result.success(BatchResult.of(ids, userQueryService.getUsersByIds(ids)));
+  }
+
+  @GetMapping("/{id}")
+  public Result<UserDTO> getUserById(@PathVariable Long id) {
+    UserDTO userDTO = userQueryService.getUserById(id);
+    return Result.success(userDTO);
+  }
+}
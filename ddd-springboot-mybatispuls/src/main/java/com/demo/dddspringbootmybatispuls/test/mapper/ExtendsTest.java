@@ -18,26 +18,19 @@ public class ExtendsTest {
     student.setAddress(addressEntity);
     student.setOrders(orderEntities);
 
-    List<MappingRule<StudentEntity, StudentDTO>> rules =
+    // 注册嵌套对象的默认规则（拼接fullAddress），嵌套字段按类型自动映射，无需逐次构建规则
+    StructMapper.register(
+        AddressEntity.class,
+        AddressDTO.class,
         List.of(
-            MappingRule.of("userName", "name"),
             MappingRule.custom(
-                "address",
-                "address",
-                (fieldValue, instance) -> {
-                  // fieldValue = 源对象的address字段值（AddressEntity）
-                  // 1. 定义嵌套对象的转换规则（比如拼接fullAddress）
-                  List<MappingRule<AddressEntity, AddressDTO>> addressRules =
-                      List.of(
-                          MappingRule.custom(
-                              "province",
-                              "fullAddress",
-                              (addrFieldValue, addrInstance) ->
-                                  addrInstance.getProvince() + "-" + addrInstance.getCity()));
-                  // 2. 递归调用StructMapper.to()转换嵌套对象
-                  return StructMapper.to(
-                      (AddressEntity) fieldValue, AddressDTO.class, addressRules);
-                }));
+                "province",
+                "fullAddress",
+                (addrFieldValue, addrInstance) ->
+                    addrInstance.getProvince() + "-" + addrInstance.getCity())));
+
+    List<MappingRule<StudentEntity, StudentDTO>> rules =
+        List.of(MappingRule.of("userName", "name"));
     StudentDTO studentDTO = StructMapper.to(student, StudentDTO.class, rules);
     System.out.println("Class继承转换结果：");
     System.out.println(studentDTO);
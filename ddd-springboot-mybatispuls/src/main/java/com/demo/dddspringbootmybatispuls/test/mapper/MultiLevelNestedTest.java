@@ -0,0 +1,35 @@
+package com.demo.dddspringbootmybatispuls.test.mapper;
+
+import com.demo.dddspringbootmybatispuls.common.mapper.MappingRule;
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import java.util.List;
+
+public class MultiLevelNestedTest {
+  public static void main(String[] args) {
+
+    // 构造多层嵌套的源对象
+    AddressEntity addressEntity = new AddressEntity("广东省", "深圳市");
+    List<OrderEntity> orderEntities =
+        List.of(new OrderEntity(1001L, "订单1"), new OrderEntity(1002L, "订单2"));
+    UserEntity source = new UserEntity(1L, "张三", addressEntity, orderEntities);
+
+    // 注册嵌套对象的默认规则（拼接fullAddress），嵌套字段按类型自动映射，无需逐次构建规则
+    StructMapper.register(
+        AddressEntity.class,
+        AddressDTO.class,
+        List.of(
+            MappingRule.custom(
+                "province",
+                "fullAddress",
+                (addrFieldValue, addrInstance) ->
+                    addrInstance.getProvince() + "-" + addrInstance.getCity())));
+
+    // 定义规则：嵌套对象（address）与集合字段（List<OrderEntity> → List<OrderDTO>）按类型自动映射
+    List<MappingRule<UserEntity, UserDTO>> rules = List.of(MappingRule.of("userName", "name"));
+
+    // 转换
+    UserDTO target = StructMapper.to(source, UserDTO.class, rules);
+    System.out.println("多层嵌套+集合转换结果：");
+    System.out.println(target);
+  }
+}
@@ -0,0 +1,33 @@
+package com.demo.dddspringbootmybatispuls.test.mapper;
+
+import com.demo.dddspringbootmybatispuls.common.mapper.MappingRule;
+import com.demo.dddspringbootmybatispuls.common.mapper.StructMapper;
+import java.util.List;
+
+public class NestedObjectTest {
+
+  public static void main(String[] args) {
+    // 构造源对象（包含嵌套AddressEntity）
+    AddressEntity addressEntity = new AddressEntity("广东省", "深圳市");
+    UserEntity source = new UserEntity(1L, "张三", addressEntity, null);
+
+    // 注册嵌套对象的默认规则（拼接fullAddress），嵌套字段按类型自动映射，无需逐次构建规则
+    StructMapper.register(
+        AddressEntity.class,
+        AddressDTO.class,
+        List.of(
+            MappingRule.custom(
+                "province",
+                "fullAddress",
+                (addrFieldValue, addrInstance) ->
+                    addrInstance.getProvince() + "-" + addrInstance.getCity())));
+
+    // 定义转换规则：嵌套对象（AddressEntity → AddressDTO）按类型自动映射
+    List<MappingRule<UserEntity, UserDTO>> rules = List.of(MappingRule.of("userName", "name"));
+
+    // 转换
+    UserDTO target = StructMapper.to(source, UserDTO.class, rules);
+    System.out.println("嵌套对象转换结果：");
+    System.out.println(target);
+  }
+}
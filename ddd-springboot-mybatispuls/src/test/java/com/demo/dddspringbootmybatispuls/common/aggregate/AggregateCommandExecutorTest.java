@@ -0,0 +1,145 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.support.TestData;
+import jakarta.annotation.Resource;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AggregateCommandExecutorTest {
+  @Resource private AggregateCommandExecutor aggregateCommandExecutor;
+  @Resource private JdbcTemplate jdbcTemplate;
+  @Resource private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    TestData.reset(jdbcTemplate);
+  }
+
+  @Test
+  void executePersistsChangesAndIncrementsVersion() {
+    Order order = aggregateCommandExecutor.execute(Order.class, 1L, o -> o.setStatus("PAID"));
+
+    assertEquals(2L, order.getVersion());
+    assertEquals("PAID", status(1L));
+    assertEquals(2L, version(1L));
+  }
+
+  @Test
+  void outerRollbackDoesNotLeaveCommittedLookingStateInCache() {
+    // 缓存版本1的聚合
+    aggregateCommandExecutor.execute(Order.class, 1L, o -> {});
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          aggregateCommandExecutor.execute(Order.class, 1L, o -> o.setStatus("PAID"));
+          status.setRollbackOnly();
+        });
+    assertEquals("UNPAID", status(1L));
+    assertEquals(1L, version(1L));
+
+    // 其他写入方将该行推进到与回滚状态相同的版本号
+    jdbcTemplate.update("update t_order set version = 2, status = 'CANCELLED' where id = 1");
+
+    Order reloaded = aggregateCommandExecutor.execute(Order.class, 1L, o -> {});
+    assertEquals("CANCELLED", reloaded.getStatus());
+  }
+
+  @Test
+  void conflictIsRetriedWithFreshAggregate() {
+    AtomicInteger attempts = new AtomicInteger();
+    Order order =
+        aggregateCommandExecutor.execute(
+            Order.class,
+            1L,
+            o -> {
+              if (attempts.incrementAndGet() == 1) {
+                // 首次尝试期间另一写入方提交
+                jdbcTemplate.update("update t_order set version = version + 1 where id = 1");
+              }
+              o.setStatus("PAID");
+            });
+
+    assertEquals(2, attempts.get());
+    assertEquals(3L, order.getVersion());
+    assertEquals("PAID", status(1L));
+    assertEquals(3L, version(1L));
+  }
+
+  @Test
+  void conflictIsRethrownWhenAttemptsAreExhausted() {
+    AtomicInteger attempts = new AtomicInteger();
+    assertThrows(
+        OptimisticLockConflictException.class,
+        () ->
+            aggregateCommandExecutor.execute(
+                Order.class,
+                1L,
+                o -> {
+                  attempts.incrementAndGet();
+                  jdbcTemplate.update("update t_order set version = version + 1 where id = 1");
+                  o.setStatus("PAID");
+                }));
+
+    assertEquals(3, attempts.get());
+    assertEquals("UNPAID", status(1L));
+  }
+
+  @Test
+  void conflictInsideOuterTransactionIsNotRetried() {
+    AtomicInteger attempts = new AtomicInteger();
+    assertThrows(
+        OptimisticLockConflictException.class,
+        () ->
+            transactionTemplate.executeWithoutResult(
+                status ->
+                    aggregateCommandExecutor.execute(
+                        Order.class,
+                        2L,
+                        o -> {
+                          attempts.incrementAndGet();
+                          jdbcTemplate.update(
+                              "update t_order set version = version + 1 where id = 2");
+                          o.setStatus("PAID");
+                        })));
+
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  void missingAggregateIsReportedAsNotFound() {
+    AggregateNotFoundException e =
+        assertThrows(
+            AggregateNotFoundException.class,
+            () -> aggregateCommandExecutor.execute(Order.class, 99L, o -> o.setStatus("PAID")));
+
+    assertEquals(Order.class, e.getAggregateType());
+    assertEquals(99L, e.getId());
+  }
+
+  @Test
+  void cacheWeightCountsEveryEntityInTheAggregate() {
+    Order order = aggregateCommandExecutor.execute(Order.class, 1L, o -> {});
+
+    // 订单 + 1个订单项 + 支付信息
+    assertEquals(3, AggregateCopier.countEntities(order));
+  }
+
+  private String status(Long id) {
+    return jdbcTemplate.queryForObject("select status from t_order where id = ?", String.class, id);
+  }
+
+  private Long version(Long id) {
+    return jdbcTemplate.queryForObject("select version from t_order where id = ?", Long.class, id);
+  }
+}
@@ -0,0 +1,91 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.module.order.domain.repository.OrderRepository;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderItemDO;
+import com.demo.dddspringbootmybatispuls.support.TestData;
+import jakarta.annotation.Resource;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AggregatePersistenceManagerTest {
+  @Resource private AggregatePersistenceManager aggregatePersistenceManager;
+  @Resource private AggregateTracker aggregateTracker;
+  @Resource private OrderRepository orderRepository;
+  @Resource private JdbcTemplate jdbcTemplate;
+  @Resource private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    TestData.reset(jdbcTemplate);
+  }
+
+  @Test
+  void staleRootVersionIsRejected() {
+    AggregateChanges changes = changes(o -> o.setStatus("PAID"));
+    jdbcTemplate.update("update t_order set version = 2 where id = 1");
+
+    OptimisticLockConflictException e =
+        assertThrows(OptimisticLockConflictException.class, () -> persist(changes));
+
+    assertEquals(OrderDO.class, e.getDoClass());
+    assertEquals(1L, e.getId());
+    assertEquals(1L, e.getExpectedVersion());
+    assertEquals("UNPAID", status());
+  }
+
+  @Test
+  void concurrentlyDeletedChildRowFailsUpdateAndRollsBackRoot() {
+    AggregateChanges changes = changes(o -> o.getItems().getFirst().setQuantity(5));
+    jdbcTemplate.update("delete from t_order_item where id = 1001");
+
+    OptimisticLockConflictException e =
+        assertThrows(OptimisticLockConflictException.class, () -> persist(changes));
+
+    assertEquals(OrderItemDO.class, e.getDoClass());
+    assertEquals(1001L, e.getId());
+    assertNull(e.getExpectedVersion());
+    // 聚合根的版本号更新随事务回滚
+    assertEquals(
+        1L, jdbcTemplate.queryForObject("select version from t_order where id = 1", Long.class));
+  }
+
+  @Test
+  void concurrentlyDeletedChildRowFailsDelete() {
+    AggregateChanges changes = changes(o -> o.getItems().clear());
+    jdbcTemplate.update("delete from t_order_item where id = 1001");
+
+    OptimisticLockConflictException e =
+        assertThrows(OptimisticLockConflictException.class, () -> persist(changes));
+
+    assertEquals(OrderItemDO.class, e.getDoClass());
+  }
+
+  private AggregateChanges changes(Consumer<Order> command) {
+    Order order = orderRepository.load(1L);
+    AggregateSnapshot snapshot = aggregateTracker.buildSnapshot(order);
+    command.accept(order);
+    return aggregateTracker.compareChanges(snapshot, order, orderRepository.entityDoMapping());
+  }
+
+  private void persist(AggregateChanges changes) {
+    transactionTemplate.executeWithoutResult(
+        status -> aggregatePersistenceManager.persist(changes));
+  }
+
+  private String status() {
+    return jdbcTemplate.queryForObject("select status from t_order where id = 1", String.class);
+  }
+}
@@ -0,0 +1,165 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.OrderItem;
+import com.demo.dddspringbootmybatispuls.module.order.domain.repository.OrderRepository;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderItemDO;
+import com.demo.dddspringbootmybatispuls.support.TestData;
+import jakarta.annotation.Resource;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AggregateTrackerTest {
+  @Resource private AggregateTracker aggregateTracker;
+  @Resource private AggregateCommandExecutor aggregateCommandExecutor;
+  @Resource private UnitOfWorkManager unitOfWorkManager;
+  @Resource private OrderRepository orderRepository;
+  @Resource private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    TestData.reset(jdbcTemplate);
+  }
+
+  @Test
+  void changedFieldsContainOnlyModifiedPropertiesAndRootVersion() {
+    Order order = orderRepository.load(1L);
+    AggregateSnapshot snapshot = aggregateTracker.buildSnapshot(order);
+    order.getItems().getFirst().setQuantity(5);
+
+    AggregateChanges changes =
+        aggregateTracker.compareChanges(snapshot, order, orderRepository.entityDoMapping());
+
+    assertEquals(Set.of("quantity"), updateFields(changes, OrderItemDO.class));
+    // 子实体变更时聚合根只更新版本号
+    assertEquals(Set.of("version"), updateFields(changes, OrderDO.class));
+    assertEquals(1L, changes.getExpectedVersion());
+    assertEquals(2L, changes.getAggregateVersion());
+  }
+
+  @Test
+  void unchangedAggregateProducesNoChanges() {
+    Order order = orderRepository.load(1L);
+    AggregateSnapshot snapshot = aggregateTracker.buildSnapshot(order);
+
+    AggregateChanges changes =
+        aggregateTracker.compareChanges(snapshot, order, orderRepository.entityDoMapping());
+
+    assertTrue(changes.getTableChangesMap().isEmpty());
+    assertNull(changes.getRootDoClass());
+    assertEquals(1L, order.getVersion());
+  }
+
+  @Test
+  void updateWritesOnlyChangedColumns() {
+    aggregateCommandExecutor.execute(
+        Order.class,
+        1L,
+        o -> {
+          // 加载后其他写入方修改了未变更的列（不改版本号）
+          jdbcTemplate.update("update t_order set order_no = 'EXTERNAL' where id = 1");
+          jdbcTemplate.update("update t_order_item set sku_code = 'EXTERNAL' where id = 1001");
+          o.setStatus("PAID");
+          o.getItems().getFirst().setQuantity(5);
+        });
+
+    assertEquals(
+        "EXTERNAL",
+        jdbcTemplate.queryForObject("select order_no from t_order where id = 1", String.class));
+    assertEquals(
+        "PAID",
+        jdbcTemplate.queryForObject("select status from t_order where id = 1", String.class));
+    assertEquals(
+        "EXTERNAL",
+        jdbcTemplate.queryForObject(
+            "select sku_code from t_order_item where id = 1001", String.class));
+    assertEquals(
+        5,
+        jdbcTemplate.queryForObject(
+            "select quantity from t_order_item where id = 1001", Integer.class));
+  }
+
+  @Test
+  void newEntitiesAreMatchedByIdentityNotEquality() {
+    Order order = orderRepository.load(2L);
+    AggregateSnapshot snapshot = aggregateTracker.buildSnapshot(order);
+    // 两个字段完全相同的新订单项：equals相等，但是不同实例
+    order.getItems().add(newItem());
+    order.getItems().add(newItem());
+
+    AggregateChanges changes =
+        aggregateTracker.compareChanges(snapshot, order, orderRepository.entityDoMapping());
+
+    assertEquals(2, changes.getTableChangesMap().get(OrderItemDO.class).getInsertList().size());
+  }
+
+  @Test
+  void transientEntityInSnapshotIsStillInserted() {
+    Order order = orderRepository.load(2L);
+    order.getItems().add(newItem());
+    AggregateSnapshot snapshot = aggregateTracker.buildSnapshot(order);
+
+    AggregateChanges changes =
+        aggregateTracker.compareChanges(snapshot, order, orderRepository.entityDoMapping());
+
+    // 无主键即无对应的行：快照前已加入聚合的新实体同样需要插入
+    assertEquals(1, changes.getTableChangesMap().get(OrderItemDO.class).getInsertList().size());
+  }
+
+  @Test
+  void commitInsertsChildAddedBeforeTracking() {
+    Order order = orderRepository.load(2L);
+    OrderItem item = newItem();
+    order.getItems().add(item);
+
+    try (UnitOfWork unitOfWork = unitOfWorkManager.begin()) {
+      unitOfWork.track(order, orderRepository.entityDoMapping());
+      unitOfWork.commit();
+    }
+
+    assertNotNull(item.getId());
+    assertEquals(
+        "SKU_NEW",
+        jdbcTemplate.queryForObject(
+            "select sku_code from t_order_item where id = ?", String.class, item.getId()));
+  }
+
+  @Test
+  void removedEntityIsDeleted() {
+    Order order = orderRepository.load(1L);
+    AggregateSnapshot snapshot = aggregateTracker.buildSnapshot(order);
+    order.getItems().clear();
+
+    AggregateChanges changes =
+        aggregateTracker.compareChanges(snapshot, order, orderRepository.entityDoMapping());
+
+    List<?> deleted = changes.getTableChangesMap().get(OrderItemDO.class).getDeleteList();
+    assertEquals(1, deleted.size());
+    assertEquals(1001L, ((OrderItemDO) deleted.getFirst()).getId());
+  }
+
+  private static OrderItem newItem() {
+    OrderItem item = new OrderItem();
+    item.setOrderId(2L);
+    item.setSkuCode("SKU_NEW");
+    item.setQuantity(1);
+    return item;
+  }
+
+  private static Set<String> updateFields(AggregateChanges changes, Class<?> doClass) {
+    return changes.getTableChangesMap().get(doClass).getUpdateFieldsList().getFirst();
+  }
+}
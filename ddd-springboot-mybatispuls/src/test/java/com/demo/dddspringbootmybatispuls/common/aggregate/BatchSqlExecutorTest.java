@@ -0,0 +1,100 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderItemDO;
+import com.demo.dddspringbootmybatispuls.support.TestData;
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchSqlExecutorTest {
+  @Resource private BatchSqlExecutor batchSqlExecutor;
+  @Resource private DoMapperRegistry doMapperRegistry;
+  @Resource private JdbcTemplate jdbcTemplate;
+  @Resource private TransactionTemplate transactionTemplate;
+
+  private int batchSize;
+
+  @BeforeEach
+  void setUp() {
+    TestData.reset(jdbcTemplate);
+    batchSize = batchSqlExecutor.getBatchSize();
+    // 小分片：5行跨3片
+    ReflectionTestUtils.setField(batchSqlExecutor, "batchSize", 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.setField(batchSqlExecutor, "batchSize", batchSize);
+  }
+
+  @Test
+  void insertReturnsOneCountPerRowAcrossChunks() {
+    DoMapperOperations<OrderItemDO> operations = doMapperRegistry.get(OrderItemDO.class);
+    List<OrderItemDO> rows = IntStream.range(0, 5).mapToObj(i -> item(3000L + i, 1)).toList();
+
+    int[] counts =
+        transactionTemplate.execute(
+            status -> batchSqlExecutor.insert(operations.getInsertStatement(), rows));
+
+    assertArrayEquals(new int[] {1, 1, 1, 1, 1}, counts);
+    assertEquals(
+        5,
+        jdbcTemplate.queryForObject(
+            "select count(*) from t_order_item where id >= 3000", Integer.class));
+  }
+
+  @Test
+  void updateReportsZeroForMissingRow() {
+    DoMapperOperations<OrderItemDO> operations = doMapperRegistry.get(OrderItemDO.class);
+    List<DoMapperOperations.Column> quantity =
+        operations.getColumns().stream()
+            .filter(column -> column.fieldInfo().getProperty().equals("quantity"))
+            .toList();
+    List<Object> parameters = new ArrayList<>();
+    for (long id : new long[] {1001L, 9999L, 1001L}) {
+      parameters.add(operations.updateParameter(quantity, item(id, 7)));
+    }
+
+    int[] counts =
+        transactionTemplate.execute(
+            status -> batchSqlExecutor.update(operations.getUpdateStatement(), parameters));
+
+    assertArrayEquals(new int[] {1, 0, 1}, counts);
+    assertEquals(
+        7,
+        jdbcTemplate.queryForObject(
+            "select quantity from t_order_item where id = 1001", Integer.class));
+  }
+
+  @Test
+  void forEachChunkSplitsByBatchSize() {
+    List<Integer> chunkSizes = new ArrayList<>();
+
+    batchSqlExecutor.forEachChunk(List.of(1, 2, 3, 4, 5), chunk -> chunkSizes.add(chunk.size()));
+
+    assertEquals(List.of(2, 2, 1), chunkSizes);
+  }
+
+  private static OrderItemDO item(Long id, int quantity) {
+    OrderItemDO item = new OrderItemDO();
+    item.setId(id);
+    item.setOrderId(2L);
+    item.setSkuCode("SKU_" + id);
+    item.setQuantity(quantity);
+    return item;
+  }
+}
@@ -0,0 +1,53 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+class DefaultDoCommonFieldHandlerTest {
+  private final DefaultDoCommonFieldHandler handler = new DefaultDoCommonFieldHandler();
+
+  @Test
+  void newRowsGetCreateAndUpdateFields() {
+    OrderDO orderDO = new OrderDO();
+
+    handler.fillCommonFields(orderDO, EntityChangeType.NEW);
+
+    assertNotNull(orderDO.getCreateTime());
+    assertEquals("system", orderDO.getCreateBy());
+    assertNotNull(orderDO.getUpdateTime());
+    assertEquals("system", orderDO.getUpdateBy());
+  }
+
+  @Test
+  void modifiedRowsOnlyGetUpdateFields() {
+    OrderDO orderDO = new OrderDO();
+
+    handler.fillCommonFields(orderDO, EntityChangeType.MODIFIED);
+
+    assertNull(orderDO.getCreateTime());
+    assertNull(orderDO.getCreateBy());
+    assertNotNull(orderDO.getUpdateTime());
+    assertEquals("system", orderDO.getUpdateBy());
+  }
+
+  @Test
+  void missingOrIncompatibleFieldsAreSkipped() {
+    PartialDO partialDO = new PartialDO();
+
+    handler.fillCommonFields(partialDO, EntityChangeType.NEW);
+
+    assertEquals("system", partialDO.getUpdateBy());
+    assertNull(partialDO.getCreateBy());
+  }
+
+  @Data
+  static class PartialDO {
+    private String updateBy;
+    private Long createBy;
+  }
+}
@@ -0,0 +1,48 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderItemDO;
+import com.demo.dddspringbootmybatispuls.module.user.infrastructure.dataobject.UserDO;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DoMapperRegistryTest {
+  @Resource private DoMapperRegistry doMapperRegistry;
+
+  @Test
+  void everyMapperIsRegisteredByItsDoClass() {
+    DoMapperOperations<OrderDO> order = doMapperRegistry.get(OrderDO.class);
+    DoMapperOperations<UserDO> user = doMapperRegistry.get(UserDO.class);
+
+    assertSame(OrderDO.class, order.getDoClass());
+    assertSame(UserDO.class, user.getDoClass());
+    assertSame(order, doMapperRegistry.get(OrderDO.class));
+    assertEquals("t_order", order.getTableInfo().getTableName());
+    assertEquals(
+        order.getTableInfo().getCurrentNamespace() + ".insert", order.getInsertStatement());
+  }
+
+  @Test
+  void versionColumnIsResolvedByPropertyName() {
+    assertNotNull(doMapperRegistry.get(OrderDO.class).getVersionColumn());
+    assertEquals(
+        "version",
+        doMapperRegistry.get(OrderDO.class).getVersionColumn().fieldInfo().getProperty());
+    assertNull(doMapperRegistry.get(OrderItemDO.class).getVersionColumn());
+  }
+
+  @Test
+  void unknownDoClassIsRejected() {
+    assertThrows(RuntimeException.class, () -> doMapperRegistry.get(String.class));
+  }
+}
@@ -0,0 +1,51 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.OrderItem;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.OrderPayment;
+import org.junit.jupiter.api.Test;
+
+class EntityIdMapTest {
+
+  @Test
+  void entriesSurviveResizeAndAreKeyedByTypeAndId() {
+    EntityIdMap map = new EntityIdMap(1);
+    OrderItem[] items = new OrderItem[1000];
+    for (int i = 0; i < items.length; i++) {
+      items[i] = new OrderItem();
+      // 雪花ID风格：低位规律明显
+      map.put(OrderItem.class, id(i), items[i]);
+    }
+    OrderPayment payment = new OrderPayment();
+    map.put(OrderPayment.class, id(0), payment);
+
+    assertEquals(1001, map.size());
+    for (int i = 0; i < items.length; i++) {
+      assertSame(items[i], map.valueAt(map.indexOf(OrderItem.class, id(i))));
+    }
+    assertSame(payment, map.valueAt(map.indexOf(OrderPayment.class, id(0))));
+    assertEquals(-1, map.indexOf(OrderPayment.class, id(1)));
+    assertEquals(-1, map.indexOf(OrderItem.class, id(items.length)));
+  }
+
+  @Test
+  void sameTypeAndIdOverwrites() {
+    EntityIdMap map = new EntityIdMap(4);
+    OrderItem first = new OrderItem();
+    OrderItem second = new OrderItem();
+    map.put(OrderItem.class, 1L, first);
+    int slot = map.indexOf(OrderItem.class, 1L);
+
+    map.put(OrderItem.class, 1L, second);
+
+    assertEquals(1, map.size());
+    assertEquals(slot, map.indexOf(OrderItem.class, 1L));
+    assertSame(second, map.valueAt(slot));
+  }
+
+  private static long id(int i) {
+    return 1_800_000_000_000_000_000L + ((long) i << 22);
+  }
+}
@@ -0,0 +1,71 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessor;
+import com.demo.dddspringbootmybatispuls.common.reflect.PropertyAccessors;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.OrderItem;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.OrderPayment;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class EntityMetadataTest {
+
+  @Test
+  void childrenAreTraversedAndScalarsCompared() {
+    EntityMetadata metadata = EntityMetadataRegistry.get(Order.class);
+    Map<String, EntityMetadata.ChildAccessor> children =
+        metadata.getChildren().stream()
+            .collect(Collectors.toMap(child -> child.accessor().getName(), Function.identity()));
+
+    assertEquals(Set.of("items", "payment"), children.keySet());
+    assertTrue(children.get("items").collection());
+    assertEquals(OrderItem.class, children.get("items").elementType());
+    assertFalse(children.get("payment").collection());
+    assertEquals(OrderPayment.class, children.get("payment").elementType());
+    // 基类的id、version不参与对比
+    assertEquals(
+        Set.of("orderNo", "status"),
+        metadata.getComparableProperties().stream()
+            .map(PropertyAccessor::getName)
+            .collect(Collectors.toSet()));
+  }
+
+  @Test
+  void metadataIsCompiledOncePerClass() {
+    EntityMetadataRegistry.register(List.of(Order.class));
+
+    assertSame(EntityMetadataRegistry.get(Order.class), EntityMetadataRegistry.get(Order.class));
+    assertSame(Order.class, EntityMetadataRegistry.get(Order.class).getEntityClass());
+  }
+
+  @Test
+  void nonEntityClassIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> EntityMetadataRegistry.get(OrderDO.class));
+  }
+
+  @Test
+  void compiledAccessorsReadAndWriteProperties() {
+    Order order = new Order();
+    PropertyAccessor status = PropertyAccessors.find(Order.class, "status");
+    PropertyAccessor id = PropertyAccessors.find(Order.class, "id");
+
+    status.set(order, "PAID");
+    id.set(order, 7L);
+
+    assertEquals("PAID", order.getStatus());
+    assertEquals("PAID", status.get(order));
+    assertEquals(7L, id.get(order));
+    assertEquals(String.class, status.getType());
+  }
+}
@@ -0,0 +1,93 @@
+package com.demo.dddspringbootmybatispuls.common.aggregate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.module.order.domain.repository.OrderRepository;
+import com.demo.dddspringbootmybatispuls.support.TestData;
+import jakarta.annotation.Resource;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UnitOfWorkTest {
+  @Resource private UnitOfWorkManager unitOfWorkManager;
+  @Resource private OrderRepository orderRepository;
+  @Resource private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    TestData.reset(jdbcTemplate);
+  }
+
+  @Test
+  void commitPersistsTrackedAggregatesInTrackingOrder() {
+    List<AggregateChanges> changes;
+    try (UnitOfWork unitOfWork = unitOfWorkManager.begin()) {
+      assertSame(unitOfWork, UnitOfWork.current());
+      Order second = track(unitOfWork, 2L);
+      Order first = track(unitOfWork, 1L);
+      // 重复跟踪同一实例不产生新的快照
+      unitOfWork.track(first, orderRepository.entityDoMapping());
+      second.setStatus("PAID");
+      first.setStatus("CANCELLED");
+
+      changes = unitOfWork.commit();
+    }
+
+    assertEquals(List.of(2L, 1L), changes.stream().map(AggregateChanges::getRootId).toList());
+    assertEquals("PAID", status(2L));
+    assertEquals("CANCELLED", status(1L));
+    assertNull(UnitOfWork.current());
+  }
+
+  @Test
+  void closeWithoutCommitDiscardsChanges() {
+    try (UnitOfWork unitOfWork = unitOfWorkManager.begin()) {
+      track(unitOfWork, 1L).setStatus("PAID");
+    }
+
+    assertEquals("UNPAID", status(1L));
+  }
+
+  @Test
+  void nestedUnitOfWorkRestoresOuterOnClose() {
+    try (UnitOfWork outer = unitOfWorkManager.begin()) {
+      try (UnitOfWork inner = unitOfWorkManager.begin()) {
+        assertSame(inner, UnitOfWork.current());
+      }
+      assertSame(outer, UnitOfWork.current());
+    }
+    assertNull(UnitOfWork.current());
+  }
+
+  @Test
+  void completedOrUntrackedUseFails() {
+    try (UnitOfWork unitOfWork = unitOfWorkManager.begin()) {
+      Order order = orderRepository.load(1L);
+      assertThrows(IllegalStateException.class, () -> unitOfWork.getSnapshot(order));
+
+      unitOfWork.commit();
+      assertThrows(
+          IllegalStateException.class,
+          () -> unitOfWork.track(order, orderRepository.entityDoMapping()));
+      assertThrows(IllegalStateException.class, unitOfWork::commit);
+    }
+  }
+
+  private Order track(UnitOfWork unitOfWork, Long id) {
+    return unitOfWork.track(orderRepository.load(id), orderRepository.entityDoMapping());
+  }
+
+  private String status(Long id) {
+    return jdbcTemplate.queryForObject("select status from t_order where id = ?", String.class, id);
+  }
+}
@@ -0,0 +1,78 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.demo.dddspringbootmybatispuls.module.order.application.query.dto.OrderDTO;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import com.demo.dddspringbootmybatispuls.module.user.application.query.dto.UserDTO;
+import com.demo.dddspringbootmybatispuls.module.user.infrastructure.dataobject.UserDO;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompiledMapperTest {
+
+  @Test
+  void structMappingTypePairsUseGeneratedMappers() {
+    assertInstanceOf(
+        OrderDOToOrderDTOStructMapper.class, CompiledMappers.find(OrderDO.class, OrderDTO.class));
+    assertInstanceOf(
+        UserDOToUserDTOStructMapper.class, CompiledMappers.find(UserDO.class, UserDTO.class));
+    assertTrue(StructMapper.plan(OrderDO.class, OrderDTO.class, null).isBuildTime());
+    // 带规则时回退为运行期生成
+    assertFalse(
+        StructMapper.plan(
+                OrderDO.class, OrderDTO.class, List.of(MappingRule.of("status", "status")))
+            .isBuildTime());
+  }
+
+  @Test
+  void generatedOrderMapperMatchesRuntimePath() {
+    OrderDO order = new OrderDO();
+    order.setVersion(3L);
+    order.setOrderNo("NO-1");
+    order.setStatus("PAID");
+
+    assertEquals(runtime(order, OrderDTO.class, "status"), StructMapper.to(order, OrderDTO.class));
+    assertEquals(
+        runtime(new OrderDO(), OrderDTO.class, "status"),
+        StructMapper.to(new OrderDO(), OrderDTO.class));
+  }
+
+  @Test
+  void generatedUserMapperMatchesRuntimePath() {
+    UserDO user = new UserDO();
+    user.setId(1L);
+    user.setName("a");
+    user.setAge(20);
+    user.setCreateTime(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+
+    UserDTO compiled = StructMapper.to(user, UserDTO.class);
+
+    assertEquals(new UserDTO(1L, "a", user.getCreateTime()), compiled);
+    assertEquals(runtime(user, UserDTO.class, "name"), compiled);
+    assertEquals(
+        runtime(List.of(user, new UserDO()), UserDTO.class, "name"),
+        StructMapper.toList(List.of(user, new UserDO()), UserDTO.class));
+  }
+
+  @Test
+  void generatedRecordMapperRejectsMapInto() {
+    OrderDTO target = new OrderDTO(1L, "NO-1", "UNPAID");
+
+    assertThrows(RuntimeException.class, () -> StructMapper.mapInto(new OrderDO(), target));
+  }
+
+  /** 运行期路径：传入与默认映射等价的字段规则，绕过编译期映射器 */
+  private static <S, T> T runtime(S source, Class<T> targetClass, String field) {
+    return StructMapper.to(source, targetClass, List.of(MappingRule.<S, T>of(field, field)));
+  }
+
+  private static <S, T> List<T> runtime(List<S> sources, Class<T> targetClass, String field) {
+    return StructMapper.toList(sources, targetClass, List.of(MappingRule.<S, T>of(field, field)));
+  }
+}
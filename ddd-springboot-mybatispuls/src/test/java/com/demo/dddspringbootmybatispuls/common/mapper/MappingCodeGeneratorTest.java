@@ -0,0 +1,85 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class MappingCodeGeneratorTest {
+
+  @Test
+  void runtimePlansUseHiddenClasses() {
+    MappingPlan<PublicSource, PublicTarget> plan =
+        StructMapper.plan(PublicSource.class, PublicTarget.class, null);
+
+    Object mapper = ReflectionTestUtils.getField(plan, "mapper");
+
+    assertTrue(mapper.getClass().isHidden());
+  }
+
+  @Test
+  void directCallsHandlePrimitivesAndBoxing() {
+    PublicSource source = new PublicSource();
+    source.setName("a");
+    source.setCount(3);
+    source.setTotal(7L);
+    source.setEnabled(true);
+
+    PublicTarget target = StructMapper.to(source, PublicTarget.class);
+
+    assertEquals("a", target.getName());
+    assertEquals(3, target.getCount());
+    assertEquals(7L, target.getTotal());
+    assertTrue(target.isEnabled());
+  }
+
+  @Test
+  void inaccessibleTypesFallBackToAccessors() {
+    HiddenSource source = new HiddenSource();
+    source.setName("a");
+    source.setCount(3);
+
+    // 私有类型无法从生成类直接引用，经由属性访问器读写
+    HiddenTarget target =
+        StructMapper.to(
+            source,
+            HiddenTarget.class,
+            List.of(MappingRule.<HiddenSource, HiddenTarget>custom("name", "label", v -> v + "!")));
+
+    assertEquals("a", target.getName());
+    assertEquals(3, target.getCount());
+    assertEquals("a!", target.getLabel());
+  }
+
+  @Data
+  public static class PublicSource {
+    private String name;
+    private Integer count;
+    private long total;
+    private Boolean enabled;
+  }
+
+  @Data
+  public static class PublicTarget {
+    private String name;
+    private int count;
+    private Long total;
+    private boolean enabled;
+  }
+
+  @Data
+  private static class HiddenSource {
+    private String name;
+    private int count;
+  }
+
+  @Data
+  private static class HiddenTarget {
+    private String name;
+    private Integer count;
+    private String label;
+  }
+}
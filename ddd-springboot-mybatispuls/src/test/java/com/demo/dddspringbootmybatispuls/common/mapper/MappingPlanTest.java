@@ -0,0 +1,101 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+class MappingPlanTest {
+
+  @Test
+  void rulesApplyAfterBaseCopyInDeclaredOrder() {
+    Source source = source();
+    MappingPlan<Source, Target> plan =
+        StructMapper.plan(
+            Source.class,
+            Target.class,
+            List.of(
+                MappingRule.of("name", "alias"),
+                MappingRule.ignore("code"),
+                MappingRule.custom(
+                    "age", "age", (value, s) -> (Integer) value + s.getName().length()),
+                MappingRule.global((s, t) -> t.setAlias(t.getAlias() + "/" + t.getName()))));
+
+    Target target = plan.map(source);
+
+    assertEquals("abc", target.getName());
+    assertEquals("abc/abc", target.getAlias());
+    assertNull(target.getCode());
+    assertEquals(13, target.getAge());
+  }
+
+  @Test
+  void boundPlanIsReusableAcrossCalls() {
+    MappingPlan<Source, Target> plan = StructMapper.plan(Source.class, Target.class, null);
+    MapperMetrics before = StructMapper.metrics();
+
+    for (int i = 0; i < 10; i++) {
+      Source source = source();
+      source.setAge(i);
+      assertEquals(i, plan.map(source).getAge());
+    }
+
+    // 持有计划直接映射，不再查找计划缓存
+    assertEquals(before.planHits() + before.planMisses(), lookups(StructMapper.metrics()));
+  }
+
+  @Test
+  void mapperFunctionLooksUpPlanOncePerSourceType() {
+    Function<Source, Target> function = StructMapper.mapper(Target.class);
+    function.apply(source());
+    MapperMetrics before = StructMapper.metrics();
+
+    for (int i = 0; i < 10; i++) {
+      function.apply(source());
+    }
+
+    assertEquals(lookups(before), lookups(StructMapper.metrics()));
+  }
+
+  @Test
+  void unknownRuleFieldFailsAtCompilation() {
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class,
+            () -> StructMapper.to(source(), Target.class, MappingRule.of("missing", "name")));
+
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+  }
+
+  private static long lookups(MapperMetrics metrics) {
+    return metrics.planHits() + metrics.planMisses();
+  }
+
+  private static Source source() {
+    Source source = new Source();
+    source.setName("abc");
+    source.setCode("C1");
+    source.setAge(10);
+    return source;
+  }
+
+  @Data
+  public static class Source {
+    private String name;
+    private String code;
+    private Integer age;
+  }
+
+  @Data
+  public static class Target {
+    private String name;
+    private String alias;
+    private String code;
+    private Integer age;
+  }
+}
@@ -0,0 +1,142 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.junit.jupiter.api.Test;
+
+class NestedMappingTest {
+
+  @Test
+  void nestedObjectsAndCollectionsAreMappedToTargetTypes() {
+    Node root = node("root");
+    root.setChild(node("child"));
+    root.getChildren().add(node("a"));
+    root.getChildren().add(null);
+    root.getTags().add(new Tag("t"));
+
+    NodeView view = StructMapper.to(root, NodeView.class);
+
+    assertEquals("child", view.getChild().getName());
+    assertEquals(2, view.getChildren().size());
+    assertInstanceOf(NodeView.class, view.getChildren().getFirst());
+    assertEquals("a", view.getChildren().getFirst().getName());
+    assertNull(view.getChildren().get(1));
+    assertEquals(Set.of(new TagView("t")), view.getTags());
+  }
+
+  @Test
+  void nestedMappingUsesRegisteredDefaultRules() {
+    // 默认规则需在首次映射该类型对前注册
+    StructMapper.register(
+        Tag.class,
+        Label.class,
+        List.of(MappingRule.<Tag, Label>custom("value", "value", v -> "#" + v)));
+    Labeled labeled = new Labeled();
+    labeled.setTag(new Tag("x"));
+    labeled.setTags(List.of(new Tag("y")));
+
+    LabeledView view = StructMapper.to(labeled, LabeledView.class);
+
+    assertEquals(new Label("#x"), view.getTag());
+    assertEquals(List.of(new Label("#y")), view.getTags());
+  }
+
+  @Test
+  void contextClosesCyclesAndReusesSharedReferences() {
+    Node root = node("root");
+    Node shared = node("shared");
+    shared.setParent(root);
+    root.getChildren().add(shared);
+    root.getChildren().add(shared);
+
+    NodeView view = StructMapper.to(root, NodeView.class, null, new MappingContext());
+
+    assertSame(view.getChildren().get(0), view.getChildren().get(1));
+    assertSame(view, view.getChildren().getFirst().getParent());
+  }
+
+  @Test
+  void sharedReferencesAreCopiedWithoutContext() {
+    Node root = node("root");
+    Node shared = node("shared");
+    root.getChildren().add(shared);
+    root.getChildren().add(shared);
+
+    NodeView view = StructMapper.to(root, NodeView.class);
+
+    assertNotSame(view.getChildren().get(0), view.getChildren().get(1));
+  }
+
+  @Test
+  void cycleThroughConstructorBasedTargetIsRejected() {
+    Node root = node("root");
+    root.setChild(root);
+
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class,
+            () -> StructMapper.to(root, Frozen.class, null, new MappingContext()));
+
+    assertInstanceOf(IllegalStateException.class, e.getCause());
+  }
+
+  private static Node node(String name) {
+    Node node = new Node();
+    node.setName(name);
+    return node;
+  }
+
+  @Data
+  @ToString(exclude = "parent")
+  @EqualsAndHashCode(exclude = "parent")
+  public static class Node {
+    private String name;
+    private Node parent;
+    private Node child;
+    private List<Node> children = new ArrayList<>();
+    private Set<Tag> tags = new LinkedHashSet<>();
+  }
+
+  @Data
+  @ToString(exclude = "parent")
+  @EqualsAndHashCode(exclude = "parent")
+  public static class NodeView {
+    private String name;
+    private NodeView parent;
+    private NodeView child;
+    private List<NodeView> children;
+    private Set<TagView> tags;
+  }
+
+  public record Tag(String value) {}
+
+  public record TagView(String value) {}
+
+  @Data
+  public static class Labeled {
+    private Tag tag;
+    private List<Tag> tags;
+  }
+
+  @Data
+  public static class LabeledView {
+    private Label tag;
+    private List<Label> tags;
+  }
+
+  public record Label(String value) {}
+
+  public record Frozen(String name, Frozen child) {}
+}
@@ -0,0 +1,96 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+class PatchMappingTest {
+
+  @Test
+  void mapIntoOverwritesExistingInstance() {
+    Target target = new Target();
+    target.setName("old");
+    target.setAge(1);
+    Source source = source("new", null);
+
+    Target mapped = StructMapper.mapInto(source, target);
+
+    assertSame(target, mapped);
+    assertEquals("new", target.getName());
+    assertNull(target.getAge());
+  }
+
+  @Test
+  void patchWritesAndReportsOnlyDifferingFields() {
+    Target target = new Target();
+    target.setName("a");
+    target.setAge(1);
+
+    Set<String> changed = StructMapper.patch(source("a", 2), target);
+
+    assertEquals(Set.of("age"), changed);
+    assertEquals(2, target.getAge());
+    assertTrue(StructMapper.patch(source("a", 2), target).isEmpty());
+  }
+
+  @Test
+  void patchAppliesRulesButNotGlobalHandlerChanges() {
+    Target target = new Target();
+    target.setName("A");
+    target.setAge(1);
+    target.setNote("keep");
+
+    Set<String> changed =
+        StructMapper.patch(
+            source("a", 1),
+            target,
+            List.of(
+                MappingRule.<Source, Target>custom("name", "name", v -> ((String) v).toUpperCase()),
+                MappingRule.ignore("note"),
+                MappingRule.global((s, t) -> t.setAge(99))));
+
+    // 规则转换后与当前值相同的字段不计入；全局处理器的修改照常生效但不计入
+    assertEquals(List.of("note"), List.copyOf(changed));
+    assertNull(target.getNote());
+    assertEquals(99, target.getAge());
+  }
+
+  @Test
+  void constructorBasedTargetIsRejected() {
+    RuntimeException e =
+        assertThrows(
+            RuntimeException.class, () -> StructMapper.patch(source("a", 1), new View("b", 2)));
+
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+  }
+
+  private static Source source(String name, Integer age) {
+    Source source = new Source();
+    source.setName(name);
+    source.setAge(age);
+    return source;
+  }
+
+  @Data
+  public static class Source {
+    private String name;
+    private Integer age;
+  }
+
+  @Data
+  public static class Target {
+    private String name;
+    private Integer age;
+    private String note;
+  }
+
+  public record View(String name, Integer age) {}
+}
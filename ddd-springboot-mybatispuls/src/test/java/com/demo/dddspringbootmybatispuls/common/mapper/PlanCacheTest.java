@@ -0,0 +1,95 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+class PlanCacheTest {
+
+  @Test
+  void samePairAndRuleShapeCompilesOnce() {
+    MapperMetrics before = StructMapper.metrics();
+    Source source = new Source();
+    source.setName("a");
+
+    for (int i = 0; i < 3; i++) {
+      String suffix = "-" + i;
+      // 每次调用都是新的转换器实例，规则结构相同
+      Target target =
+          StructMapper.to(
+              source,
+              Target.class,
+              List.of(MappingRule.<Source, Target>custom("name", "name", v -> v + suffix)));
+      assertEquals("a" + suffix, target.getName());
+    }
+    MapperMetrics after = StructMapper.metrics();
+
+    assertEquals(1, after.planCompilations() - before.planCompilations());
+    assertEquals(1, after.planMisses() - before.planMisses());
+    assertEquals(2, after.planHits() - before.planHits());
+  }
+
+  @Test
+  void differentRuleShapeCompilesNewPlan() {
+    Source source = new Source();
+    source.setName("a");
+    StructMapper.to(source, Other.class);
+    MapperMetrics before = StructMapper.metrics();
+
+    Other ignored = StructMapper.to(source, Other.class, List.of(MappingRule.ignore("name")));
+
+    assertNull(ignored.getName());
+    assertEquals(1, StructMapper.metrics().planCompilations() - before.planCompilations());
+  }
+
+  @Test
+  void binderExposesMetricsToMeterRegistry() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new StructMapperMetricsBinder().bindTo(registry);
+    Source source = new Source();
+    source.setName("a");
+    StructMapper.to(source, Metered.class);
+    StructMapper.to(source, Metered.class);
+    MapperMetrics metrics = StructMapper.metrics();
+
+    assertEquals(
+        metrics.planHits(),
+        registry.get("struct.mapper.plan.lookups").tag("result", "hit").functionCounter().count());
+    assertEquals(
+        metrics.planMisses(),
+        registry.get("struct.mapper.plan.lookups").tag("result", "miss").functionCounter().count());
+    FunctionTimer compilations = registry.get("struct.mapper.plan.compilations").functionTimer();
+    assertEquals(metrics.planCompilations(), compilations.count());
+    assertTrue(compilations.totalTime(TimeUnit.NANOSECONDS) > 0);
+    assertEquals(
+        metrics.buildTimePlans(),
+        registry.get("struct.mapper.plan.build.time").functionCounter().count());
+  }
+
+  @Data
+  public static class Source {
+    private String name;
+  }
+
+  @Data
+  public static class Target {
+    private String name;
+  }
+
+  @Data
+  public static class Other {
+    private String name;
+  }
+
+  @Data
+  public static class Metered {
+    private String name;
+  }
+}
@@ -0,0 +1,60 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+class RecordMappingTest {
+
+  @Test
+  void recordComponentsAreFilledFromSameNamedFields() {
+    View view = StructMapper.to(source(), View.class);
+
+    assertEquals(new View(1L, "a", 0), view);
+  }
+
+  @Test
+  void rulesAndIgnoresApplyToConstructorParameters() {
+    View view =
+        StructMapper.to(
+            source(),
+            View.class,
+            List.of(
+                MappingRule.<Source, View>custom("name", "name", v -> v + "!"),
+                MappingRule.ignore("id"),
+                MappingRule.of("age", "score")));
+
+    assertNull(view.id());
+    assertEquals("a!", view.name());
+    assertEquals(30, view.score());
+  }
+
+  @Test
+  void recordToBeanMapsThroughAccessors() {
+    Source copy = StructMapper.to(new View(2L, "b", 5), Source.class);
+
+    assertEquals(2L, copy.getId());
+    assertEquals("b", copy.getName());
+    assertNull(copy.getAge());
+  }
+
+  private static Source source() {
+    Source source = new Source();
+    source.setId(1L);
+    source.setName("a");
+    source.setAge(30);
+    return source;
+  }
+
+  @Data
+  public static class Source {
+    private Long id;
+    private String name;
+    private Integer age;
+  }
+
+  public record View(Long id, String name, int score) {}
+}
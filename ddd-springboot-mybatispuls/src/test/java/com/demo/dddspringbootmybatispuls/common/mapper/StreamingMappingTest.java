@@ -0,0 +1,105 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+class StreamingMappingTest {
+
+  @Test
+  void parallelMappingPreservesOrderAboveThreshold() {
+    List<Source> sources = sources(50_000);
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+
+    List<Target> targets =
+        StructMapper.toListParallel(
+            sources,
+            Target.class,
+            List.of(MappingRule.global((s, t) -> threads.add(Thread.currentThread().getName()))));
+
+    assertEquals(sources.size(), targets.size());
+    for (int i = 0; i < sources.size(); i++) {
+      assertEquals(i, targets.get(i).getId());
+    }
+    // 在专用线程池中映射
+    assertTrue(threads.stream().allMatch(name -> name.startsWith("struct-mapper-")));
+    assertThrows(UnsupportedOperationException.class, () -> targets.add(new Target()));
+  }
+
+  @Test
+  void parallelMappingFallsBackToSequentialForSmallOrLinkedLists() {
+    assertEquals(List.of(0, 1, 2), ids(StructMapper.toListParallel(sources(3), Target.class)));
+    assertEquals(
+        List.of(0, 1, 2),
+        ids(StructMapper.toListParallel(new LinkedList<>(sources(3)), Target.class)));
+    assertTrue(StructMapper.toListParallel(null, Target.class).isEmpty());
+  }
+
+  @Test
+  void streamIsMappedLazily() {
+    AtomicInteger mapped = new AtomicInteger();
+
+    List<Target> firstTwo =
+        StructMapper.toStream(
+                sources(100).stream(),
+                Target.class,
+                List.of(MappingRule.global((s, t) -> mapped.incrementAndGet())))
+            .limit(2)
+            .toList();
+
+    assertEquals(List.of(0, 1), ids(firstTwo));
+    assertEquals(2, mapped.get());
+  }
+
+  @Test
+  void iteratorMapsOneElementPerNext() {
+    AtomicInteger mapped = new AtomicInteger();
+    Iterator<Target> iterator =
+        StructMapper.toIterator(
+            sources(2).iterator(),
+            Target.class,
+            List.of(MappingRule.global((s, t) -> mapped.incrementAndGet())));
+
+    assertEquals(0, mapped.get());
+    assertEquals(0, iterator.next().getId());
+    assertEquals(1, mapped.get());
+    assertEquals(1, iterator.next().getId());
+    assertFalse(iterator.hasNext());
+  }
+
+  private static List<Integer> ids(List<Target> targets) {
+    return targets.stream().map(Target::getId).toList();
+  }
+
+  private static List<Source> sources(int size) {
+    return IntStream.range(0, size)
+        .mapToObj(
+            i -> {
+              Source source = new Source();
+              source.setId(i);
+              return source;
+            })
+        .toList();
+  }
+
+  @Data
+  public static class Source {
+    private Integer id;
+  }
+
+  @Data
+  public static class Target {
+    private Integer id;
+  }
+}
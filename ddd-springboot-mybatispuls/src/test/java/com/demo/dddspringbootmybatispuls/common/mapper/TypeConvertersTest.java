@@ -0,0 +1,151 @@
+package com.demo.dddspringbootmybatispuls.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+class TypeConvertersTest {
+
+  @Test
+  void builtinConvertersMapDifferentlyTypedFields() {
+    LocalDateTime time = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+    Source source = new Source();
+    source.setCount(7);
+    source.setAmount(new BigDecimal("12.50"));
+    source.setCode("42");
+    source.setTime(time);
+    source.setTotal(9L);
+
+    Target target = StructMapper.to(source, Target.class);
+
+    assertEquals(7L, target.getCount());
+    assertEquals("12.50", target.getAmount());
+    assertEquals(42, target.getCode());
+    assertEquals(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), target.getTime());
+    assertEquals(9L, target.getTotal());
+  }
+
+  @Test
+  void nullToReferenceTargetStaysNull() {
+    Source source = new Source();
+    source.setCount(1);
+    source.setCode("1");
+    source.setTime(LocalDateTime.now());
+
+    Target target = StructMapper.to(source, Target.class);
+
+    assertNull(target.getAmount());
+    assertNull(target.getTotal());
+  }
+
+  @Test
+  void nullToPrimitiveTargetFailsInsteadOfInventingZero() {
+    Source source = new Source();
+    source.setCount(1);
+    source.setCode("1");
+
+    // LocalDateTime为null时不得转换为1970-01-01的epoch毫秒
+    RuntimeException e =
+        assertThrows(RuntimeException.class, () -> StructMapper.to(source, Target.class));
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+  }
+
+  @Test
+  void blankStringToPrimitiveTargetFails() {
+    assertThrows(IllegalArgumentException.class, () -> TypeConverters.Builtin.stringToInt(" "));
+    assertThrows(IllegalArgumentException.class, () -> TypeConverters.Builtin.unboxLong(null));
+    assertNull(TypeConverters.Builtin.stringToInteger(" "));
+  }
+
+  @Test
+  void overflowingNarrowingConversionFails() {
+    assertThrows(ArithmeticException.class, () -> TypeConverters.Builtin.longToInt(Long.MAX_VALUE));
+  }
+
+  @Test
+  void scaleRuleAppliesScaleAndRoundingMode() {
+    Priced source = new Priced();
+    source.setPrice(new BigDecimal("1.005"));
+    source.setRate(0.125D);
+    source.setText("3.14159");
+    List<MappingRule<Priced, PricedView>> rules =
+        List.of(
+            MappingRule.scale("price", "price", 2, RoundingMode.HALF_UP),
+            MappingRule.scale("rate", "rate", 2, RoundingMode.HALF_EVEN),
+            MappingRule.scale("text", "text", 3, RoundingMode.DOWN));
+
+    PricedView view = StructMapper.to(source, PricedView.class, rules);
+
+    assertEquals(new BigDecimal("1.01"), view.getPrice());
+    assertEquals(new BigDecimal("0.12"), view.getRate());
+    assertEquals(new BigDecimal("3.141"), view.getText());
+
+    source.setPrice(null);
+    assertNull(StructMapper.to(source, PricedView.class, rules).getPrice());
+  }
+
+  @Test
+  void registeredConverterIsUsedForItsTypePair() {
+    TypeConverters.register(Flag.class, String.class, flag -> flag == null ? null : flag.name());
+    Flagged source = new Flagged();
+    source.setFlag(Flag.ON);
+
+    assertEquals("ON", StructMapper.to(source, FlaggedView.class).getFlag());
+  }
+
+  @Data
+  public static class Source {
+    private Integer count;
+    private BigDecimal amount;
+    private String code;
+    private LocalDateTime time;
+    private Long total;
+  }
+
+  @Data
+  public static class Target {
+    private long count;
+    private String amount;
+    private int code;
+    private long time;
+    private Long total;
+  }
+
+  @Data
+  public static class Priced {
+    private BigDecimal price;
+    private double rate;
+    private String text;
+  }
+
+  @Data
+  public static class PricedView {
+    private BigDecimal price;
+    private BigDecimal rate;
+    private BigDecimal text;
+  }
+
+  public enum Flag {
+    ON,
+    OFF
+  }
+
+  @Data
+  public static class Flagged {
+    private Flag flag;
+  }
+
+  @Data
+  public static class FlaggedView {
+    private String flag;
+  }
+}
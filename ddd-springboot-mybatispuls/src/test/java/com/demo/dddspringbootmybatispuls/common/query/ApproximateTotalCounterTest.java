@@ -0,0 +1,82 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ApproximateTotalCounterTest {
+  private final ApproximateTotalCounter counter = new ApproximateTotalCounter();
+
+  @AfterEach
+  void tearDown() {
+    counter.shutdown();
+  }
+
+  @Test
+  void firstReadReturnsNullThenCachedCount() throws InterruptedException {
+    ReflectionTestUtils.setField(counter, "ttlMillis", 60_000L);
+    AtomicInteger counts = new AtomicInteger();
+    CountDownLatch firstReadDone = new CountDownLatch(1);
+
+    // 首次COUNT在首次读取返回后才完成，保证首次读取拿不到结果
+    assertNull(
+        counter.get(
+            "t",
+            () -> {
+              awaitQuietly(firstReadDone);
+              return counts.incrementAndGet() * 10L;
+            }));
+    firstReadDone.countDown();
+    assertEquals(10L, awaitValue(() -> counter.get("t", () -> counts.incrementAndGet() * 10L)));
+    // 有效期内不重复COUNT
+    assertEquals(1, counts.get());
+  }
+
+  @Test
+  void failedRefreshKeepsPreviousValue() throws InterruptedException {
+    ReflectionTestUtils.setField(counter, "ttlMillis", 0L);
+    assertEquals(5L, awaitValue(() -> counter.get("t", () -> 5L)));
+    AtomicInteger failures = new AtomicInteger();
+
+    // 有效期为0：每次读取都触发刷新（已有刷新在途时跳过），刷新失败时保留上次结果
+    for (int i = 0; i < 500 && failures.get() < 3; i++) {
+      assertEquals(
+          5L,
+          counter.get(
+              "t",
+              () -> {
+                failures.incrementAndGet();
+                throw new IllegalStateException("统计超时");
+              }));
+      Thread.sleep(5);
+    }
+
+    assertTrue(failures.get() >= 3);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Long awaitValue(Supplier<Long> reader) throws InterruptedException {
+    for (int i = 0; i < 500; i++) {
+      Long value = reader.get();
+      if (value != null) {
+        return value;
+      }
+      Thread.sleep(10);
+    }
+    return null;
+  }
+}
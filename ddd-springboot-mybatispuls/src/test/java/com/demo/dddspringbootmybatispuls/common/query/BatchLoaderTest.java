@@ -0,0 +1,154 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BatchLoaderTest {
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final ExecutorService queryExecutor =
+      Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "query"));
+  private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+  /** 只有偶数ID存在 */
+  private final Function<List<Long>, Map<Long, String>> evenOnly =
+      ids -> {
+        batches.add(ids);
+        Map<Long, String> found = new HashMap<>();
+        ids.stream().filter(id -> id % 2 == 0).forEach(id -> found.put(id, "v" + id));
+        return found;
+      };
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdownNow();
+    queryExecutor.shutdownNow();
+  }
+
+  @Test
+  void manualDispatchMergesAndDeduplicatesKeys() throws Exception {
+    BatchLoader<Long, String> loader = new BatchLoader<>(evenOnly, 100, 0, null, null);
+
+    CompletableFuture<String> first = loader.load(2L);
+    CompletableFuture<String> missing = loader.load(3L);
+    CompletableFuture<String> duplicate = loader.load(2L);
+    assertFalse(first.isDone());
+    loader.dispatch();
+
+    assertSame(first, duplicate);
+    assertEquals("v2", first.get());
+    assertNull(missing.get());
+    assertEquals(List.of(List.of(2L, 3L)), batches);
+    assertEquals(new BatchLoader.Stats(3, 1), loader.stats());
+  }
+
+  @Test
+  void fullBatchIsDispatchedByCaller() {
+    BatchLoader<Long, String> loader = new BatchLoader<>(evenOnly, 2, 0, null, null);
+
+    CompletableFuture<String> first = loader.load(2L);
+    CompletableFuture<String> second = loader.load(4L);
+    CompletableFuture<String> third = loader.load(6L);
+
+    assertTrue(first.isDone() && second.isDone());
+    assertFalse(third.isDone());
+    assertEquals(List.of(List.of(2L, 4L)), batches);
+  }
+
+  @Test
+  void loadManyKeepsOrderAndSkipsMissingKeys() {
+    BatchLoader<Long, String> loader = new BatchLoader<>(evenOnly, 100, 0, null, null);
+
+    Map<Long, String> values = loader.loadMany(List.of(4L, 1L, 2L, 4L));
+
+    assertEquals(List.of(4L, 2L), List.copyOf(values.keySet()));
+    assertEquals(1, batches.size());
+  }
+
+  @Test
+  void batchFailureCompletesEveryWaiter() {
+    IllegalStateException failure = new IllegalStateException("查询失败");
+    BatchLoader<Long, String> loader =
+        new BatchLoader<>(
+            ids -> {
+              throw failure;
+            },
+            100,
+            0,
+            null,
+            null);
+
+    CompletableFuture<String> first = loader.load(1L);
+    CompletableFuture<String> second = loader.load(2L);
+    loader.dispatch();
+
+    assertSame(failure, assertThrows(ExecutionException.class, first::get).getCause());
+    assertSame(failure, assertThrows(ExecutionException.class, second::get).getCause());
+    assertSame(
+        failure, assertThrows(IllegalStateException.class, () -> loader.loadMany(List.of(3L))));
+  }
+
+  @Test
+  void windowedLoaderDispatchesLoadsWithinWindowTogether() throws Exception {
+    BatchLoader<Long, String> loader =
+        new BatchLoader<>(evenOnly, 100, 500, scheduler, queryExecutor);
+
+    CompletableFuture<String> first = loader.load(2L);
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> loader.load(4L)).get();
+
+    assertEquals("v2", first.get(5, TimeUnit.SECONDS));
+    assertEquals("v4", second.get(5, TimeUnit.SECONDS));
+    assertEquals(List.of(List.of(2L, 4L)), batches);
+  }
+
+  @Test
+  void windowedBatchRunsOnQueryExecutorNotScheduler() throws Exception {
+    List<String> threads = new CopyOnWriteArrayList<>();
+    BatchLoader<Long, String> loader =
+        new BatchLoader<>(
+            ids -> {
+              threads.add(Thread.currentThread().getName());
+              return evenOnly.apply(ids);
+            },
+            100,
+            1,
+            scheduler,
+            queryExecutor);
+
+    assertEquals("v2", loader.load(2L).get(5, TimeUnit.SECONDS));
+    assertEquals(List.of("query"), threads);
+  }
+
+  @Test
+  void loadManyRethrowsErrorsFromTheBatch() {
+    AssertionError failure = new AssertionError("查询失败");
+    BatchLoader<Long, String> loader =
+        new BatchLoader<>(
+            ids -> {
+              throw failure;
+            },
+            100,
+            0,
+            null,
+            null);
+
+    assertSame(failure, assertThrows(AssertionError.class, () -> loader.loadMany(List.of(1L))));
+  }
+}
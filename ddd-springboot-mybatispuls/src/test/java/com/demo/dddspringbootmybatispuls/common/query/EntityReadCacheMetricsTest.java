@@ -0,0 +1,47 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EntityReadCacheMetricsTest {
+  @Resource private EntityReadCache entityReadCache;
+  @Resource private MeterRegistry meterRegistry;
+
+  @Test
+  void regionRegistersCacheAndLoadMeters() {
+    entityReadCache.get(MeteredDO.class, 1L, id -> "a");
+    entityReadCache.get(MeteredDO.class, 1L, id -> "unused");
+    entityReadCache.invalidate(MeteredDO.class, List.of(1L));
+    entityReadCache.get(MeteredDO.class, 1L, id -> "b");
+
+    assertEquals(1D, count("cache.gets", "result", "hit"));
+    assertEquals(2D, count("cache.gets", "result", "miss"));
+    assertEquals(2D, count("entity.cache.loads", "result", "executed"));
+    assertEquals(0D, count("entity.cache.loads", "result", "coalesced"));
+    assertEquals(
+        entityReadCache.loadStats(MeteredDO.class).executed(),
+        count("entity.cache.loads", "result", "executed"));
+  }
+
+  private double count(String name, String tag, String value) {
+    return meterRegistry
+        .get(name)
+        .tags("cache", MeteredDO.class.getSimpleName(), tag, value)
+        .meter()
+        .measure()
+        .iterator()
+        .next()
+        .getValue();
+  }
+
+  /** 仅用作缓存区key的DO类型 */
+  static class MeteredDO {}
+}
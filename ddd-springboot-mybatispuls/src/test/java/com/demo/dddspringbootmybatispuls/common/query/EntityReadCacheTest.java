@@ -0,0 +1,94 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class EntityReadCacheTest {
+
+  @Test
+  void hitSkipsLoaderAndNullIsNotCached() {
+    EntityReadCache cache = cache(100);
+    AtomicInteger loads = new AtomicInteger();
+
+    assertEquals("v1", cache.get(CachedDO.class, 1L, id -> "v" + loads.incrementAndGet()));
+    assertEquals("v1", cache.get(CachedDO.class, 1L, id -> "v" + loads.incrementAndGet()));
+    assertNull(cache.get(CachedDO.class, 2L, id -> nullLoad(loads)));
+    assertNull(cache.get(CachedDO.class, 2L, id -> nullLoad(loads)));
+
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void getAllLoadsOnlyMissingIdsInOneBatch() {
+    EntityReadCache cache = cache(100);
+    cache.get(CachedDO.class, 2L, id -> "cached");
+    List<List<Long>> batches = new ArrayList<>();
+
+    Map<Long, String> values =
+        cache.getAll(
+            CachedDO.class,
+            List.of(3L, 2L, 1L, 3L, 9L),
+            ids -> {
+              batches.add(ids);
+              Map<Long, String> found = new HashMap<>();
+              ids.stream().filter(id -> id != 9L).forEach(id -> found.put(id, "loaded" + id));
+              return found;
+            });
+
+    assertEquals(List.of(List.of(3L, 1L, 9L)), batches);
+    assertEquals(List.of(3L, 2L, 1L), List.copyOf(values.keySet()));
+    assertEquals("cached", values.get(2L));
+    assertEquals("loaded1", cache.get(CachedDO.class, 1L, id -> "reloaded"));
+  }
+
+  @Test
+  void invalidationDuringLoadDiscardsResult() {
+    EntityReadCache cache = cache(100);
+
+    // 加载期间有写入提交：读到的可能是旧值
+    cache.get(
+        CachedDO.class,
+        1L,
+        id -> {
+          cache.invalidate(CachedDO.class, List.of(1L));
+          return "stale";
+        });
+
+    assertEquals("fresh", cache.get(CachedDO.class, 1L, id -> "fresh"));
+  }
+
+  @Test
+  void zeroMaximumSizeDisablesCaching() {
+    EntityReadCache cache = cache(0);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get(CachedDO.class, 1L, id -> loads.incrementAndGet());
+    cache.get(CachedDO.class, 1L, id -> loads.incrementAndGet());
+
+    assertEquals(2, loads.get());
+    assertEquals(0, cache.stats(CachedDO.class).requestCount());
+  }
+
+  private static Object nullLoad(AtomicInteger loads) {
+    loads.incrementAndGet();
+    return null;
+  }
+
+  private static EntityReadCache cache(long maximumSize) {
+    EntityReadCache cache = new EntityReadCache();
+    ReflectionTestUtils.setField(cache, "maximumSize", maximumSize);
+    ReflectionTestUtils.setField(cache, "ttlMillis", 60_000L);
+    return cache;
+  }
+
+  /** 仅用作缓存区key的DO类型 */
+  static class CachedDO {}
+}
@@ -0,0 +1,41 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class ExportLimiterTest {
+
+  @Test
+  void permitsAreTakenWhenAcquiredAndReturnedWhenTheExportEnds() {
+    ExportLimiter limiter = new ExportLimiter(1);
+    List<Integer> rows = new ArrayList<>();
+    Consumer<Consumer<Integer>> export = limiter.acquire(consumer -> consumer.accept(1));
+
+    assertThrows(ExportLimitExceededException.class, () -> limiter.acquire(consumer -> {}));
+
+    export.accept(rows::add);
+    assertEquals(List.of(1), rows);
+    limiter.<Integer>acquire(consumer -> {}).accept(rows::add);
+  }
+
+  @Test
+  void failedExportReturnsItsPermitOnce() {
+    ExportLimiter limiter = new ExportLimiter(1);
+    Consumer<Consumer<Object>> export =
+        limiter.acquire(
+            consumer -> {
+              throw new IllegalStateException("断开");
+            });
+
+    assertThrows(IllegalStateException.class, () -> export.accept(row -> {}));
+    assertThrows(IllegalStateException.class, () -> export.accept(row -> {}));
+
+    limiter.acquire(consumer -> {});
+    assertThrows(ExportLimitExceededException.class, () -> limiter.acquire(consumer -> {}));
+  }
+}
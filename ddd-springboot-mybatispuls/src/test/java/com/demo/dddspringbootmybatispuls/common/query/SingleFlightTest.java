@@ -0,0 +1,108 @@
+package com.demo.dddspringbootmybatispuls.common.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  @Test
+  void concurrentCallsForSameKeyShareOneLoad() throws Exception {
+    SingleFlight<Long, Object> flight = new SingleFlight<>();
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Object loaded = new Object();
+
+    CompletableFuture<Object> first =
+        CompletableFuture.supplyAsync(
+            () -> flight.execute(1L, id -> await(release, calls, loaded)));
+    awaitExecuted(flight, 1);
+    CompletableFuture<Object> second =
+        CompletableFuture.supplyAsync(() -> flight.execute(1L, id -> await(release, calls, null)));
+    awaitCoalesced(flight, 1);
+    release.countDown();
+
+    assertSame(loaded, first.get(5, TimeUnit.SECONDS));
+    assertSame(loaded, second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, calls.get());
+    assertEquals(new SingleFlight.Stats(1, 1), flight.stats());
+  }
+
+  @Test
+  void waitersReceiveTheLoaderException() throws Exception {
+    SingleFlight<Long, Object> flight = new SingleFlight<>();
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Object> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                flight.execute(
+                    1L,
+                    id -> {
+                      await(release, new AtomicInteger(), null);
+                      throw new IllegalStateException("加载失败");
+                    }));
+    awaitExecuted(flight, 1);
+    CompletableFuture<Object> second =
+        CompletableFuture.supplyAsync(() -> flight.execute(1L, id -> "unused"));
+    awaitCoalesced(flight, 1);
+    release.countDown();
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+    assertEquals(IllegalStateException.class, e.getCause().getClass());
+    assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void completedAndForgottenLoadsAreNotShared() throws Exception {
+    SingleFlight<Long, Object> flight = new SingleFlight<>();
+    assertEquals("a", flight.execute(1L, id -> "a"));
+    // 加载结束即移除，不缓存结果
+    assertEquals("b", flight.execute(1L, id -> "b"));
+
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Object> stale =
+        CompletableFuture.supplyAsync(
+            () -> flight.execute(2L, id -> await(release, new AtomicInteger(), "old")));
+    awaitExecuted(flight, 3);
+    flight.forget(List.of(2L));
+
+    assertEquals("new", flight.execute(2L, id -> "new"));
+    release.countDown();
+    assertEquals("old", stale.get(5, TimeUnit.SECONDS));
+    assertEquals(new SingleFlight.Stats(4, 0), flight.stats());
+  }
+
+  private static Object await(CountDownLatch release, AtomicInteger calls, Object value) {
+    calls.incrementAndGet();
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return value;
+  }
+
+  private static void awaitExecuted(SingleFlight<?, ?> flight, long executed)
+      throws InterruptedException {
+    while (flight.stats().executed() < executed) {
+      Thread.sleep(1);
+    }
+  }
+
+  private static void awaitCoalesced(SingleFlight<?, ?> flight, long coalesced)
+      throws InterruptedException {
+    while (flight.stats().coalesced() < coalesced) {
+      Thread.sleep(1);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.demo.dddspringbootmybatispuls.common.reflect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+class InstantiatorsTest {
+
+  @Test
+  void noArgSupplierIsCachedAndCreatesNewInstances() {
+    Supplier<Object> supplier = Instantiators.supplier(Bean.class);
+
+    assertSame(supplier, Instantiators.supplier(Bean.class));
+    assertInstanceOf(Bean.class, supplier.get());
+    assertNotSame(supplier.get(), supplier.get());
+    assertNull(Instantiators.supplier(Point.class));
+  }
+
+  @Test
+  void recordUsesCanonicalConstructor() {
+    Constructor<?> creator = Instantiators.creator(Point.class);
+
+    assertEquals(2, creator.getParameterCount());
+    assertEquals(
+        new Point(1, "a"), Instantiators.compileCreator(creator).apply(new Object[] {1, "a"}));
+  }
+
+  @Test
+  void allArgsClassUsesWidestMatchingConstructor() {
+    Constructor<?> creator = Instantiators.creator(Immutable.class);
+
+    Immutable value =
+        (Immutable) Instantiators.compileCreator(creator).apply(new Object[] {7L, "n"});
+
+    assertEquals(2, creator.getParameterCount());
+    assertEquals(7L, value.getId());
+    assertEquals("n", value.getName());
+  }
+
+  @Test
+  void abstractAndUnmatchedTypesAreNotInstantiable() {
+    assertFalse(Instantiators.isInstantiable(List.class));
+    // 构造参数名与字段不对应
+    assertFalse(Instantiators.isInstantiable(Unmatched.class));
+  }
+
+  public static class Bean {}
+
+  public record Point(int x, String label) {}
+
+  @Getter
+  public static class Immutable {
+    private final Long id;
+    private final String name;
+
+    public Immutable(Long id) {
+      this(id, null);
+    }
+
+    public Immutable(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  @Getter
+  public static class Unmatched {
+    private final String name;
+
+    public Unmatched(String value) {
+      this.name = value;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.demo.dddspringbootmybatispuls.common.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class PageCursorTest {
+
+  @Test
+  void encodedCursorDecodesToSameId() {
+    for (long id : new long[] {0L, 1L, 1234567890123456789L, Long.MAX_VALUE, -1L}) {
+      assertEquals(id, PageCursor.decode(PageCursor.encode(id)));
+    }
+  }
+
+  @Test
+  void blankCursorMeansFirstPage() {
+    assertNull(PageCursor.decode(null));
+    assertNull(PageCursor.decode(" "));
+  }
+
+  @Test
+  void malformedCursorIsRejected() {
+    assertThrows(InvalidCursorException.class, () -> PageCursor.decode("not base64!"));
+    // 合法Base64但长度不是8字节
+    assertThrows(InvalidCursorException.class, () -> PageCursor.decode("AAAA"));
+  }
+}
@@ -0,0 +1,65 @@
+package com.demo.dddspringbootmybatispuls.common.response;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class NdjsonResponseTest {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void writesOneJsonObjectPerLine() throws IOException {
+    ResponseEntity<StreamingResponseBody> response =
+        NdjsonResponse.<Map<String, Object>>of(
+            objectMapper,
+            consumer -> {
+              consumer.accept(Map.of("id", 1));
+              consumer.accept(Map.of("id", 2));
+            });
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+
+    assertEquals(NdjsonResponse.APPLICATION_NDJSON, response.getHeaders().getContentType());
+    assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void writeFailureStopsProducer() {
+    AtomicInteger produced = new AtomicInteger();
+    ResponseEntity<StreamingResponseBody> response =
+        NdjsonResponse.<Integer>of(
+            objectMapper,
+            consumer ->
+                IntStream.range(0, 100_000)
+                    .forEach(
+                        i -> {
+                          produced.incrementAndGet();
+                          consumer.accept(i);
+                        }));
+    // 模拟客户端断开：写出即失败
+    OutputStream broken =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("连接已断开");
+          }
+        };
+
+    assertThrows(UncheckedIOException.class, () -> response.getBody().writeTo(broken));
+    // 缓冲区满（首次flush）时即中断，不会把全部数据生产完
+    assertTrue(produced.get() < 100_000);
+  }
+}
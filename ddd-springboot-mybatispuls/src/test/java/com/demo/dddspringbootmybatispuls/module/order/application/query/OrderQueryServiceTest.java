@@ -0,0 +1,60 @@
+package com.demo.dddspringbootmybatispuls.module.order.application.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.demo.dddspringbootmybatispuls.common.aggregate.AggregateCommandExecutor;
+import com.demo.dddspringbootmybatispuls.common.query.EntityReadCache;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import com.demo.dddspringbootmybatispuls.support.TestData;
+import jakarta.annotation.Resource;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderQueryServiceTest {
+  @Resource private OrderQueryService orderQueryService;
+  @Resource private AggregateCommandExecutor aggregateCommandExecutor;
+  @Resource private EntityReadCache entityReadCache;
+  @Resource private JdbcTemplate jdbcTemplate;
+  @Resource private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    TestData.reset(jdbcTemplate);
+    entityReadCache.invalidate(OrderDO.class, List.of(1L, 2L));
+  }
+
+  @Test
+  void cachedOrderIsInvalidatedByAggregatePersist() {
+    assertEquals("UNPAID", orderQueryService.getOrderById(1L).status());
+    // 绕过聚合持久化的写入：有效期内仍读缓存
+    jdbcTemplate.update("update t_order set status = 'EXTERNAL' where id = 1");
+    assertEquals("UNPAID", orderQueryService.getOrderById(1L).status());
+
+    aggregateCommandExecutor.execute(Order.class, 1L, o -> o.setStatus("PAID"));
+
+    assertEquals("PAID", orderQueryService.getOrderById(1L).status());
+    assertEquals("PAID", orderQueryService.getOrdersByIds(List.of(1L)).get(1L).status());
+  }
+
+  @Test
+  void invalidationWaitsForOuterCommit() {
+    orderQueryService.getOrderById(1L);
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          aggregateCommandExecutor.execute(Order.class, 1L, o -> o.setStatus("PAID"));
+          // 提交前其他读取方仍可见已提交的旧值
+          assertEquals("UNPAID", orderQueryService.getOrderById(1L).status());
+        });
+
+    assertEquals("PAID", orderQueryService.getOrderById(1L).status());
+  }
+}
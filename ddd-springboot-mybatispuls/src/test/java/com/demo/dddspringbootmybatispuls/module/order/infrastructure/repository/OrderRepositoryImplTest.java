@@ -0,0 +1,76 @@
+package com.demo.dddspringbootmybatispuls.module.order.infrastructure.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.Order;
+import com.demo.dddspringbootmybatispuls.module.order.domain.model.OrderItem;
+import com.demo.dddspringbootmybatispuls.module.order.domain.repository.OrderRepository;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import com.demo.dddspringbootmybatispuls.support.TestData;
+import jakarta.annotation.Resource;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderRepositoryImplTest {
+  @Resource private OrderRepository orderRepository;
+  @Resource private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    TestData.reset(jdbcTemplate);
+    jdbcTemplate.update(
+        "insert into t_order_item values"
+            + " (1002, 2, 'SKU_002', 1, 5.00, 5.00, now(), now(), 'x', 'x'),"
+            + " (1003, 2, 'SKU_003', 3, 1.00, 3.00, now(), now(), 'x', 'x')");
+  }
+
+  @Test
+  void loadAllAttachesChildrenToTheirOrdersInRequestedOrder() {
+    List<Order> orders = orderRepository.loadAll(List.of(2L, 99L, 1L));
+
+    assertEquals(List.of(2L, 1L), orders.stream().map(Order::getId).toList());
+    Order second = orders.get(0);
+    Order first = orders.get(1);
+    assertEquals(
+        List.of("SKU_002", "SKU_003"),
+        second.getItems().stream().map(OrderItem::getSkuCode).sorted().toList());
+    assertNull(second.getPayment());
+    assertEquals(List.of("SKU_001"), first.getItems().stream().map(OrderItem::getSkuCode).toList());
+    assertEquals(2001L, first.getPayment().getId());
+  }
+
+  @Test
+  void selectPageAfterSeeksByIdDescending() {
+    assertEquals(List.of(2L), ids(orderRepository.selectPageAfter(null, 1)));
+    assertEquals(List.of(1L), ids(orderRepository.selectPageAfter(2L, 5)));
+    assertTrue(orderRepository.selectPageAfter(1L, 5).isEmpty());
+  }
+
+  @Test
+  void loadAllWithNoMatchesIsEmpty() {
+    assertTrue(orderRepository.loadAll(List.of()).isEmpty());
+    assertTrue(orderRepository.loadAll(List.of(99L)).isEmpty());
+  }
+
+  @Test
+  void loadMatchesBatchLoad() {
+    Order single = orderRepository.load(1L);
+    Order batched = orderRepository.loadAll(List.of(1L)).getFirst();
+
+    assertEquals(batched.getVersion(), single.getVersion());
+    assertEquals(batched.getItems().size(), single.getItems().size());
+    assertEquals(batched.getPayment().getId(), single.getPayment().getId());
+  }
+
+  private static List<Long> ids(List<OrderDO> rows) {
+    return rows.stream().map(OrderDO::getId).toList();
+  }
+}
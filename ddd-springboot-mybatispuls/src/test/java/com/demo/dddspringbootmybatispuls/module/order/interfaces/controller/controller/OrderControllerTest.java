@@ -0,0 +1,69 @@
+package com.demo.dddspringbootmybatispuls.module.order.interfaces.controller.controller;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.demo.dddspringbootmybatispuls.common.query.EntityReadCache;
+import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
+import com.demo.dddspringbootmybatispuls.support.TestData;
+import jakarta.annotation.Resource;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderControllerTest {
+  @Resource private MockMvc mockMvc;
+  @Resource private EntityReadCache entityReadCache;
+  @Resource private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    TestData.reset(jdbcTemplate);
+    entityReadCache.invalidate(OrderDO.class, List.of(1L, 2L));
+  }
+
+  @Test
+  void batchAcceptsRepeatedIdsParameter() throws Exception {
+    mockMvc
+        .perform(get("/api/order/batch").param("ids", "2", "7", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.items.2.orderNo").value("ORDER_002"))
+        .andExpect(jsonPath("$.data.items.1.orderNo").value("ORDER_001"))
+        .andExpect(jsonPath("$.data.missingIds", contains(7)));
+  }
+
+  @Test
+  void batchWithMalformedIdIsBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/api/order/batch").param("ids", "1,abc"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value(400));
+  }
+
+  @Test
+  void updatingMissingOrderIsNotFound() throws Exception {
+    mockMvc
+        .perform(get("/api/order/update").param("id", "99"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.code").value(404));
+  }
+
+  @Test
+  void batchWithoutIdsIsEmpty() throws Exception {
+    mockMvc
+        .perform(get("/api/order/batch"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.items.length()").value(0))
+        .andExpect(jsonPath("$.data.missingIds.length()").value(0));
+  }
+}
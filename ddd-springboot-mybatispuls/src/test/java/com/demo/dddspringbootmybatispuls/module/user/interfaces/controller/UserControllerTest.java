@@ -0,0 +1,147 @@
+package com.demo.dddspringbootmybatispuls.module.user.interfaces.controller;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.demo.dddspringbootmybatispuls.common.query.ExportLimitExceededException;
+import com.demo.dddspringbootmybatispuls.common.query.ExportLimiter;
+import com.demo.dddspringbootmybatispuls.common.request.BatchGetRequest;
+import com.demo.dddspringbootmybatispuls.support.TestData;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerTest {
+  @Resource private MockMvc mockMvc;
+  @Resource private JdbcTemplate jdbcTemplate;
+  @Resource private ExportLimiter exportLimiter;
+
+  @BeforeEach
+  void setUp() {
+    TestData.reset(jdbcTemplate);
+  }
+
+  @Test
+  void cursorPagesWalkAllUsersInIdOrder() throws Exception {
+    String body =
+        mockMvc
+            .perform(get("/api/user/list").param("pageSize", "2").param("withTotal", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.items[*].id", contains(3, 2)))
+            .andExpect(jsonPath("$.data.hasMore").value(true))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    String nextCursor = JsonPath.read(body, "$.data.nextCursor");
+
+    mockMvc
+        .perform(get("/api/user/list").param("pageSize", "2").param("cursor", nextCursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.items[*].id", contains(1)))
+        .andExpect(jsonPath("$.data.hasMore").value(false))
+        .andExpect(jsonPath("$.data.nextCursor", nullValue()));
+  }
+
+  @Test
+  void batchReturnsFoundUsersAndMissingIdsInRequestOrder() throws Exception {
+    mockMvc
+        .perform(get("/api/user/batch").param("ids", "3,9,1,3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.code").value(200))
+        .andExpect(jsonPath("$.data.items.3.name").value("c"))
+        .andExpect(jsonPath("$.data.items.1.name").value("a"))
+        .andExpect(jsonPath("$.data.items.length()").value(2))
+        .andExpect(jsonPath("$.data.missingIds", contains(9)));
+  }
+
+  @Test
+  void batchOverLimitIsRejected() throws Exception {
+    String ids =
+        IntStream.rangeClosed(1, BatchGetRequest.MAX_BATCH_SIZE + 1)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining(","));
+
+    mockMvc
+        .perform(get("/api/user/batch").param("ids", ids))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value(400))
+        .andExpect(jsonPath("$.data", nullValue()));
+  }
+
+  @Test
+  void batchLimitCountsIdsBeforeDeduplication() throws Exception {
+    String ids = String.join(",", Collections.nCopies(BatchGetRequest.MAX_BATCH_SIZE + 1, "1"));
+
+    mockMvc
+        .perform(get("/api/user/batch").param("ids", ids))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value(400));
+  }
+
+  @Test
+  void malformedCursorIsBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/api/user/list").param("cursor", "not-a-cursor"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value(400));
+  }
+
+  @Test
+  void exportStreamsEveryUserAsNdjson() throws Exception {
+    MvcResult started =
+        mockMvc.perform(get("/api/user/export")).andExpect(request().asyncStarted()).andReturn();
+
+    String body =
+        mockMvc
+            .perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    assertEquals(3, body.lines().count());
+  }
+
+  @Test
+  void exportBeyondConcurrencyLimitIsServiceUnavailable() throws Exception {
+    List<Consumer<Consumer<Object>>> running = new ArrayList<>();
+    try {
+      while (true) {
+        running.add(exportLimiter.acquire(consumer -> {}));
+      }
+    } catch (ExportLimitExceededException e) {
+      // 名额已占满
+    }
+    try {
+      mockMvc
+          .perform(get("/api/user/export"))
+          .andExpect(status().isServiceUnavailable())
+          .andExpect(jsonPath("$.code").value(503));
+    } finally {
+      running.forEach(export -> export.accept(row -> {}));
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.demo.dddspringbootmybatispuls.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 测试数据：每个用例前重置为固定的订单/用户数据
+ *
+ * @author zhangshaolong
+ */
+public final class TestData {
+  // 私有构造器：禁止实例化
+  private TestData() {}
+
+  /** 订单1（版本1，未支付）：一个订单项、一条支付信息；订单2（版本1）：无订单项；用户1~3 */
+  public static void reset(JdbcTemplate jdbcTemplate) {
+    jdbcTemplate.execute("delete from t_order");
+    jdbcTemplate.execute("delete from t_order_item");
+    jdbcTemplate.execute("delete from t_order_payment");
+    jdbcTemplate.execute("delete from t_user");
+    jdbcTemplate.update(
+        "insert into t_order values (1, 1, 'ORDER_001', 'UNPAID', now(), now(), 'x', 'x'),"
+            + " (2, 1, 'ORDER_002', 'UNPAID', now(), now(), 'x', 'x')");
+    jdbcTemplate.update(
+        "insert into t_order_item values"
+            + " (1001, 1, 'SKU_001', 2, 10.00, 20.00, now(), now(), 'x', 'x')");
+    jdbcTemplate.update(
+        "insert into t_order_payment values"
+            + " (2001, 1, 20.00, 'ALIPAY', 'UNPAID', 'T1', now(), now(), 'x', 'x')");
+    jdbcTemplate.update(
+        "insert into t_user(id, name, age, create_time) values"
+            + " (1, 'a', 1, now()), (2, 'b', 2, now()), (3, 'c', 3, now())");
+  }
+}
@@ -0,0 +1,4 @@
+create table if not exists t_order (id bigint primary key, version bigint, order_no varchar(64), status varchar(32), create_time timestamp, update_time timestamp, create_by varchar(32), update_by varchar(32));
+create table if not exists t_order_item (id bigint primary key, order_id bigint, sku_code varchar(64), quantity int, price decimal(18,2), sub_amount decimal(18,2), create_time timestamp, update_time timestamp, create_by varchar(32), update_by varchar(32));
+create table if not exists t_order_payment (id bigint primary key, order_id bigint, amount decimal(18,2), pay_type varchar(32), pay_status varchar(32), out_trade_no varchar(64), create_time timestamp, update_time timestamp, create_by varchar(32), update_by varchar(32));
+create table if not exists t_user (id bigint auto_increment primary key, name varchar(64), age int, create_time timestamp);
@@ -1,9 +0,0 @@
-package com.demo.dddspringbootmybatispuls.common.request;
-
-import lombok.Data;
-
-@Data
-public class PageRequest {
-  private Integer pageNum = 1;
-  private Integer pageSize = 10;
-}
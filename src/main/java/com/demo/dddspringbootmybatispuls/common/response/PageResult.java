@@ -1,3 +0,0 @@
-package com.demo.dddspringbootmybatispuls.common.response;
-
-public class PageResult<T> {}
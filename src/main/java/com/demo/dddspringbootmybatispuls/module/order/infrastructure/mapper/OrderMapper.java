@@ -1,8 +0,0 @@
-package com.demo.dddspringbootmybatispuls.module.order.infrastructure.mapper;
-
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
-import com.demo.dddspringbootmybatispuls.module.order.infrastructure.dataobject.OrderDO;
-import org.apache.ibatis.annotations.Mapper;
-
-@Mapper
-public interface OrderMapper extends BaseMapper<OrderDO> {}
@@ -1,8 +0,0 @@
-package com.demo.dddspringbootmybatispuls.module.user.infrastructure.mapper;
-
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
-import com.demo.dddspringbootmybatispuls.module.user.infrastructure.dataobject.UserDO;
-import org.apache.ibatis.annotations.Mapper;
-
-@Mapper
-public interface UserMapper extends BaseMapper<UserDO> {}
@@ -0,0 +1,704 @@
+package com.demo.dddspringbootmybatispuls.common.mapper.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * {@code @StructMapping}注解处理器：编译期为声明的(源类型, 目标类型)生成映射器源码，并写入ServiceLoader声明
+ *
+ * <p>生成规则与运行期映射计划一致：目标字段按同名源字段匹配，类型相同直接赋值，基本类型装箱，业务对象/集合元素递归映射，其余类型不一致时使用内置转换器（编译期绑定）或注册的转换器（运行期查找）
+ *
+ * <p>需在Lombok之后执行（依赖其生成的getter/setter），处理器顺序见pom.xml
+ *
+ * @author zhangshaolong
+ */
+@SupportedAnnotationTypes({StructMappingProcessor.ANNOTATION, StructMappingProcessor.CONTAINER})
+public class StructMappingProcessor extends AbstractProcessor {
+  static final String PACKAGE = "com.demo.dddspringbootmybatispuls.common.mapper";
+  static final String ANNOTATION = PACKAGE + ".StructMapping";
+  static final String CONTAINER = ANNOTATION + ".List";
+
+  private static final String SERVICE_FILE = "META-INF/services/" + PACKAGE + ".CompiledMapper";
+  private static final String BUILTIN_CONVERTERS = PACKAGE + ".TypeConverters.Builtin";
+
+  /** 已生成的映射器类名（全限定） */
+  private final Set<String> generated = new LinkedHashSet<>();
+
+  /** 已声明的类型对（源类型→目标类型），用于检查重复声明 */
+  private final Set<String> declaredPairs = new HashSet<>();
+
+  private Elements elements;
+  private Types types;
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    elements = processingEnv.getElementUtils();
+    types = processingEnv.getTypeUtils();
+    if (roundEnv.processingOver()) {
+      writeServiceFile();
+      return false;
+    }
+    Set<Element> annotated = new LinkedHashSet<>();
+    for (TypeElement annotation : annotations) {
+      annotated.addAll(roundEnv.getElementsAnnotatedWith(annotation));
+    }
+    for (Element element : annotated) {
+      for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+        String name = qualifiedName(mirror.getAnnotationType());
+        if (ANNOTATION.equals(name)) {
+          generate(element, mirror);
+        } else if (CONTAINER.equals(name)) {
+          for (AnnotationValue value : listValue(mirror, "value")) {
+            generate(element, (AnnotationMirror) value.getValue());
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  private void generate(Element element, AnnotationMirror mirror) {
+    TypeMirror sourceType = (TypeMirror) value(mirror, "source").getValue();
+    AnnotationValue targetValue = value(mirror, "target");
+    TypeMirror targetType =
+        targetValue == null || ((TypeMirror) targetValue.getValue()).getKind() == TypeKind.VOID
+            ? element.asType()
+            : (TypeMirror) targetValue.getValue();
+    TypeElement source = asTypeElement(sourceType);
+    TypeElement target = asTypeElement(targetType);
+    if (!isMappable(source) || !isMappable(target)) {
+      error(element, mirror, "源/目标类型需为公开的非泛型类：" + sourceType + " → " + targetType);
+      return;
+    }
+    if (!declaredPairs.add(source.getQualifiedName() + "→" + target.getQualifiedName())) {
+      error(
+          element,
+          mirror,
+          "重复的映射声明：" + source.getQualifiedName() + " → " + target.getQualifiedName());
+      return;
+    }
+    try {
+      MapperSource mapperSource = new MapperSource(source, target, className(source, target));
+      String code = mapperSource.render();
+      String qualifiedName = PACKAGE + "." + mapperSource.className;
+      try (Writer writer =
+          processingEnv.getFiler().createSourceFile(qualifiedName, element).openWriter()) {
+        writer.write(code);
+      }
+      generated.add(qualifiedName);
+    } catch (MappingException e) {
+      error(element, mirror, e.getMessage());
+    } catch (IOException e) {
+      error(element, mirror, "生成映射器失败：" + e.getMessage());
+    }
+  }
+
+  /** 映射器类名：源类型+To+目标类型，同名时追加序号 */
+  private String className(TypeElement source, TypeElement target) {
+    String base = source.getSimpleName() + "To" + target.getSimpleName() + "StructMapper";
+    String name = base;
+    for (int i = 2; generated.contains(PACKAGE + "." + name); i++) {
+      name = base + i;
+    }
+    return name;
+  }
+
+  private void writeServiceFile() {
+    if (generated.isEmpty()) {
+      return;
+    }
+    try (Writer writer =
+        processingEnv
+            .getFiler()
+            .createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE)
+            .openWriter()) {
+      for (String className : generated) {
+        writer.write(className);
+        writer.write('\n');
+      }
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(Diagnostic.Kind.ERROR, "写入映射器声明失败：" + e.getMessage());
+    }
+  }
+
+  // ========== 映射器源码 ==========
+
+  /** 单个映射器的源码生成 */
+  private final class MapperSource {
+    private final TypeElement source;
+    private final TypeElement target;
+    private final String className;
+    private final String sourceName;
+    private final String targetName;
+
+    /** 嵌套映射字段（目标类型的类字面量） */
+    private final List<String> nestedMappings = new ArrayList<>();
+
+    /** 运行期查找的转换器字段（源类型, 目标类型的类字面量） */
+    private final List<String> converterLookups = new ArrayList<>();
+
+    MapperSource(TypeElement source, TypeElement target, String className) {
+      this.source = source;
+      this.target = target;
+      this.className = className;
+      this.sourceName = source.getQualifiedName().toString();
+      this.targetName = target.getQualifiedName().toString();
+    }
+
+    String render() {
+      Map<String, Property> sourceProperties = properties(source);
+      boolean constructorBased = target.getKind() == ElementKind.RECORD;
+      StringBuilder newInstance = new StringBuilder();
+      StringBuilder map = new StringBuilder();
+      StringBuilder patch = new StringBuilder();
+
+      if (constructorBased) {
+        StringJoiner args = new StringJoiner(",\n        ", "\n        ", "");
+        for (RecordComponentElement component : target.getRecordComponents()) {
+          String name = component.getSimpleName().toString();
+          Value value = resolve(sourceProperties.get(name), component.asType(), name);
+          args.add(
+              value == null
+                  ? defaultValue(component.asType())
+                  : value.guard == null
+                      ? value.expression
+                      : value.guard
+                          + " != null ? "
+                          + value.expression
+                          + " : "
+                          + defaultValue(component.asType()));
+        }
+        newInstance
+            .append("    ")
+            .append(sourceName)
+            .append(" s = (")
+            .append(sourceName)
+            .append(") source;\n    return new ")
+            .append(targetName)
+            .append('(')
+            .append(target.getRecordComponents().isEmpty() ? "" : args.toString())
+            .append(");\n");
+        patch
+            .append("    throw new IllegalArgumentException(\"目标类型按构造参数创建，不支持原地映射：")
+            .append(targetName)
+            .append("\");\n");
+      } else {
+        if (!hasPublicNoArgConstructor(target)) {
+          throw new MappingException("目标类型需为record或有公开无参构造器：" + targetName);
+        }
+        newInstance.append("    return new ").append(targetName).append("();\n");
+        for (Property property : properties(target).values()) {
+          Property sourceProperty = sourceProperties.get(property.name);
+          if (sourceProperty == null) {
+            continue;
+          }
+          if (property.setter == null) {
+            throw new MappingException("目标字段缺少公开setter：" + targetName + "." + property.name);
+          }
+          Value value = resolve(sourceProperty, property.type, property.name);
+          if (value == null) {
+            continue;
+          }
+          appendWrite(map, property, value);
+          appendPatch(patch, property, value);
+        }
+        String casts =
+            "    "
+                + sourceName
+                + " s = ("
+                + sourceName
+                + ") source;\n    "
+                + targetName
+                + " t = ("
+                + targetName
+                + ") target;\n";
+        map.insert(0, map.isEmpty() ? "" : casts);
+        // 差异补丁不跟踪引用，嵌套映射传入null上下文
+        patch
+            .insert(
+                0,
+                casts
+                    + (nestedMappings.isEmpty() ? "" : "    MappingContext context = null;\n")
+                    + "    java.util.Set<String> changed = new java.util.LinkedHashSet<>();\n")
+            .append("    return changed;\n");
+      }
+
+      StringBuilder code = new StringBuilder();
+      code.append("package ").append(PACKAGE).append(";\n\n");
+      code.append("/** 编译期生成：")
+          .append(sourceName)
+          .append(" → ")
+          .append(targetName)
+          .append("（请勿修改） */\n");
+      code.append("@javax.annotation.processing.Generated(\"")
+          .append(StructMappingProcessor.class.getName())
+          .append("\")\n");
+      code.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+      code.append("public final class ").append(className).append(" implements CompiledMapper {\n");
+      for (int i = 0; i < nestedMappings.size(); i++) {
+        code.append("  private final NestedMapping nested")
+            .append(i)
+            .append(" = new NestedMapping(")
+            .append(nestedMappings.get(i))
+            .append(");\n");
+      }
+      for (int i = 0; i < converterLookups.size(); i++) {
+        code.append("  private final TypeConverters.Converter converter")
+            .append(i)
+            .append(" = TypeConverters.find(")
+            .append(converterLookups.get(i))
+            .append(");\n");
+      }
+      code.append("\n  @Override\n  public Class<?> sourceType() {\n    return ")
+          .append(sourceName)
+          .append(".class;\n  }\n");
+      code.append("\n  @Override\n  public Class<?> targetType() {\n    return ")
+          .append(targetName)
+          .append(".class;\n  }\n");
+      code.append("\n  @Override\n  public boolean constructorBased() {\n    return ")
+          .append(constructorBased)
+          .append(";\n  }\n");
+      code.append(
+              "\n  @Override\n  public Object newInstance(Object source, java.util.List<?> rules,"
+                  + " MappingContext context) {\n")
+          .append(newInstance)
+          .append("  }\n");
+      code.append(
+              "\n"
+                  + "  @Override\n"
+                  + "  public void map(Object source, Object target, java.util.List<?> rules,"
+                  + " MappingContext context) {\n")
+          .append(map)
+          .append("  }\n");
+      code.append(
+              "\n"
+                  + "  @Override\n"
+                  + "  public java.util.Set<String> patch(Object source, Object target) {\n")
+          .append(patch)
+          .append("  }\n");
+      code.append("}\n");
+      return code.toString();
+    }
+
+    private void appendWrite(StringBuilder code, Property property, Value value) {
+      String indent = value.guard == null ? "    " : "      ";
+      if (value.guard != null) {
+        code.append("    if (").append(value.guard).append(" != null) {\n");
+      }
+      code.append(indent)
+          .append("t.")
+          .append(property.setter.getSimpleName())
+          .append('(')
+          .append(value.expression)
+          .append(");\n");
+      if (value.guard != null) {
+        code.append("    }\n");
+      }
+    }
+
+    private void appendPatch(StringBuilder code, Property property, Value value) {
+      code.append(value.guard == null ? "    {\n" : "    if (" + value.guard + " != null) {\n")
+          .append("      ")
+          .append(typeName(property.type))
+          .append(" value = ")
+          .append(value.expression)
+          .append(";\n");
+      // 目标字段无getter时无法比较，视为变更
+      String indent = "      ";
+      if (property.getter != null) {
+        code.append("      if (!java.util.Objects.equals(t.")
+            .append(property.getter.getSimpleName())
+            .append("(), value)) {\n");
+        indent = "        ";
+      }
+      code.append(indent).append("t.").append(property.setter.getSimpleName()).append("(value);\n");
+      code.append(indent).append("changed.add(\"").append(property.name).append("\");\n");
+      if (property.getter != null) {
+        code.append("      }\n");
+      }
+      code.append("    }\n");
+    }
+
+    /** 按源/目标类型确定取值表达式（与运行期MappingPlan.resolveCopy一致，无法拷贝时返回null） */
+    private Value resolve(Property sourceProperty, TypeMirror targetType, String name) {
+      if (sourceProperty == null) {
+        return null;
+      }
+      if (sourceProperty.getter == null) {
+        throw new MappingException("源字段缺少公开getter：" + sourceName + "." + name);
+      }
+      TypeMirror sourceType = sourceProperty.type;
+      String read = "s." + sourceProperty.getter.getSimpleName() + "()";
+      if (isCollection(sourceType)) {
+        Boolean asSet = collectionKind(targetType);
+        TypeMirror sourceElement = elementType(sourceType);
+        TypeMirror targetElement = elementType(targetType);
+        if (asSet != null
+            && sourceElement != null
+            && targetElement != null
+            && !sameErasure(sourceElement, targetElement)
+            && isBean(sourceElement)
+            && isBean(targetElement)) {
+          int index = nested(targetElement);
+          return new Value(
+              "("
+                  + typeName(targetType)
+                  + ") MappingRuntime.mapCollection("
+                  + read
+                  + ", nested"
+                  + index
+                  + ", "
+                  + asSet
+                  + ", context)",
+              null);
+        }
+      }
+      if (sameErasure(sourceType, targetType)
+          || (sourceType.getKind().isPrimitive()
+              && types.isSameType(
+                  types.boxedClass((PrimitiveType) sourceType).asType(), targetType))) {
+        return new Value(read, null);
+      }
+      String builtin = builtinConverter(sourceType, targetType);
+      if (builtin != null) {
+        return new Value(BUILTIN_CONVERTERS + "." + builtin + "(" + read + ")", null);
+      }
+      if (isBean(sourceType) && isBean(targetType)) {
+        int index = nested(targetType);
+        return new Value(
+            "("
+                + typeName(targetType)
+                + ") MappingRuntime.mapNested("
+                + read
+                + ", nested"
+                + index
+                + ", context)",
+            null);
+      }
+      // 非内置转换：运行期查找注册的转换器，未注册时不拷贝
+      int index = converterLookups.size();
+      converterLookups.add(classLiteral(sourceType) + ", " + classLiteral(targetType));
+      return new Value(
+          "(" + typeName(targetType) + ") converter" + index + ".function().apply(" + read + ")",
+          "converter" + index);
+    }
+
+    private int nested(TypeMirror targetType) {
+      nestedMappings.add(classLiteral(targetType));
+      return nestedMappings.size() - 1;
+    }
+  }
+
+  // ========== 属性解析（与运行期PropertyAccessors一致：按字段收集，父类字段在前） ==========
+
+  private Map<String, Property> properties(TypeElement type) {
+    DeclaredType declared = (DeclaredType) type.asType();
+    Map<String, Property> properties = new LinkedHashMap<>();
+    if (type.getKind() == ElementKind.RECORD) {
+      for (RecordComponentElement component : type.getRecordComponents()) {
+        String name = component.getSimpleName().toString();
+        properties.put(name, new Property(name, component.asType(), component.getAccessor(), null));
+      }
+      return properties;
+    }
+    Deque<TypeElement> hierarchy = new ArrayDeque<>();
+    for (TypeElement c = type; c != null && !isObject(c); c = superclass(c)) {
+      hierarchy.push(c);
+    }
+    for (TypeElement declaringClass : hierarchy) {
+      for (VariableElement field : ElementFilter.fieldsIn(declaringClass.getEnclosedElements())) {
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+          continue;
+        }
+        String name = field.getSimpleName().toString();
+        TypeMirror fieldType = types.asMemberOf(declared, field);
+        ExecutableElement getter =
+            findMethod(type, declared, "get" + capitalize(name), fieldType, null);
+        if (getter == null && fieldType.getKind() == TypeKind.BOOLEAN) {
+          getter = findMethod(type, declared, "is" + capitalize(name), fieldType, null);
+        }
+        ExecutableElement setter =
+            findMethod(type, declared, "set" + capitalize(name), null, fieldType);
+        properties.put(name, new Property(name, fieldType, getter, setter));
+      }
+    }
+    return properties;
+  }
+
+  /** 查找公开实例方法：returnType非null时为无参getter，parameterType非null时为单参setter */
+  private ExecutableElement findMethod(
+      TypeElement type,
+      DeclaredType declared,
+      String name,
+      TypeMirror returnType,
+      TypeMirror parameterType) {
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+      if (!method.getSimpleName().contentEquals(name)
+          || !method.getModifiers().contains(Modifier.PUBLIC)
+          || method.getModifiers().contains(Modifier.STATIC)) {
+        continue;
+      }
+      ExecutableType methodType = (ExecutableType) types.asMemberOf(declared, method);
+      if (returnType != null
+          && methodType.getParameterTypes().isEmpty()
+          && types.isSameType(methodType.getReturnType(), returnType)) {
+        return method;
+      }
+      if (parameterType != null
+          && methodType.getParameterTypes().size() == 1
+          && types.isSameType(methodType.getParameterTypes().get(0), parameterType)) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  /** 内置转换器：TypeConverters.Builtin中参数/返回类型匹配的静态方法名 */
+  private String builtinConverter(TypeMirror sourceType, TypeMirror targetType) {
+    TypeElement builtin = elements.getTypeElement(BUILTIN_CONVERTERS);
+    if (builtin == null) {
+      return null;
+    }
+    for (ExecutableElement method : ElementFilter.methodsIn(builtin.getEnclosedElements())) {
+      if (method.getModifiers().contains(Modifier.PUBLIC)
+          && method.getModifiers().contains(Modifier.STATIC)
+          && method.getParameters().size() == 1
+          && types.isSameType(method.getParameters().get(0).asType(), sourceType)
+          && types.isSameType(method.getReturnType(), targetType)) {
+        return method.getSimpleName().toString();
+      }
+    }
+    return null;
+  }
+
+  // ========== 类型判断 ==========
+
+  /** 公开、非泛型的类/record，嵌套类需为静态且外部类可访问 */
+  private boolean isMappable(TypeElement type) {
+    if (type == null
+        || (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.RECORD)
+        || type.getModifiers().contains(Modifier.ABSTRACT)
+        || !type.getTypeParameters().isEmpty()) {
+      return false;
+    }
+    for (Element e = type; e instanceof TypeElement t; e = e.getEnclosingElement()) {
+      if (!t.getModifiers().contains(Modifier.PUBLIC)
+          || (t.getNestingKind() == NestingKind.MEMBER
+              && t.getKind() == ElementKind.CLASS
+              && !t.getModifiers().contains(Modifier.STATIC))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** 业务对象：非JDK类型的具体类/record（可递归映射） */
+  private boolean isBean(TypeMirror type) {
+    TypeElement element = asTypeElement(type);
+    return element != null
+        && (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.RECORD)
+        && !element.getModifiers().contains(Modifier.ABSTRACT)
+        && !element.getQualifiedName().toString().startsWith("java");
+  }
+
+  private boolean isCollection(TypeMirror type) {
+    TypeElement collection = elements.getTypeElement("java.util.Collection");
+    return type.getKind() == TypeKind.DECLARED
+        && types.isAssignable(types.erasure(type), types.erasure(collection.asType()));
+  }
+
+  /** 目标集合类型：List类为false，Set类为true，其余为null */
+  private Boolean collectionKind(TypeMirror type) {
+    String name = type.getKind() == TypeKind.DECLARED ? qualifiedName(type) : "";
+    return switch (name) {
+      case "java.util.List", "java.util.Collection", "java.util.ArrayList" -> false;
+      case "java.util.Set", "java.util.HashSet", "java.util.LinkedHashSet" -> true;
+      default -> null;
+    };
+  }
+
+  private TypeMirror elementType(TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+    return arguments.size() == 1 && arguments.get(0).getKind() == TypeKind.DECLARED
+        ? arguments.get(0)
+        : null;
+  }
+
+  private boolean hasPublicNoArgConstructor(TypeElement type) {
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty()
+          && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean sameErasure(TypeMirror a, TypeMirror b) {
+    return types.isSameType(types.erasure(a), types.erasure(b));
+  }
+
+  // ========== 源码片段 ==========
+
+  /** 源码中的类型名（全限定，忽略类型注解） */
+  private String typeName(TypeMirror type) {
+    return switch (type.getKind()) {
+      case DECLARED -> {
+        DeclaredType declared = (DeclaredType) type;
+        String name = qualifiedName(declared);
+        if (declared.getTypeArguments().isEmpty()) {
+          yield name;
+        }
+        StringJoiner arguments = new StringJoiner(", ", name + "<", ">");
+        declared.getTypeArguments().forEach(argument -> arguments.add(typeName(argument)));
+        yield arguments.toString();
+      }
+      case ARRAY -> typeName(((ArrayType) type).getComponentType()) + "[]";
+      case WILDCARD -> {
+        WildcardType wildcard = (WildcardType) type;
+        if (wildcard.getExtendsBound() != null) {
+          yield "? extends " + typeName(wildcard.getExtendsBound());
+        }
+        yield wildcard.getSuperBound() == null
+            ? "?"
+            : "? super " + typeName(wildcard.getSuperBound());
+      }
+      case TYPEVAR -> typeName(types.erasure(type));
+      default -> type.getKind().name().toLowerCase();
+    };
+  }
+
+  private String classLiteral(TypeMirror type) {
+    return typeName(types.erasure(type)) + ".class";
+  }
+
+  private static String defaultValue(TypeMirror type) {
+    return switch (type.getKind()) {
+      case BOOLEAN -> "false";
+      case LONG -> "0L";
+      case FLOAT -> "0F";
+      case DOUBLE -> "0D";
+      case CHAR -> "'\\0'";
+      case BYTE -> "(byte) 0";
+      case SHORT -> "(short) 0";
+      case INT -> "0";
+      default -> "null";
+    };
+  }
+
+  // ========== 工具方法 ==========
+
+  private TypeElement asTypeElement(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED
+        ? (TypeElement) ((DeclaredType) type).asElement()
+        : null;
+  }
+
+  private TypeElement superclass(TypeElement type) {
+    return asTypeElement(type.getSuperclass());
+  }
+
+  private static boolean isObject(TypeElement type) {
+    return type.getQualifiedName().contentEquals("java.lang.Object");
+  }
+
+  private static String qualifiedName(TypeMirror type) {
+    return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+  }
+
+  private static String capitalize(String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private AnnotationValue value(AnnotationMirror mirror, String name) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+        mirror.getElementValues().entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<? extends AnnotationValue> listValue(AnnotationMirror mirror, String name) {
+    AnnotationValue value = value(mirror, name);
+    return value == null ? List.of() : (List<? extends AnnotationValue>) value.getValue();
+  }
+
+  private void error(Element element, AnnotationMirror mirror, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element, mirror);
+  }
+
+  /**
+   * 属性
+   *
+   * @param name 字段名
+   * @param type 字段类型（已按所属类型解析泛型）
+   * @param getter 公开getter/record访问器（不存在时为null）
+   * @param setter 公开setter（不存在时为null）
+   */
+  private record Property(
+      String name, TypeMirror type, ExecutableElement getter, ExecutableElement setter) {}
+
+  /**
+   * 字段取值
+   *
+   * @param expression 取值表达式（类型为目标字段类型）
+   * @param guard 需非null才可取值的转换器字段（无条件时为null）
+   */
+  private record Value(String expression, String guard) {}
+
+  /** 映射声明无法生成时的错误（按编译错误报告） */
+  private static final class MappingException extends RuntimeException {
+    MappingException(String message) {
+      super(message);
+    }
+  }
+}